@@ -0,0 +1,73 @@
+#!/bin/bash
+
+# Compares the services on platform threads and on virtual threads under the same closed-loop
+# load: CLIENTS concurrent users (default 1000) each running search -> book -> pay sessions
+# back to back. Virtual threads need a Java 21 runtime image, so the services are rebuilt with one.
+
+CLIENTS=${CLIENTS:-1000}
+DURATION=${DURATION:-120}
+WARMUP=${WARMUP:-20}
+RUNTIME_IMAGE=${RUNTIME_IMAGE:-eclipse-temurin:21-jre}
+RESULTS_DIR=${RESULTS_DIR:-load-generator/target/vt-benchmark}
+
+echo "🧵 Virtual Thread Benchmark"
+echo "==========================="
+echo "Clients: $CLIENTS, duration: ${DURATION}s (+${WARMUP}s warmup), runtime: $RUNTIME_IMAGE"
+echo ""
+
+wait_for_services() {
+    for url in "http://localhost:8081/api/v1/flights/health" \
+               "http://localhost:8082/api/v1/bookings/health" \
+               "http://localhost:8083/api/v1/payments/health"; do
+        for i in {1..30}; do
+            if curl -s "$url" > /dev/null 2>&1; then
+                break
+            elif [ $i -eq 30 ]; then
+                echo "❌ $url not responding"
+                exit 1
+            fi
+            sleep 2
+        done
+    done
+}
+
+echo "🔨 Building services on $RUNTIME_IMAGE and the load generator..."
+RUNTIME_IMAGE="$RUNTIME_IMAGE" ./build.sh > /dev/null || { echo "❌ Service build failed"; exit 1; }
+(cd load-generator && mvn -q -B package -DskipTests) || { echo "❌ Load generator build failed"; exit 1; }
+mkdir -p "$RESULTS_DIR"
+
+for mode in platform virtual; do
+    enabled=false
+    if [ "$mode" = "virtual" ]; then
+        enabled=true
+    fi
+
+    echo ""
+    echo "🚀 Starting services with $mode threads..."
+    VIRTUAL_THREADS_ENABLED=$enabled RUNTIME_IMAGE="$RUNTIME_IMAGE" \
+        docker-compose up -d --build --force-recreate search-service booking-service payment-service
+    wait_for_services
+
+    echo "📈 Running $CLIENTS closed-loop clients..."
+    java -jar load-generator/target/load-generator-1.0.0.jar \
+        --loadtest.mode=closed \
+        --loadtest.concurrency="$CLIENTS" \
+        --loadtest.rate=0 \
+        --loadtest.warmup-seconds="$WARMUP" \
+        --loadtest.duration-seconds="$DURATION" \
+        --loadtest.gate.max-error-rate=1 \
+        --loadtest.report-path="$RESULTS_DIR/$mode.json" > "$RESULTS_DIR/$mode.log" 2>&1
+done
+
+echo ""
+echo "📊 Results ($RESULTS_DIR)"
+printf "%-10s %12s %12s %12s %12s %12s\n" "threads" "req/s" "goodput/s" "search p99" "booking p99" "errors"
+for mode in platform virtual; do
+    report="$RESULTS_DIR/$mode.json"
+    printf "%-10s %12s %12s %12s %12s %12s\n" "$mode" \
+        "$(jq -r '.throughput | floor' "$report")" \
+        "$(jq -r '.goodput | floor' "$report")" \
+        "$(jq -r '.endpoints.search.latencyMs.p99' "$report")" \
+        "$(jq -r '.endpoints.booking.latencyMs.p99' "$report")" \
+        "$(jq -r '[.endpoints[].errors] | add' "$report")"
+done
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.airlineaggregator.booking.client;
+
+import com.airlineaggregator.booking.dto.PaymentRequest;
+import com.airlineaggregator.booking.dto.PaymentResponse;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Non-blocking client for the payment service. Connections are pooled and kept alive between
+ * checkouts, so a charge costs one request on a warm connection rather than a new TCP handshake.
+ * Connect, pool-acquire and response timeouts bound every call; a call that exceeds them fails
+ * with an exception and is compensated by the caller.
+ */
+@Component
+public class PaymentClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentClient.class);
+
+    private static final String TRACEPARENT = "traceparent";
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Value("${external.payment-service.url:http://localhost:8083}")
+    private String baseUrl = "http://localhost:8083";
+
+    @Value("${external.payment-service.max-connections:100}")
+    private int maxConnections = 100;
+
+    @Value("${external.payment-service.pending-acquire-timeout-ms:2000}")
+    private long pendingAcquireTimeoutMs = 2000;
+
+    @Value("${external.payment-service.connect-timeout-ms:1000}")
+    private int connectTimeoutMs = 1000;
+
+    @Value("${external.payment-service.response-timeout-ms:10000}")
+    private long responseTimeoutMs = 10000;
+
+    @Value("${external.payment-service.max-idle-time-ms:30000}")
+    private long maxIdleTimeMs = 30000;
+
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @PostConstruct
+    public void start() {
+        connectionProvider = ConnectionProvider.builder("payment-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        logger.info("Payment client targeting {} with up to {} pooled connections", baseUrl, maxConnections);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+
+    /**
+     * Charges a booking. Errors (timeouts, refused connections, non-2xx responses) are signalled
+     * through the returned {@link Mono}; a declined payment is a normal response with status "failed".
+     */
+    public Mono<PaymentResponse> charge(UUID bookingId, PaymentRequest.PaymentMethod paymentMethod, String traceparent) {
+        return webClient.post()
+                .uri("/api/v1/payments")
+                .headers(headers -> {
+                    if (traceparent != null) {
+                        headers.set(TRACEPARENT, traceparent);
+                    }
+                })
+                .bodyValue(new PaymentRequest(bookingId, paymentMethod))
+                .retrieve()
+                .bodyToMono(PaymentResponse.class);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.airlineaggregator.booking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Enables Accept-header negotiation of compact binary encodings for service-to-service
+ * and partner traffic. CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}) are produced from copies of the application's
+ * JSON ObjectMapper, so all three formats share exactly the same DTO schema. JSON stays
+ * the default when no binary type is requested.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public BinaryFormatConfig() {}
+
+    public BinaryFormatConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replace the framework defaults so binary formats use the same mapper settings as JSON
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory())));
+    }
+}
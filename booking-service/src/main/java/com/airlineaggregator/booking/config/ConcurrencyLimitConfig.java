@@ -0,0 +1,23 @@
+package com.airlineaggregator.booking.config;
+
+import com.airlineaggregator.booking.limit.ConcurrencyLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the adaptive concurrency limiter for controller methods annotated with
+ * {@link com.airlineaggregator.booking.limit.ConcurrencyLimited}.
+ */
+@Configuration
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor);
+    }
+} 
\ No newline at end of file
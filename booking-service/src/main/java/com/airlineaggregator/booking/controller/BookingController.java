@@ -1,16 +1,41 @@
 package com.airlineaggregator.booking.controller;
 
+import com.airlineaggregator.booking.dto.BookingHistoryPage;
+import com.airlineaggregator.booking.dto.BookingLookupRequest;
+import com.airlineaggregator.booking.dto.BookingLookupResult;
 import com.airlineaggregator.booking.dto.BookingRequest;
 import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.dto.BookingTicket;
+import com.airlineaggregator.booking.dto.CheckoutRequest;
+import com.airlineaggregator.booking.dto.CheckoutResponse;
 import com.airlineaggregator.booking.entity.Booking;
+import com.airlineaggregator.booking.limit.AdaptiveConcurrencyLimiter;
+import com.airlineaggregator.booking.limit.ConcurrencyLimited;
+import com.airlineaggregator.booking.limit.ConcurrencyLimiterRegistry;
+import com.airlineaggregator.booking.mailbox.RoutineMailboxExecutor;
+import com.airlineaggregator.booking.metrics.LatencyMetrics;
+import com.airlineaggregator.booking.outbox.OutboxRelay;
+import com.airlineaggregator.booking.queue.AsyncBookingPipeline;
+import com.airlineaggregator.booking.queue.TicketEventStream;
+import com.airlineaggregator.booking.tracing.InMemorySpanExporter;
+import com.airlineaggregator.booking.tracing.Span;
+import com.airlineaggregator.booking.service.BookingHistoryService;
+import com.airlineaggregator.booking.service.BookingLookupService;
+import com.airlineaggregator.booking.service.BookingResponseCache;
 import com.airlineaggregator.booking.service.BookingService;
+import com.airlineaggregator.booking.service.CheckoutService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,6 +49,39 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private BookingHistoryService bookingHistoryService;
+
+    @Autowired
+    private BookingLookupService bookingLookupService;
+
+    @Autowired
+    private RoutineMailboxExecutor routineMailboxExecutor;
+
+    @Autowired
+    private BookingResponseCache bookingResponseCache;
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Autowired(required = false)
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private AsyncBookingPipeline asyncBookingPipeline;
+
+    @Autowired
+    private TicketEventStream ticketEventStream;
+
     // Error response class for API errors
     public static class ErrorResponse {
         private String errorCode;
@@ -44,53 +102,144 @@ public class BookingController {
     }
 
     @PostMapping
+    @ConcurrencyLimited(value = "createBooking", priority = ConcurrencyLimited.Priority.CRITICAL)
     public ResponseEntity<?> createBooking(@Valid @RequestBody BookingRequest request) {
         
-        logger.info("Received booking request for flight routine: {}", request.getFlightRoutineId());
+        logger.debug("Received booking request for flight routine: {}", request.getFlightRoutineId());
 
         try {
-            BookingResponse response = bookingService.createBooking(request);
+            BookingResponse response = routineMailboxExecutor.createBooking(request);
             
-            logger.info("Booking created successfully: {}", response.getBookingId());
+            logger.debug("Booking created successfully: {}", response.getBookingId());
 
             return ResponseEntity.ok(response);
 
         } catch (RuntimeException e) {
             logger.error("Error processing booking request: {}", e.getMessage());
-            
-            // Check if it's a seat availability issue
-            if (e.getMessage().contains("Insufficient seats")) {
-                return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("INSUFFICIENT_SEATS", e.getMessage()));
-            } else if (e.getMessage().contains("Booking creation failed: Flight routine not found")) {
-                return ResponseEntity.status(404)
-                    .body(new ErrorResponse("FLIGHT_ROUTINE_NOT_FOUND", 
-                          "The specified flight routine does not exist. Please search for available flights and use a valid flight routine ID."));
-            } else if (e.getMessage().contains("Flight routine not found")) {
-                return ResponseEntity.status(404)
-                    .body(new ErrorResponse("FLIGHT_ROUTINE_NOT_FOUND", 
-                          "The specified flight routine does not exist. Please search for available flights and use a valid flight routine ID."));
-            } else if (e.getMessage().contains("not found")) {
-                return ResponseEntity.status(404)
-                    .body(new ErrorResponse("RESOURCE_NOT_FOUND", e.getMessage()));
-            } else if (e.getMessage().contains("not available for booking")) {
-                return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("FLIGHT_NOT_AVAILABLE", e.getMessage()));
+            return bookingError(e);
+        } catch (Exception e) {
+            logger.error("Unexpected error processing booking request", e);
+            return ResponseEntity.internalServerError()
+                .body(new ErrorResponse("INTERNAL_ERROR", "An unexpected error occurred"));
+        }
+    }
+
+    @PostMapping("/checkout")
+    @ConcurrencyLimited(value = "checkout", priority = ConcurrencyLimited.Priority.CRITICAL)
+    public ResponseEntity<?> checkout(@Valid @RequestBody CheckoutRequest request) {
+
+        logger.debug("Received checkout request for flight routine: {}", request.getFlightRoutineId());
+
+        try {
+            CheckoutResponse response = checkoutService.checkout(request);
+
+            if (CheckoutResponse.STATUS_CONFIRMED.equals(response.getStatus())) {
+                return ResponseEntity.ok(response);
+            } else if (CheckoutResponse.STATUS_PAYMENT_DECLINED.equals(response.getStatus())) {
+                return ResponseEntity.status(HttpStatus.PAYMENT_REQUIRED).body(response);
             } else {
-                return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("BOOKING_ERROR", e.getMessage()));
+                return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(response);
             }
+
+        } catch (RuntimeException e) {
+            logger.error("Error processing checkout request: {}", e.getMessage());
+            return bookingError(e);
         } catch (Exception e) {
-            logger.error("Unexpected error processing booking request", e);
+            logger.error("Unexpected error processing checkout request", e);
             return ResponseEntity.internalServerError()
                 .body(new ErrorResponse("INTERNAL_ERROR", "An unexpected error occurred"));
         }
     }
 
+    private ResponseEntity<ErrorResponse> bookingError(RuntimeException e) {
+        // Check if it's a seat availability issue
+        if (e.getMessage().contains("Insufficient seats")) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("INSUFFICIENT_SEATS", e.getMessage()));
+        } else if (e.getMessage().contains("Booking creation failed: Flight routine not found")) {
+            return ResponseEntity.status(404)
+                .body(new ErrorResponse("FLIGHT_ROUTINE_NOT_FOUND", 
+                      "The specified flight routine does not exist. Please search for available flights and use a valid flight routine ID."));
+        } else if (e.getMessage().contains("Flight routine not found")) {
+            return ResponseEntity.status(404)
+                .body(new ErrorResponse("FLIGHT_ROUTINE_NOT_FOUND", 
+                      "The specified flight routine does not exist. Please search for available flights and use a valid flight routine ID."));
+        } else if (e.getMessage().contains("not found")) {
+            return ResponseEntity.status(404)
+                .body(new ErrorResponse("RESOURCE_NOT_FOUND", e.getMessage()));
+        } else if (e.getMessage().contains("not available for booking")) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("FLIGHT_NOT_AVAILABLE", e.getMessage()));
+        } else {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("BOOKING_ERROR", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/async")
+    public ResponseEntity<?> createBookingAsync(@Valid @RequestBody BookingRequest request) {
+
+        if (!asyncBookingPipeline.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse("ASYNC_BOOKING_DISABLED", "Async booking is disabled; use POST /api/v1/bookings"));
+        }
+
+        BookingTicket ticket = asyncBookingPipeline.enqueue(request);
+        logger.debug("Queued booking ticket {} for flight routine: {}", ticket.getTicketId(), request.getFlightRoutineId());
+
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/v1/bookings/tickets/" + ticket.getTicketId()))
+            .body(ticket);
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<BookingTicket> getTicket(@PathVariable UUID ticketId) {
+        return asyncBookingPipeline.getTicket(ticketId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/tickets/{ticketId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTicket(@PathVariable UUID ticketId) {
+        return asyncBookingPipeline.getTicket(ticketId)
+            .map(ticket -> ResponseEntity.ok(ticketEventStream.subscribe(ticket)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<?> getBookingHistory(@RequestParam UUID userId,
+                                               @RequestParam(required = false) String status,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String cursor) {
+        try {
+            BookingHistoryPage page = bookingHistoryService.getHistory(userId, status, limit, cursor);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("INVALID_CURSOR", "The cursor is not valid; pass back nextCursor from the previous page unchanged."));
+        }
+    }
+
+    @PostMapping("/lookup")
+    @ConcurrencyLimited("lookupBookings")
+    public ResponseEntity<?> lookupBookings(@Valid @RequestBody BookingLookupRequest request) {
+
+        logger.debug("Received bulk lookup for {} bookings", request.getBookingIds().size());
+
+        try {
+            BookingLookupResult result = bookingLookupService.lookup(request.getBookingIds());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("TOO_MANY_BOOKING_IDS", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{bookingId}")
+    @ConcurrencyLimited("getBooking")
     public ResponseEntity<BookingResponse> getBooking(@PathVariable UUID bookingId) {
         
-        logger.info("Received booking status request for: {}", bookingId);
+        logger.debug("Received booking status request for: {}", bookingId);
 
         try {
             Optional<BookingResponse> booking = bookingService.getBookingResponse(bookingId);
@@ -112,6 +261,40 @@ public class BookingController {
         return ResponseEntity.ok("Booking Service is running");
     }
 
+    @GetMapping("/metrics/latency")
+    public ResponseEntity<LatencyMetrics.LatencySnapshot> getLatencyMetrics() {
+        return ResponseEntity.ok(latencyMetrics.snapshot());
+    }
+
+    @GetMapping("/metrics/concurrency")
+    public ResponseEntity<List<AdaptiveConcurrencyLimiter.LimiterSnapshot>> getConcurrencyLimits() {
+        return ResponseEntity.ok(concurrencyLimiterRegistry.snapshot());
+    }
+
+    @GetMapping("/metrics/outbox")
+    public ResponseEntity<OutboxRelay.RelaySnapshot> getOutboxMetrics() {
+        return ResponseEntity.ok(outboxRelay.snapshot());
+    }
+
+    @GetMapping("/metrics/mailboxes")
+    public ResponseEntity<RoutineMailboxExecutor.MailboxSnapshot> getMailboxMetrics() {
+        return ResponseEntity.ok(routineMailboxExecutor.snapshot());
+    }
+
+    @GetMapping("/metrics/response-cache")
+    public ResponseEntity<BookingResponseCache.CacheSnapshot> getResponseCacheMetrics() {
+        return ResponseEntity.ok(bookingResponseCache.snapshot());
+    }
+
+    @GetMapping("/traces/{traceId}")
+    public ResponseEntity<List<Span>> getTrace(@PathVariable String traceId) {
+        List<Span> spans = spanExporter != null ? spanExporter.findByTraceId(traceId) : List.of();
+        if (spans.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(spans);
+    }
+
     @GetMapping("/info")
     public ResponseEntity<BookingServiceInfo> getServiceInfo() {
         BookingServiceInfo info = new BookingServiceInfo();
@@ -121,9 +304,21 @@ public class BookingController {
         info.setBookingExpiryMinutes(15);
         info.setEndpoints(new String[]{
             "POST /api/v1/bookings - Create booking",
+            "POST /api/v1/bookings/checkout - Create booking and pay in one call",
+            "POST /api/v1/bookings/async - Queue a booking, returns 202 with a ticket",
+            "GET /api/v1/bookings/tickets/{ticketId} - Async booking ticket status",
+            "GET /api/v1/bookings/tickets/{ticketId}/events - Async booking ticket events (SSE)",
             "GET /api/v1/bookings/{id} - Get booking details",
+            "GET /api/v1/bookings/history?userId= - Booking history, newest first, cursor-paginated",
+            "POST /api/v1/bookings/lookup - Look up many bookings in one call",
             "GET /api/v1/bookings/health - Health check",
-            "GET /api/v1/bookings/info - Service information"
+            "GET /api/v1/bookings/info - Service information",
+            "GET /api/v1/bookings/metrics/latency - Per-stage latency percentiles",
+            "GET /api/v1/bookings/traces/{traceId} - Spans recorded for a trace",
+            "GET /api/v1/bookings/metrics/concurrency - Adaptive concurrency limits",
+            "GET /api/v1/bookings/metrics/outbox - Outbox relay progress",
+            "GET /api/v1/bookings/metrics/mailboxes - Per-routine booking mailboxes",
+            "GET /api/v1/bookings/metrics/response-cache - Booking read cache hit ratio"
         });
         return ResponseEntity.ok(info);
     }
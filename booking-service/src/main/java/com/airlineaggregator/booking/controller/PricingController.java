@@ -0,0 +1,54 @@
+package com.airlineaggregator.booking.controller;
+
+import com.airlineaggregator.booking.dto.RepricingJobRequest;
+import com.airlineaggregator.booking.dto.RepricingJobStatus;
+import com.airlineaggregator.booking.pricing.BulkRepricingJob;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/v1/pricing")
+@CrossOrigin(origins = "*")
+public class PricingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingController.class);
+
+    @Autowired
+    private BulkRepricingJob bulkRepricingJob;
+
+    @PostMapping("/repricing-jobs")
+    public ResponseEntity<?> startRepricingJob(@Valid @RequestBody RepricingJobRequest request) {
+
+        logger.info("Received repricing job request: {} with base price factor {}",
+                   request.getJobId(), request.getBasePriceFactor());
+
+        try {
+            RepricingJobStatus status = bulkRepricingJob.start(request.getJobId(), request.getBasePriceFactor());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+
+        } catch (Exception e) {
+            logger.error("Failed to start repricing job", e);
+            return ResponseEntity.internalServerError()
+                .body(new BookingController.ErrorResponse("REPRICING_ERROR", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/repricing-jobs/{jobId}")
+    public ResponseEntity<RepricingJobStatus> getRepricingJob(@PathVariable String jobId) {
+        try {
+            Optional<RepricingJobStatus> status = bulkRepricingJob.getStatus(jobId);
+            return status.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+
+        } catch (Exception e) {
+            logger.error("Error getting repricing job: {}", jobId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.airlineaggregator.booking.controller;
+
+import com.airlineaggregator.booking.dto.ScheduleExpansionRequest;
+import com.airlineaggregator.booking.dto.ScheduleExpansionResult;
+import com.airlineaggregator.booking.schedule.ScheduleExpansionService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/schedules")
+@CrossOrigin(origins = "*")
+public class ScheduleController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleController.class);
+
+    @Autowired
+    private ScheduleExpansionService scheduleExpansionService;
+
+    @PostMapping("/expansions")
+    public ResponseEntity<?> expandSchedules(@Valid @RequestBody ScheduleExpansionRequest request) {
+
+        logger.info("Received schedule expansion request from {} for {} days",
+                   request.getFromDate(), request.getDays());
+
+        try {
+            ScheduleExpansionResult result = scheduleExpansionService.expand(request.getFromDate(), request.getDays());
+            return ResponseEntity.ok(result);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new BookingController.ErrorResponse("INVALID_SCHEDULE_HORIZON", e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Error expanding schedules: {}", e.getMessage());
+            return ResponseEntity.internalServerError()
+                .body(new BookingController.ErrorResponse("SCHEDULE_EXPANSION_ERROR", e.getMessage()));
+        }
+    }
+} 
\ No newline at end of file
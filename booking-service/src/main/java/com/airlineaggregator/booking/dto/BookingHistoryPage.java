@@ -0,0 +1,26 @@
+package com.airlineaggregator.booking.dto;
+
+import java.util.List;
+
+/**
+ * One page of a user's booking history, newest first. {@code nextCursor} is null on the last page.
+ */
+public class BookingHistoryPage {
+
+    private List<BookingSummary> bookings;
+    private String nextCursor;
+
+    // Constructors
+    public BookingHistoryPage() {}
+
+    public BookingHistoryPage(List<BookingSummary> bookings, String nextCursor) {
+        this.bookings = bookings;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<BookingSummary> getBookings() { return bookings; }
+    public void setBookings(List<BookingSummary> bookings) { this.bookings = bookings; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+} 
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.airlineaggregator.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BookingLookupRequest {
+
+    @NotEmpty(message = "At least one booking id is required")
+    private List<UUID> bookingIds;
+
+    // Constructors
+    public BookingLookupRequest() {}
+
+    public BookingLookupRequest(List<UUID> bookingIds) {
+        this.bookingIds = bookingIds;
+    }
+
+    // Getters and Setters
+    public List<UUID> getBookingIds() { return bookingIds; }
+    public void setBookingIds(List<UUID> bookingIds) { this.bookingIds = bookingIds; }
+} 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.airlineaggregator.booking.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a bulk booking lookup: a summary for every booking found and the requested ids that
+ * matched no booking.
+ */
+public class BookingLookupResult {
+
+    private List<BookingSummary> bookings;
+    private List<UUID> notFound;
+
+    // Constructors
+    public BookingLookupResult() {}
+
+    public BookingLookupResult(List<BookingSummary> bookings, List<UUID> notFound) {
+        this.bookings = bookings;
+        this.notFound = notFound;
+    }
+
+    // Getters and Setters
+    public List<BookingSummary> getBookings() { return bookings; }
+    public void setBookings(List<BookingSummary> bookings) { this.bookings = bookings; }
+    public List<UUID> getNotFound() { return notFound; }
+    public void setNotFound(List<UUID> notFound) { this.notFound = notFound; }
+} 
\ No newline at end of file
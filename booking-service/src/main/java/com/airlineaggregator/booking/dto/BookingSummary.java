@@ -0,0 +1,49 @@
+package com.airlineaggregator.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of a user's booking history: the booking's own columns plus the flight number and travel
+ * date, without passenger or contact details.
+ */
+public class BookingSummary {
+
+    private UUID bookingId;
+    private String status;
+    private String bookingReference;
+    private UUID flightRoutineId;
+    private String flightNumber;
+    private LocalDate travelDate;
+    private BigDecimal totalAmount;
+    private String currency;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public BookingSummary() {}
+
+    // Getters and Setters
+    public UUID getBookingId() { return bookingId; }
+    public void setBookingId(UUID bookingId) { this.bookingId = bookingId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getBookingReference() { return bookingReference; }
+    public void setBookingReference(String bookingReference) { this.bookingReference = bookingReference; }
+    public UUID getFlightRoutineId() { return flightRoutineId; }
+    public void setFlightRoutineId(UUID flightRoutineId) { this.flightRoutineId = flightRoutineId; }
+    public String getFlightNumber() { return flightNumber; }
+    public void setFlightNumber(String flightNumber) { this.flightNumber = flightNumber; }
+    public LocalDate getTravelDate() { return travelDate; }
+    public void setTravelDate(LocalDate travelDate) { this.travelDate = travelDate; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+} 
\ No newline at end of file
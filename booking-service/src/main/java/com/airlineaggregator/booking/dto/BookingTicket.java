@@ -0,0 +1,56 @@
+package com.airlineaggregator.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * State of an asynchronous booking request: queued until a worker has processed it, then
+ * succeeded (with the booking) or failed (with the reason).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingTicket {
+
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_SUCCEEDED = "succeeded";
+    public static final String STATUS_FAILED = "failed";
+
+    private UUID ticketId;
+    private String status;
+    private UUID flightRoutineId;
+    private UUID bookingId;
+    private String booking;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public BookingTicket() {}
+
+    @JsonIgnore
+    public boolean isCompleted() {
+        return !STATUS_QUEUED.equals(status);
+    }
+
+    // Getters and Setters
+    public UUID getTicketId() { return ticketId; }
+    public void setTicketId(UUID ticketId) { this.ticketId = ticketId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public UUID getFlightRoutineId() { return flightRoutineId; }
+    public void setFlightRoutineId(UUID flightRoutineId) { this.flightRoutineId = flightRoutineId; }
+    public UUID getBookingId() { return bookingId; }
+    public void setBookingId(UUID bookingId) { this.bookingId = bookingId; }
+    @JsonRawValue
+    public String getBooking() { return booking; }
+    public void setBooking(String booking) { this.booking = booking; }
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+} 
\ No newline at end of file
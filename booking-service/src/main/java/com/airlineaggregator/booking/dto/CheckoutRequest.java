@@ -0,0 +1,21 @@
+package com.airlineaggregator.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A booking request plus the payment method to charge it with in the same call.
+ */
+public class CheckoutRequest extends BookingRequest {
+
+    @NotNull(message = "Payment method is required")
+    @Valid
+    private PaymentRequest.PaymentMethod paymentMethod;
+
+    // Constructors
+    public CheckoutRequest() {}
+
+    // Getters and Setters
+    public PaymentRequest.PaymentMethod getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(PaymentRequest.PaymentMethod paymentMethod) { this.paymentMethod = paymentMethod; }
+} 
\ No newline at end of file
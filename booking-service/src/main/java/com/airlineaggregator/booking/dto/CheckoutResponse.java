@@ -0,0 +1,29 @@
+package com.airlineaggregator.booking.dto;
+
+public class CheckoutResponse {
+
+    public static final String STATUS_CONFIRMED = "confirmed";
+    public static final String STATUS_PAYMENT_DECLINED = "payment_declined";
+    public static final String STATUS_PAYMENT_UNAVAILABLE = "payment_unavailable";
+
+    private String status;
+    private String pnr;
+    private String message;
+    private BookingResponse booking;
+    private PaymentResponse payment;
+
+    // Constructors
+    public CheckoutResponse() {}
+
+    // Getters and Setters
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getPnr() { return pnr; }
+    public void setPnr(String pnr) { this.pnr = pnr; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public BookingResponse getBooking() { return booking; }
+    public void setBooking(BookingResponse booking) { this.booking = booking; }
+    public PaymentResponse getPayment() { return payment; }
+    public void setPayment(PaymentResponse payment) { this.payment = payment; }
+} 
\ No newline at end of file
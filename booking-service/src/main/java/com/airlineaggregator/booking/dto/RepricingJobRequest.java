@@ -0,0 +1,33 @@
+package com.airlineaggregator.booking.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Pattern;
+
+import java.math.BigDecimal;
+
+public class RepricingJobRequest {
+
+    // Reusing the id of an unfinished job resumes it from its checkpoints
+    @Pattern(regexp = "^[A-Za-z0-9._-]{1,64}$", message = "Job id must be 1-64 letters, digits, '.', '_' or '-'")
+    private String jobId;
+
+    @DecimalMin(value = "0.5", message = "Base price factor must be at least 0.5")
+    @DecimalMax(value = "2.0", message = "Base price factor must be at most 2.0")
+    private BigDecimal basePriceFactor;
+
+    // Constructors
+    public RepricingJobRequest() {}
+
+    public RepricingJobRequest(String jobId, BigDecimal basePriceFactor) {
+        this.jobId = jobId;
+        this.basePriceFactor = basePriceFactor;
+    }
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public BigDecimal getBasePriceFactor() { return basePriceFactor; }
+    public void setBasePriceFactor(BigDecimal basePriceFactor) { this.basePriceFactor = basePriceFactor; }
+} 
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.airlineaggregator.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class RepricingJobStatus {
+
+    private String jobId;
+    private String status;
+    private BigDecimal basePriceFactor;
+    private Integer totalPartitions;
+    private Integer completedPartitions;
+    private Long rowsRepriced;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public RepricingJobStatus() {}
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public BigDecimal getBasePriceFactor() { return basePriceFactor; }
+    public void setBasePriceFactor(BigDecimal basePriceFactor) { this.basePriceFactor = basePriceFactor; }
+
+    public Integer getTotalPartitions() { return totalPartitions; }
+    public void setTotalPartitions(Integer totalPartitions) { this.totalPartitions = totalPartitions; }
+
+    public Integer getCompletedPartitions() { return completedPartitions; }
+    public void setCompletedPartitions(Integer completedPartitions) { this.completedPartitions = completedPartitions; }
+
+    public Long getRowsRepriced() { return rowsRepriced; }
+    public void setRowsRepriced(Long rowsRepriced) { this.rowsRepriced = rowsRepriced; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+} 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.airlineaggregator.booking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public class ScheduleExpansionRequest {
+
+    // Defaults to today when omitted
+    private LocalDate fromDate;
+
+    @NotNull(message = "Number of days is required")
+    @Min(value = 1, message = "At least 1 day must be expanded")
+    @Max(value = 400, message = "At most 400 days can be expanded at once")
+    private Integer days;
+
+    // Constructors
+    public ScheduleExpansionRequest() {}
+
+    public ScheduleExpansionRequest(LocalDate fromDate, Integer days) {
+        this.fromDate = fromDate;
+        this.days = days;
+    }
+
+    // Getters and Setters
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+
+    public Integer getDays() { return days; }
+    public void setDays(Integer days) { this.days = days; }
+} 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.airlineaggregator.booking.dto;
+
+import java.time.LocalDate;
+
+public class ScheduleExpansionResult {
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Integer flights;
+    private Long routinesGenerated;
+    private Long routinesInserted;
+    private Long elapsedMs;
+
+    // Constructors
+    public ScheduleExpansionResult() {}
+
+    public ScheduleExpansionResult(LocalDate fromDate, LocalDate toDate, Integer flights,
+                                   Long routinesGenerated, Long routinesInserted, Long elapsedMs) {
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.flights = flights;
+        this.routinesGenerated = routinesGenerated;
+        this.routinesInserted = routinesInserted;
+        this.elapsedMs = elapsedMs;
+    }
+
+    // Getters and Setters
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+
+    public Integer getFlights() { return flights; }
+    public void setFlights(Integer flights) { this.flights = flights; }
+
+    public Long getRoutinesGenerated() { return routinesGenerated; }
+    public void setRoutinesGenerated(Long routinesGenerated) { this.routinesGenerated = routinesGenerated; }
+
+    public Long getRoutinesInserted() { return routinesInserted; }
+    public void setRoutinesInserted(Long routinesInserted) { this.routinesInserted = routinesInserted; }
+
+    public Long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(Long elapsedMs) { this.elapsedMs = elapsedMs; }
+} 
\ No newline at end of file
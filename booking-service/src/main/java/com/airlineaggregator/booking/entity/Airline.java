@@ -1,6 +1,8 @@
 package com.airlineaggregator.booking.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -9,6 +11,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "airlines")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "airlines")
 public class Airline {
 
     @Id
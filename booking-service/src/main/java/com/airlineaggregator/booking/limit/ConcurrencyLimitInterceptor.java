@@ -0,0 +1,68 @@
+package com.airlineaggregator.booking.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies {@link ConcurrencyLimited} to controller methods: sheds requests over the limit with
+ * 503 and {@code Retry-After} before any work is done, and reports each admitted request's
+ * latency and outcome back to its limiter.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitInterceptor.class);
+
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    @Autowired
+    private ConcurrencyLimiterRegistry registry;
+
+    @Value("${concurrency-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${concurrency-limit.retry-after-seconds:1}")
+    private int retryAfterSeconds = 1;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ConcurrencyLimited limited = handlerMethod.getMethodAnnotation(ConcurrencyLimited.class);
+        if (limited == null) {
+            return true;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = registry.tryAcquire(limited.value(), limited.priority());
+        if (limiter == null) {
+            logger.debug("Shedding {} request: concurrency limit reached", limited.value());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            return false;
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object limiter = request.getAttribute(LIMITER_ATTRIBUTE);
+        if (limiter instanceof AdaptiveConcurrencyLimiter admitted) {
+            request.removeAttribute(LIMITER_ATTRIBUTE);
+            long start = (Long) request.getAttribute(START_ATTRIBUTE);
+            admitted.release(System.nanoTime() - start, ex != null || response.getStatus() >= 500);
+        }
+    }
+} 
\ No newline at end of file
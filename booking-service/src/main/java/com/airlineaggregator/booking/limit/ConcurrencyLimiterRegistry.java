@@ -0,0 +1,71 @@
+package com.airlineaggregator.booking.limit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one {@link AdaptiveConcurrencyLimiter} per limited endpoint. Sheddable endpoints give way
+ * to critical ones: while any critical limiter is saturated, sheddable requests are rejected even
+ * if their own limit has room, leaving the database to the revenue paths. Sheddable limiters also
+ * use a tighter latency tolerance, so they back off before critical ones when the shared database
+ * slows down.
+ */
+@Component
+public class ConcurrencyLimiterRegistry {
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Value("${concurrency-limit.initial-limit:20}")
+    private int initialLimit = 20;
+
+    @Value("${concurrency-limit.min-limit:4}")
+    private int minLimit = 4;
+
+    @Value("${concurrency-limit.max-limit:200}")
+    private int maxLimit = 200;
+
+    @Value("${concurrency-limit.critical-tolerance:2.0}")
+    private double criticalTolerance = 2.0;
+
+    @Value("${concurrency-limit.sheddable-tolerance:1.5}")
+    private double sheddableTolerance = 1.5;
+
+    /**
+     * Admits a request to the endpoint's limiter, or returns null when it should be shed.
+     */
+    public AdaptiveConcurrencyLimiter tryAcquire(String name, ConcurrencyLimited.Priority priority) {
+        AdaptiveConcurrencyLimiter limiter = limiter(name, priority);
+        if (priority == ConcurrencyLimited.Priority.SHEDDABLE && isCriticalSaturated()) {
+            limiter.reject();
+            return null;
+        }
+        return limiter.tryAcquire() ? limiter : null;
+    }
+
+    public AdaptiveConcurrencyLimiter limiter(String name, ConcurrencyLimited.Priority priority) {
+        return limiters.computeIfAbsent(name, key -> new AdaptiveConcurrencyLimiter(key, priority, initialLimit,
+                minLimit, maxLimit, priority == ConcurrencyLimited.Priority.CRITICAL ? criticalTolerance : sheddableTolerance));
+    }
+
+    public List<AdaptiveConcurrencyLimiter.LimiterSnapshot> snapshot() {
+        List<AdaptiveConcurrencyLimiter.LimiterSnapshot> snapshots = new ArrayList<>();
+        for (AdaptiveConcurrencyLimiter limiter : limiters.values()) {
+            snapshots.add(limiter.snapshot());
+        }
+        return snapshots;
+    }
+
+    private boolean isCriticalSaturated() {
+        for (AdaptiveConcurrencyLimiter limiter : limiters.values()) {
+            if (limiter.getPriority() == ConcurrencyLimited.Priority.CRITICAL && limiter.isSaturated()) {
+                return true;
+            }
+        }
+        return false;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,338 @@
+package com.airlineaggregator.booking.mailbox;
+
+import com.airlineaggregator.booking.dto.BookingRequest;
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.service.BookingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serializes bookings per flight routine. Every request for a routine goes to that routine's
+ * mailbox, and a mailbox is run by at most one worker at a time, so a hot routine no longer has
+ * dozens of request threads each holding a connection while they queue on its row lock. Whatever
+ * has piled up in a mailbox when its worker gets to it is booked together through
+ * {@link BookingService#createBookings}: one row lock, one seat decrement and one batched insert.
+ * Different routines run in parallel on the shared worker pool.
+ *
+ * <p>A full mailbox, or a request that waited longer than {@code queue-timeout-ms} without being
+ * picked up, falls back to {@link BookingService#createBooking} on the caller's thread. If a
+ * combined batch fails as a whole, its requests are retried one by one the same way.
+ */
+@Component
+public class RoutineMailboxExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoutineMailboxExecutor.class);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Value("${booking.mailbox.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${booking.mailbox.workers:8}")
+    private int workers = 8;
+
+    @Value("${booking.mailbox.max-pending:200}")
+    private int maxPending = 200;
+
+    @Value("${booking.mailbox.max-batch:50}")
+    private int maxBatch = 50;
+
+    @Value("${booking.mailbox.queue-timeout-ms:5000}")
+    private long queueTimeoutMs = 5000;
+
+    private final Map<UUID, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    private final AtomicLong mailboxRequests = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedRequests = new AtomicLong();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+    private final AtomicLong saturatedFallbacks = new AtomicLong();
+    private final AtomicLong timedOutFallbacks = new AtomicLong();
+    private final AtomicLong failedBatchFallbacks = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "booking-mailbox-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Routine mailboxes started: {} workers, up to {} pending and {} per batch",
+                   workers, maxPending, maxBatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Books the request through its routine's mailbox, waiting for the result; same contract as
+     * {@link BookingService#createBooking}.
+     */
+    public BookingResponse createBooking(BookingRequest request) {
+        if (executor == null) {
+            return bookingService.createBooking(request);
+        }
+        Envelope envelope = new Envelope(request);
+        if (!post(envelope)) {
+            saturatedFallbacks.incrementAndGet();
+            logger.debug("Mailbox of flight routine {} is full, booking directly", request.getFlightRoutineId());
+            return bookingService.createBooking(request);
+        }
+        mailboxRequests.incrementAndGet();
+
+        try {
+            return envelope.result.get(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (envelope.withdraw()) {
+                timedOutFallbacks.incrementAndGet();
+                logger.debug("Booking for flight routine {} waited {} ms in its mailbox, booking directly",
+                           request.getFlightRoutineId(), queueTimeoutMs);
+                return bookingService.createBooking(request);
+            }
+            // Already being booked by the worker; its transaction decides the outcome
+            return awaitClaimed(envelope);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            envelope.withdraw();
+            throw new RuntimeException("Interrupted while waiting for booking", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private BookingResponse awaitClaimed(Envelope envelope) {
+        try {
+            return envelope.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for booking", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException cause
+                ? cause
+                : new RuntimeException("Booking creation failed: " + e.getCause().getMessage(), e.getCause());
+    }
+
+    /**
+     * Adds the envelope to its routine's mailbox and schedules the mailbox if it was idle; returns
+     * false when the mailbox is full.
+     */
+    private boolean post(Envelope envelope) {
+        UUID flightRoutineId = envelope.request.getFlightRoutineId();
+        while (true) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(flightRoutineId, Mailbox::new);
+            boolean schedule;
+            synchronized (mailbox) {
+                if (mailbox.closed) {
+                    // Retired while we were looking it up; the next lookup creates a fresh one
+                    continue;
+                }
+                if (mailbox.pending.size() >= maxPending) {
+                    return false;
+                }
+                mailbox.pending.add(envelope);
+                schedule = !mailbox.scheduled;
+                mailbox.scheduled = true;
+            }
+            if (schedule) {
+                try {
+                    executor.execute(mailbox);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: the caller times out, withdraws and books directly
+                    logger.debug("Mailbox worker pool rejected flight routine {}", flightRoutineId);
+                }
+            }
+            return true;
+        }
+    }
+
+    private void process(UUID flightRoutineId, List<Envelope> batch) {
+        batches.incrementAndGet();
+        batchedRequests.addAndGet(batch.size());
+        largestBatch.accumulateAndGet(batch.size(), Math::max);
+
+        List<BookingRequest> requests = new ArrayList<>(batch.size());
+        for (Envelope envelope : batch) {
+            requests.add(envelope.request);
+        }
+        try {
+            List<BookingService.BatchResult> results = bookingService.createBookings(flightRoutineId, requests);
+            for (int i = 0; i < batch.size(); i++) {
+                BookingService.BatchResult result = results.get(i);
+                if (result.isSucceeded()) {
+                    batch.get(i).result.complete(result.getResponse());
+                } else {
+                    batch.get(i).result.completeExceptionally(new RuntimeException(result.getErrorMessage()));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Combined booking of {} requests for flight routine {} failed, booking them one by one: {}",
+                       batch.size(), flightRoutineId, e.getMessage());
+            failedBatchFallbacks.addAndGet(batch.size());
+            for (Envelope envelope : batch) {
+                try {
+                    envelope.result.complete(bookingService.createBooking(envelope.request));
+                } catch (RuntimeException bookingError) {
+                    envelope.result.completeExceptionally(bookingError);
+                }
+            }
+        } finally {
+            for (Envelope envelope : batch) {
+                envelope.result.completeExceptionally(new RuntimeException("Booking creation failed: mailbox worker error"));
+            }
+        }
+    }
+
+    public MailboxSnapshot snapshot() {
+        MailboxSnapshot snapshot = new MailboxSnapshot();
+        snapshot.enabled = executor != null;
+        snapshot.activeMailboxes = mailboxes.size();
+        snapshot.mailboxRequests = mailboxRequests.get();
+        snapshot.batches = batches.get();
+        snapshot.batchedRequests = batchedRequests.get();
+        snapshot.largestBatch = largestBatch.get();
+        snapshot.saturatedFallbacks = saturatedFallbacks.get();
+        snapshot.timedOutFallbacks = timedOutFallbacks.get();
+        snapshot.failedBatchFallbacks = failedBatchFallbacks.get();
+        return snapshot;
+    }
+
+    /**
+     * One routine's queue. Runs on a pool thread for one batch at a time and re-submits itself while
+     * work remains, so a busy routine cannot starve the others; once empty it is retired.
+     */
+    private final class Mailbox implements Runnable {
+        private final UUID flightRoutineId;
+        private final ArrayDeque<Envelope> pending = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean closed;
+
+        private Mailbox(UUID flightRoutineId) {
+            this.flightRoutineId = flightRoutineId;
+        }
+
+        @Override
+        public void run() {
+            List<Envelope> batch = new ArrayList<>();
+            synchronized (this) {
+                while (batch.size() < maxBatch && !pending.isEmpty()) {
+                    Envelope envelope = pending.poll();
+                    if (envelope.claim()) {
+                        batch.add(envelope);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                process(flightRoutineId, batch);
+            }
+
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    scheduled = false;
+                    closed = true;
+                    mailboxes.remove(flightRoutineId, this);
+                    return;
+                }
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Mailbox worker pool rejected flight routine {}", flightRoutineId);
+            }
+        }
+    }
+
+    /**
+     * A request waiting in a mailbox. Exactly one of the worker ({@link #claim()}) and the timed-out
+     * caller ({@link #withdraw()}) gets it, so a request is never booked twice.
+     */
+    private static final class Envelope {
+        private static final int QUEUED = 0;
+        private static final int CLAIMED = 1;
+        private static final int WITHDRAWN = 2;
+
+        private final BookingRequest request;
+        private final CompletableFuture<BookingResponse> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private Envelope(BookingRequest request) {
+            this.request = request;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(QUEUED, CLAIMED);
+        }
+
+        boolean withdraw() {
+            return state.compareAndSet(QUEUED, WITHDRAWN);
+        }
+    }
+
+    public static class MailboxSnapshot {
+        private boolean enabled;
+        private int activeMailboxes;
+        private long mailboxRequests;
+        private long batches;
+        private long batchedRequests;
+        private int largestBatch;
+        private long saturatedFallbacks;
+        private long timedOutFallbacks;
+        private long failedBatchFallbacks;
+
+        // Getters
+        public boolean isEnabled() { return enabled; }
+        public int getActiveMailboxes() { return activeMailboxes; }
+        public long getMailboxRequests() { return mailboxRequests; }
+        public long getBatches() { return batches; }
+        public long getBatchedRequests() { return batchedRequests; }
+        public int getLargestBatch() { return largestBatch; }
+        public long getSaturatedFallbacks() { return saturatedFallbacks; }
+        public long getTimedOutFallbacks() { return timedOutFallbacks; }
+        public long getFailedBatchFallbacks() { return failedBatchFallbacks; }
+
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0.0 : (double) batchedRequests / batches;
+        }
+    }
+} 
\ No newline at end of file
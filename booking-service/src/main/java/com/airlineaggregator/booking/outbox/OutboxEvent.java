@@ -0,0 +1,38 @@
+package com.airlineaggregator.booking.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A row of {@code outbox_events}: one committed state change of a booking or payment.
+ */
+public class OutboxEvent {
+
+    private final long id;
+    private final String aggregateType;
+    private final UUID aggregateId;
+    private final String eventType;
+    private final String payload;
+    private final LocalDateTime createdAt;
+
+    public OutboxEvent(long id, String aggregateType, UUID aggregateId, String eventType,
+                       String payload, LocalDateTime createdAt) {
+        this.id = id;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public long getId() { return id; }
+    public String getAggregateType() { return aggregateType; }
+    public UUID getAggregateId() { return aggregateId; }
+    public String getEventType() { return eventType; }
+    @JsonRawValue
+    public String getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+} 
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.airlineaggregator.booking.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains {@code outbox_events} written by the booking and payment services. Each batch is claimed
+ * with {@code FOR UPDATE SKIP LOCKED}, handed to the {@link OutboxSink} (if any) and marked
+ * published in one transaction, so several relays can run side by side without delivering the
+ * same batch twice, and a failed sink leaves the batch for the next poll. {@link OutboxSubscriber}s
+ * are called once the batch has committed. Events are delivered in id order within one relay.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String CLAIM_BATCH =
+            "SELECT id, aggregate_type, aggregate_id, event_type, payload::text AS payload, created_at " +
+            "FROM outbox_events WHERE published_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String MARK_PUBLISHED =
+            "UPDATE outbox_events SET published_at = NOW() WHERE id = ANY(?)";
+
+    private static final String DELETE_PUBLISHED =
+            "DELETE FROM outbox_events WHERE published_at < NOW() - make_interval(hours => ?)";
+
+    private static final RowMapper<OutboxEvent> EVENT_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getString("aggregate_type"),
+            rs.getObject("aggregate_id", UUID.class),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private OutboxSink sink;
+
+    @Autowired(required = false)
+    private List<OutboxSubscriber> subscribers = List.of();
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${outbox.relay.retention-hours:24}")
+    private int retentionHours = 24;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder subscriberFailures = new LongAdder();
+    private final Map<String, LongAdder> publishedByType = new ConcurrentHashMap<>();
+    private volatile long lastLagMs;
+
+    /**
+     * Relays batches until the outbox is drained or a batch fails; returns the number of events relayed.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public int relayPending() {
+        if (!enabled) {
+            return 0;
+        }
+        int relayed = 0;
+        while (true) {
+            List<OutboxEvent> batch;
+            try {
+                batch = new TransactionTemplate(transactionManager).execute(tx -> claimAndPublish());
+            } catch (Exception e) {
+                failedBatches.increment();
+                logger.warn("Failed to relay outbox batch; retrying on the next poll", e);
+                break;
+            }
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            notifySubscribers(batch);
+            relayed += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return relayed;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.cleanup-interval-ms:3600000}")
+    public void deletePublished() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int deleted = jdbcTemplate.update(DELETE_PUBLISHED, retentionHours);
+            if (deleted > 0) {
+                logger.info("Deleted {} published outbox events older than {}h", deleted, retentionHours);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to delete published outbox events", e);
+        }
+    }
+
+    private List<OutboxEvent> claimAndPublish() {
+        List<OutboxEvent> batch = jdbcTemplate.query(CLAIM_BATCH, EVENT_MAPPER, batchSize);
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        if (sink != null) {
+            sink.publish(batch);
+        }
+
+        Long[] ids = new Long[batch.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = batch.get(i).getId();
+        }
+        jdbcTemplate.update(MARK_PUBLISHED, (Object) ids);
+        return batch;
+    }
+
+    private void notifySubscribers(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            for (OutboxSubscriber subscriber : subscribers) {
+                try {
+                    subscriber.onEvent(event);
+                } catch (Exception e) {
+                    subscriberFailures.increment();
+                    logger.warn("Outbox subscriber {} failed on event {} ({})",
+                            subscriber.getClass().getSimpleName(), event.getId(), event.getEventType(), e);
+                }
+            }
+            publishedByType.computeIfAbsent(event.getEventType(), type -> new LongAdder()).increment();
+        }
+        published.add(batch.size());
+        batches.increment();
+        LocalDateTime oldest = batch.get(0).getCreatedAt();
+        if (oldest != null) {
+            lastLagMs = Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis());
+        }
+    }
+
+    public RelaySnapshot snapshot() {
+        RelaySnapshot snapshot = new RelaySnapshot();
+        snapshot.enabled = enabled;
+        snapshot.sink = sink != null ? sink.getClass().getSimpleName() : "none";
+        snapshot.subscribers = subscribers.size();
+        snapshot.published = published.sum();
+        snapshot.batches = batches.sum();
+        snapshot.failedBatches = failedBatches.sum();
+        snapshot.subscriberFailures = subscriberFailures.sum();
+        snapshot.lastLagMs = lastLagMs;
+        snapshot.pending = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE published_at IS NULL", Long.class);
+        Map<String, Long> byType = new TreeMap<>();
+        publishedByType.forEach((type, count) -> byType.put(type, count.sum()));
+        snapshot.publishedByType = byType;
+        return snapshot;
+    }
+
+    public static class RelaySnapshot {
+        private boolean enabled;
+        private String sink;
+        private int subscribers;
+        private Long pending;
+        private long published;
+        private long batches;
+        private long failedBatches;
+        private long subscriberFailures;
+        private long lastLagMs;
+        private Map<String, Long> publishedByType;
+
+        // Getters
+        public boolean isEnabled() { return enabled; }
+        public String getSink() { return sink; }
+        public int getSubscribers() { return subscribers; }
+        public Long getPending() { return pending; }
+        public long getPublished() { return published; }
+        public long getBatches() { return batches; }
+        public long getFailedBatches() { return failedBatches; }
+        public long getSubscriberFailures() { return subscriberFailures; }
+        public long getLastLagMs() { return lastLagMs; }
+        public Map<String, Long> getPublishedByType() { return publishedByType; }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.airlineaggregator.booking.outbox;
+
+import java.util.List;
+
+/**
+ * External destination for outbox events (a broker, a log, another store). Called with each batch
+ * before it is marked published; throwing rolls the batch back so it is delivered again on the next
+ * poll (at least once). Select a built-in sink with {@code outbox.sink} or register another
+ * implementation as a bean with {@code outbox.sink=none}.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events);
+} 
\ No newline at end of file
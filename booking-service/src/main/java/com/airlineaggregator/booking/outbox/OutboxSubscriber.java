@@ -0,0 +1,11 @@
+package com.airlineaggregator.booking.outbox;
+
+/**
+ * In-process consumer of outbox events, registered as a bean. Called from the relay thread after
+ * the batch is marked published, so a slow or failing subscriber never holds row locks or blocks
+ * redelivery to the sink; events reach subscribers at most once.
+ */
+public interface OutboxSubscriber {
+
+    void onEvent(OutboxEvent event);
+} 
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.airlineaggregator.booking.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Appends events to {@code outbox_events} inside the caller's transaction, so an event exists if
+ * and only if the state change it describes committed. Calling it outside a transaction fails.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload) VALUES (?, ?, ?, ?::jsonb)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, UUID aggregateId, String eventType, Map<String, ?> payload) {
+        try {
+            jdbcTemplate.update(INSERT_EVENT, aggregateType, aggregateId, eventType,
+                    objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize outbox event " + eventType, e);
+        }
+    }
+
+    /**
+     * Appends one event of the same type per aggregate in a single JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String aggregateType, String eventType, Map<UUID, ? extends Map<String, ?>> payloads) {
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        try {
+            for (Map.Entry<UUID, ? extends Map<String, ?>> entry : payloads.entrySet()) {
+                rows.add(new Object[]{aggregateType, entry.getKey(), eventType,
+                        objectMapper.writeValueAsString(entry.getValue())});
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize outbox event " + eventType, e);
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,363 @@
+package com.airlineaggregator.booking.pricing;
+
+import com.airlineaggregator.booking.dto.RepricingJobStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reprices every future flight routine, e.g. after a fuel surcharge changes {@code base_price}.
+ *
+ * <p>Routines are split into partitions of one {@code travel_date} and one {@code flight_id} range,
+ * which a fork/join pool works through in parallel. Each partition is walked in keyset order in
+ * small batches; every batch locks, reprices and commits its rows together with the partition
+ * checkpoint, so at most {@code parallelism x batch-size} rows are locked at any moment, bookings
+ * only ever wait on one short batch, and an interrupted job resumes exactly where it stopped.
+ *
+ * <p>Each batch transaction starts by locking its partition's checkpoint row and continues from
+ * the {@code last_routine_id} stored there, never from memory. Instances that start or resume the
+ * same job therefore take turns on a partition instead of applying the factor to its rows twice.
+ */
+@Component
+public class BulkRepricingJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkRepricingJob.class);
+
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    private static final String SELECT_BATCH =
+            "SELECT id, total_seats, available_seats, base_price, current_price, travel_date, " +
+            "departure_time, pricing_tiers::text AS pricing_tiers " +
+            "FROM flight_routines WHERE travel_date = ? AND status = 'scheduled'";
+
+    private static final String UPDATE_PRICE =
+            "UPDATE flight_routines SET base_price = ?, current_price = ?, price_updated_at = clock_timestamp(), " +
+            "updated_at = NOW() WHERE id = ?";
+
+    static final String SELECT_CHECKPOINT =
+            "SELECT last_routine_id, completed FROM repricing_checkpoints " +
+            "WHERE job_id = ? AND partition_no = ? FOR UPDATE";
+
+    private static final String UPDATE_CHECKPOINT =
+            "UPDATE repricing_checkpoints SET last_routine_id = ?, rows_repriced = rows_repriced + ?, " +
+            "completed = ?, updated_at = NOW() WHERE job_id = ? AND partition_no = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DynamicPricingEngine dynamicPricingEngine;
+
+    @Value("${pricing.bulk.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${pricing.bulk.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${pricing.bulk.flight-ranges-per-date:4}")
+    private int flightRangesPerDate = 4;
+
+    @Value("${pricing.bulk.lock-timeout-ms:2000}")
+    private long lockTimeoutMs = 2000;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-repricing");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts a new job, or resumes an unfinished one with the same id using its original factor.
+     * The job runs in the background; progress is available through {@link #getStatus(String)}.
+     */
+    public RepricingJobStatus start(String jobId, BigDecimal basePriceFactor) {
+        String id = jobId != null ? jobId : "reprice-" + UUID.randomUUID();
+        BigDecimal factor = basePriceFactor != null ? basePriceFactor : BigDecimal.ONE;
+
+        if (!activeJobs.add(id)) {
+            return getStatus(id).orElseThrow(() -> new RuntimeException("Repricing job not found: " + id));
+        }
+
+        try {
+            RepricingJobStatus existing = getStatus(id).orElse(null);
+            if (existing == null) {
+                createJob(id, factor);
+            } else if ("completed".equals(existing.getStatus())) {
+                activeJobs.remove(id);
+                return existing;
+            } else {
+                jdbcTemplate.update("UPDATE repricing_jobs SET status = 'running' WHERE job_id = ?", id);
+                logger.info("Resuming repricing job {} ({} of {} partitions completed)",
+                        id, existing.getCompletedPartitions(), existing.getTotalPartitions());
+            }
+            coordinator.submit(() -> run(id));
+        } catch (RuntimeException e) {
+            activeJobs.remove(id);
+            throw e;
+        }
+
+        return getStatus(id).orElseThrow(() -> new RuntimeException("Repricing job not found: " + id));
+    }
+
+    public Optional<RepricingJobStatus> getStatus(String jobId) {
+        List<RepricingJobStatus> statuses = jdbcTemplate.query(
+                "SELECT j.job_id, j.status, j.base_price_factor, j.created_at, j.completed_at, " +
+                "COUNT(c.partition_no) AS total_partitions, " +
+                "COUNT(c.partition_no) FILTER (WHERE c.completed) AS completed_partitions, " +
+                "COALESCE(SUM(c.rows_repriced), 0) AS rows_repriced " +
+                "FROM repricing_jobs j LEFT JOIN repricing_checkpoints c ON c.job_id = j.job_id " +
+                "WHERE j.job_id = ? GROUP BY j.job_id",
+                (rs, rowNum) -> {
+                    RepricingJobStatus status = new RepricingJobStatus();
+                    status.setJobId(rs.getString("job_id"));
+                    status.setStatus(rs.getString("status"));
+                    status.setBasePriceFactor(rs.getBigDecimal("base_price_factor"));
+                    status.setTotalPartitions(rs.getInt("total_partitions"));
+                    status.setCompletedPartitions(rs.getInt("completed_partitions"));
+                    status.setRowsRepriced(rs.getLong("rows_repriced"));
+                    status.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+                    status.setCompletedAt(toLocalDateTime(rs.getTimestamp("completed_at")));
+                    return status;
+                },
+                jobId);
+        return statuses.stream().findFirst();
+    }
+
+    private void createJob(String jobId, BigDecimal factor) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            jdbcTemplate.update("INSERT INTO repricing_jobs (job_id, base_price_factor) VALUES (?, ?)", jobId, factor);
+
+            List<UUID> flightIds = jdbcTemplate.queryForList("SELECT id FROM flights ORDER BY id", UUID.class);
+            List<UUID> bounds = new ArrayList<>();
+            int ranges = Math.max(1, Math.min(flightRangesPerDate, flightIds.size()));
+            for (int i = 1; i < ranges; i++) {
+                bounds.add(flightIds.get(i * flightIds.size() / ranges));
+            }
+
+            List<LocalDate> travelDates = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT travel_date FROM flight_routines " +
+                    "WHERE travel_date >= CURRENT_DATE AND status = 'scheduled' ORDER BY travel_date",
+                    LocalDate.class);
+
+            List<Object[]> partitions = new ArrayList<>(travelDates.size() * (bounds.size() + 1));
+            for (LocalDate travelDate : travelDates) {
+                for (int i = 0; i <= bounds.size(); i++) {
+                    UUID from = i == 0 ? null : bounds.get(i - 1);
+                    UUID to = i == bounds.size() ? null : bounds.get(i);
+                    partitions.add(new Object[]{jobId, partitions.size(), travelDate, from, to});
+                }
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO repricing_checkpoints (job_id, partition_no, travel_date, flight_id_from, flight_id_to) " +
+                    "VALUES (?, ?, ?, ?, ?)", partitions);
+
+            logger.info("Created repricing job {} with factor {} across {} partitions", jobId, factor, partitions.size());
+        });
+    }
+
+    private void run(String jobId) {
+        try {
+            BigDecimal factor = jdbcTemplate.queryForObject(
+                    "SELECT base_price_factor FROM repricing_jobs WHERE job_id = ?", BigDecimal.class, jobId);
+            List<Partition> pending = jdbcTemplate.query(
+                    "SELECT partition_no, travel_date, flight_id_from, flight_id_to " +
+                    "FROM repricing_checkpoints WHERE job_id = ? AND NOT completed ORDER BY partition_no",
+                    (rs, rowNum) -> new Partition(
+                            jobId,
+                            rs.getInt("partition_no"),
+                            rs.getObject("travel_date", LocalDate.class),
+                            rs.getObject("flight_id_from", UUID.class),
+                            rs.getObject("flight_id_to", UUID.class)),
+                    jobId);
+
+            long startTime = System.currentTimeMillis();
+            int completed = runPartitions(pending, factor);
+            boolean finished = completed == pending.size();
+
+            jdbcTemplate.update("UPDATE repricing_jobs SET status = ?, completed_at = " +
+                    (finished ? "NOW()" : "NULL") + " WHERE job_id = ?", finished ? "completed" : "failed", jobId);
+            logger.info("Repricing job {} {}: {} of {} partitions in {} ms", jobId,
+                    finished ? "completed" : "stopped", completed, pending.size(),
+                    System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            logger.error("Repricing job {} failed", jobId, e);
+            jdbcTemplate.update("UPDATE repricing_jobs SET status = 'failed' WHERE job_id = ?", jobId);
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    /**
+     * Runs the partitions on a dedicated fork/join pool and returns how many finished. A partition
+     * that keeps failing is left incomplete for the next resume without stopping the others.
+     */
+    int runPartitions(List<Partition> partitions, BigDecimal factor) {
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+        AtomicInteger completed = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            pool.invoke(new RepricingTask(partitions, 0, partitions.size(), factor, completed));
+        } finally {
+            pool.shutdown();
+        }
+        return completed.get();
+    }
+
+    /**
+     * Reprices one partition batch by batch, each batch in its own short transaction.
+     */
+    boolean processPartition(Partition partition, BigDecimal factor) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        while (true) {
+            BatchResult result = null;
+            for (int attempt = 1; result == null; attempt++) {
+                try {
+                    result = transactionTemplate.execute(tx -> repriceBatch(partition, factor));
+                } catch (Exception e) {
+                    if (attempt >= MAX_BATCH_ATTEMPTS) {
+                        logger.warn("Giving up on partition {} of repricing job {} after {} attempts",
+                                partition.partitionNo(), partition.jobId(), attempt, e);
+                        return false;
+                    }
+                    logger.debug("Retrying batch of partition {} after: {}", partition.partitionNo(), e.getMessage());
+                }
+            }
+            if (result.completed()) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reprices the next batch of the partition after its checkpoint. Must run in a transaction,
+     * which holds the checkpoint row lock until the batch and the new checkpoint commit.
+     */
+    BatchResult repriceBatch(Partition partition, BigDecimal factor) {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeoutMs + "ms'");
+
+        BatchResult checkpoint = jdbcTemplate.queryForObject(SELECT_CHECKPOINT,
+                (rs, rowNum) -> new BatchResult(rs.getObject("last_routine_id", UUID.class), rs.getBoolean("completed")),
+                partition.jobId(), partition.partitionNo());
+        if (checkpoint.completed()) {
+            // Another instance finished the partition while this one waited for the lock
+            return checkpoint;
+        }
+        UUID after = checkpoint.lastRoutineId();
+
+        StringBuilder sql = new StringBuilder(SELECT_BATCH);
+        List<Object> params = new ArrayList<>(4);
+        params.add(partition.travelDate());
+        if (partition.flightIdFrom() != null) {
+            sql.append(" AND flight_id >= ?");
+            params.add(partition.flightIdFrom());
+        }
+        if (partition.flightIdTo() != null) {
+            sql.append(" AND flight_id < ?");
+            params.add(partition.flightIdTo());
+        }
+        if (after != null) {
+            sql.append(" AND id > ?");
+            params.add(after);
+        }
+        sql.append(" ORDER BY id LIMIT ").append(batchSize).append(" FOR UPDATE");
+
+        LocalDate today = LocalDate.now();
+        List<Object[]> updates = new ArrayList<>(batchSize);
+        UUID[] lastSeen = {after};
+        jdbcTemplate.query(sql.toString(), rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            PricingTiers tiers = dynamicPricingEngine.tiersFor(id, rs.getString("pricing_tiers"));
+            BigDecimal basePrice = rs.getBigDecimal("base_price").multiply(factor).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal newPrice = tiers.price(
+                    basePrice,
+                    rs.getInt("total_seats"),
+                    rs.getInt("available_seats"),
+                    rs.getObject("travel_date", LocalDate.class),
+                    rs.getTime("departure_time").toLocalTime(),
+                    today);
+            updates.add(new Object[]{basePrice, newPrice, id});
+            lastSeen[0] = id;
+        }, params.toArray());
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_PRICE, updates);
+        }
+        boolean completed = updates.size() < batchSize;
+        jdbcTemplate.update(UPDATE_CHECKPOINT, lastSeen[0], updates.size(), completed,
+                partition.jobId(), partition.partitionNo());
+        return new BatchResult(lastSeen[0], completed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    record Partition(String jobId, int partitionNo, LocalDate travelDate,
+                     UUID flightIdFrom, UUID flightIdTo) {}
+
+    record BatchResult(UUID lastRoutineId, boolean completed) {}
+
+    private class RepricingTask extends RecursiveAction {
+        private final List<Partition> partitions;
+        private final int from;
+        private final int to;
+        private final BigDecimal factor;
+        private final AtomicInteger completed;
+
+        private RepricingTask(List<Partition> partitions, int from, int to, BigDecimal factor, AtomicInteger completed) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+            this.factor = factor;
+            this.completed = completed;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (processPartition(partitions.get(from), factor)) {
+                    completed.incrementAndGet();
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RepricingTask(partitions, from, middle, factor, completed),
+                      new RepricingTask(partitions, middle, to, factor, completed));
+        }
+    }
+} 
\ No newline at end of file
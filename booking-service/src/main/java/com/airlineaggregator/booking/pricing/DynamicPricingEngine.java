@@ -0,0 +1,182 @@
+package com.airlineaggregator.booking.pricing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recomputes {@code current_price} for flight routines whose seat counts changed.
+ *
+ * <p>Seat changes only mark the routine dirty (after the surrounding transaction commits), so a
+ * burst of bookings on one routine collapses into a single repricing. A scheduled flush reads the
+ * committed seat counts for all dirty routines in one query and writes the changed prices back in
+ * one JDBC batch, bumping {@code price_updated_at}.
+ */
+@Component
+public class DynamicPricingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(DynamicPricingEngine.class);
+
+    private static final String SELECT_ROUTINES =
+            "SELECT id, total_seats, available_seats, base_price, current_price, travel_date, " +
+            "departure_time, pricing_tiers::text AS pricing_tiers " +
+            "FROM flight_routines WHERE id = ANY(?) AND status = 'scheduled'";
+
+    private static final String UPDATE_PRICE =
+            "UPDATE flight_routines SET current_price = ?, price_updated_at = clock_timestamp(), updated_at = NOW() WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${pricing.dynamic.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${pricing.dynamic.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${pricing.dynamic.max-cached-tiers:50000}")
+    private int maxCachedTiers = 50_000;
+
+    private final Set<UUID> dirtyRoutines = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, ParsedTiers> tiersCache = new ConcurrentHashMap<>();
+
+    /**
+     * Records that the seat count of a routine changed. Inside a transaction the routine is only
+     * queued once the transaction commits, so the flush never prices uncommitted seat counts.
+     */
+    public void onSeatsChanged(UUID flightRoutineId) {
+        if (!enabled || flightRoutineId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyRoutines.add(flightRoutineId);
+                }
+            });
+        } else {
+            dirtyRoutines.add(flightRoutineId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pricing.dynamic.flush-interval-ms:1000}")
+    public void flushPendingPrices() {
+        int repriced = 0;
+        List<UUID> batch = drain();
+        while (!batch.isEmpty()) {
+            try {
+                repriced += reprice(batch);
+            } catch (Exception e) {
+                // Put the routines back so the next flush retries them
+                dirtyRoutines.addAll(batch);
+                logger.warn("Failed to reprice {} flight routines", batch.size(), e);
+                break;
+            }
+            batch = drain();
+        }
+        if (repriced > 0) {
+            logger.debug("Repriced {} flight routines", repriced);
+        }
+    }
+
+    int pendingCount() {
+        return dirtyRoutines.size();
+    }
+
+    private List<UUID> drain() {
+        List<UUID> batch = new ArrayList<>(Math.min(batchSize, dirtyRoutines.size()));
+        Iterator<UUID> iterator = dirtyRoutines.iterator();
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    private int reprice(List<UUID> routineIds) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> updates = new ArrayList<>(routineIds.size());
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ROUTINES);
+            statement.setArray(1, toUuidArray(connection, routineIds));
+            return statement;
+        }, rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            PricingTiers tiers = tiersFor(id, rs.getString("pricing_tiers"));
+            BigDecimal currentPrice = rs.getBigDecimal("current_price");
+            BigDecimal newPrice = tiers.price(
+                    rs.getBigDecimal("base_price"),
+                    rs.getInt("total_seats"),
+                    rs.getInt("available_seats"),
+                    rs.getObject("travel_date", LocalDate.class),
+                    rs.getTime("departure_time").toLocalTime(),
+                    today);
+            if (currentPrice == null || newPrice.compareTo(currentPrice) != 0) {
+                updates.add(new Object[]{newPrice, id});
+            }
+        });
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_PRICE, updates);
+        }
+        return updates.size();
+    }
+
+    /**
+     * Returns the parsed tiers for a routine, re-parsing only when the stored JSON changed.
+     * The engine never rewrites {@code pricing_tiers}, so in practice each routine is parsed once.
+     */
+    PricingTiers tiersFor(UUID routineId, String json) {
+        ParsedTiers cached = tiersCache.get(routineId);
+        if (cached != null && Objects.equals(cached.source, json)) {
+            return cached.tiers;
+        }
+
+        PricingTiers tiers;
+        try {
+            tiers = PricingTiers.parse(json, objectMapper);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring pricing tiers of flight routine {}: {}", routineId, e.getMessage());
+            tiers = PricingTiers.DEFAULT;
+        }
+
+        if (tiersCache.size() >= maxCachedTiers) {
+            tiersCache.clear();
+        }
+        tiersCache.put(routineId, new ParsedTiers(json, tiers));
+        return tiers;
+    }
+
+    private static Array toUuidArray(Connection connection, List<UUID> ids) throws SQLException {
+        return connection.createArrayOf("uuid", ids.toArray());
+    }
+
+    private record ParsedTiers(String source, PricingTiers tiers) {}
+}
\ No newline at end of file
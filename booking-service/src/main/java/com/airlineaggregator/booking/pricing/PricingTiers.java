@@ -0,0 +1,168 @@
+package com.airlineaggregator.booking.pricing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Pricing rules for a single flight routine, parsed once from the {@code pricing_tiers} JSONB
+ * column into primitive arrays so repricing never touches JSON on the hot path.
+ *
+ * <p>The seeded cabin fares ({@code economy}, {@code business}, {@code first}) are left alone; two
+ * optional objects override the default multiplier tables:
+ * <pre>
+ * "load_factor": {"bounds": [0.5, 0.7, 0.85, 0.95], "multipliers": [0.9, 1.0, 1.15, 1.35, 1.6]}
+ * "advance":     {"days": [1, 3, 7, 14, 21], "multipliers": [1.4, 1.25, 1.1, 1.0, 0.95, 0.9]}
+ * </pre>
+ * Each table has one more multiplier than bounds; the last applies beyond the last bound.
+ * Defaults mirror the multipliers used by {@code database/comprehensive_data.sql}, with the
+ * seed's random demand factor replaced by the routine's load factor.
+ */
+public final class PricingTiers {
+
+    static final String LOAD_FACTOR = "load_factor";
+    static final String ADVANCE = "advance";
+
+    static final double[] DEFAULT_LOAD_FACTOR_BOUNDS = {0.50, 0.70, 0.85, 0.95};
+    static final double[] DEFAULT_LOAD_FACTOR_MULTIPLIERS = {0.90, 1.00, 1.15, 1.35, 1.60};
+    static final int[] DEFAULT_ADVANCE_DAYS = {1, 3, 7, 14, 21};
+    static final double[] DEFAULT_ADVANCE_MULTIPLIERS = {1.40, 1.25, 1.10, 1.00, 0.95, 0.90};
+
+    public static final PricingTiers DEFAULT = new PricingTiers(
+            DEFAULT_LOAD_FACTOR_BOUNDS, DEFAULT_LOAD_FACTOR_MULTIPLIERS,
+            DEFAULT_ADVANCE_DAYS, DEFAULT_ADVANCE_MULTIPLIERS);
+
+    private final double[] loadFactorBounds;
+    private final double[] loadFactorMultipliers;
+    private final int[] advanceDays;
+    private final double[] advanceMultipliers;
+
+    PricingTiers(double[] loadFactorBounds, double[] loadFactorMultipliers,
+                 int[] advanceDays, double[] advanceMultipliers) {
+        this.loadFactorBounds = loadFactorBounds;
+        this.loadFactorMultipliers = loadFactorMultipliers;
+        this.advanceDays = advanceDays;
+        this.advanceMultipliers = advanceMultipliers;
+    }
+
+    public static PricingTiers parse(String json, ObjectMapper objectMapper) {
+        if (json == null || json.isBlank()) {
+            return DEFAULT;
+        }
+
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid pricing tiers: " + e.getMessage(), e);
+        }
+        if (root == null || !root.isObject()) {
+            return DEFAULT;
+        }
+
+        double[] loadFactorBounds = DEFAULT_LOAD_FACTOR_BOUNDS;
+        double[] loadFactorMultipliers = DEFAULT_LOAD_FACTOR_MULTIPLIERS;
+        JsonNode loadFactor = root.get(LOAD_FACTOR);
+        if (loadFactor != null && loadFactor.isObject()) {
+            loadFactorBounds = readDoubles(loadFactor.get("bounds"));
+            loadFactorMultipliers = readDoubles(loadFactor.get("multipliers"));
+            requireTable(LOAD_FACTOR, loadFactorBounds.length, loadFactorMultipliers);
+        }
+
+        int[] advanceDays = DEFAULT_ADVANCE_DAYS;
+        double[] advanceMultipliers = DEFAULT_ADVANCE_MULTIPLIERS;
+        JsonNode advance = root.get(ADVANCE);
+        if (advance != null && advance.isObject()) {
+            double[] days = readDoubles(advance.get("days"));
+            advanceDays = new int[days.length];
+            for (int i = 0; i < days.length; i++) {
+                advanceDays[i] = (int) days[i];
+            }
+            advanceMultipliers = readDoubles(advance.get("multipliers"));
+            requireTable(ADVANCE, advanceDays.length, advanceMultipliers);
+        }
+
+        return new PricingTiers(loadFactorBounds, loadFactorMultipliers,
+                advanceDays, advanceMultipliers);
+    }
+
+    /**
+     * Computes the economy fare for a routine. {@code basePrice} already carries the airline
+     * premium; the schedule, advance-purchase and load-factor multipliers are applied on top.
+     */
+    public BigDecimal price(BigDecimal basePrice, int totalSeats, int availableSeats,
+                            LocalDate travelDate, LocalTime departureTime, LocalDate today) {
+        double loadFactor = totalSeats > 0
+                ? 1.0 - (double) Math.max(0, availableSeats) / totalSeats
+                : 1.0;
+        long daysToDeparture = Math.max(0, ChronoUnit.DAYS.between(today, travelDate));
+
+        double multiplier = timeOfDayMultiplier(departureTime)
+                * dayOfWeekMultiplier(travelDate)
+                * advanceMultiplier(daysToDeparture)
+                * loadFactorMultiplier(loadFactor);
+
+        return basePrice.multiply(BigDecimal.valueOf(multiplier)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    double loadFactorMultiplier(double loadFactor) {
+        for (int i = 0; i < loadFactorBounds.length; i++) {
+            if (loadFactor < loadFactorBounds[i]) {
+                return loadFactorMultipliers[i];
+            }
+        }
+        return loadFactorMultipliers[loadFactorBounds.length];
+    }
+
+    double advanceMultiplier(long daysToDeparture) {
+        for (int i = 0; i < advanceDays.length; i++) {
+            if (daysToDeparture <= advanceDays[i]) {
+                return advanceMultipliers[i];
+            }
+        }
+        return advanceMultipliers[advanceDays.length];
+    }
+
+    static double timeOfDayMultiplier(LocalTime departureTime) {
+        int hour = departureTime.getHour();
+        if ((hour >= 6 && hour <= 9) || (hour >= 17 && hour <= 21)) {
+            return 1.20; // Peak hours
+        }
+        if (hour >= 22 || hour <= 5) {
+            return 0.80; // Red-eye flights
+        }
+        return 1.0;
+    }
+
+    static double dayOfWeekMultiplier(LocalDate travelDate) {
+        DayOfWeek day = travelDate.getDayOfWeek();
+        if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) {
+            return 1.25;
+        }
+        return day == DayOfWeek.FRIDAY ? 1.15 : 1.0;
+    }
+
+    private static double[] readDoubles(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return new double[0];
+        }
+        double[] values = new double[node.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = node.get(i).asDouble();
+        }
+        return values;
+    }
+
+    private static void requireTable(String name, int bounds, double[] multipliers) {
+        if (multipliers.length != bounds + 1) {
+            throw new IllegalArgumentException("Invalid pricing tiers: '" + name + "' needs "
+                    + (bounds + 1) + " multipliers for " + bounds + " bounds, got " + multipliers.length);
+        }
+    }
+}
\ No newline at end of file
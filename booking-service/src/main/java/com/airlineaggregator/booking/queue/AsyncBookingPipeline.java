@@ -0,0 +1,332 @@
+package com.airlineaggregator.booking.queue;
+
+import com.airlineaggregator.booking.dto.BookingRequest;
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.dto.BookingTicket;
+import com.airlineaggregator.booking.service.BookingService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous booking: requests are stored in {@code booking_tickets}, partitioned by flight
+ * routine, and answered with a ticket straight away. Each partition is processed strictly in
+ * arrival order by one worker, so bookings for a routine queue up here instead of piling up on its
+ * row lock. Across instances, a transaction-scoped advisory lock on the partition keeps a single
+ * processor per partition.
+ *
+ * <p>Each ticket is booked through {@link BookingService#createBooking} in the same transaction
+ * that marks it succeeded. If the booking fails, that transaction rolls back and the failure is
+ * recorded in a second one, committed while the first still holds the partition lock, so a ticket
+ * never ends up half-processed or picked up by another processor in between. Workers are woken by local
+ * enqueues and rescan the table every poll interval for tickets queued by other instances or left
+ * behind by a restart.
+ */
+@Component
+public class AsyncBookingPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncBookingPipeline.class);
+
+    // First key of the two-int advisory lock; the second is the partition number
+    private static final int ADVISORY_LOCK_NAMESPACE = 0x424B5451;
+
+    private static final String INSERT_TICKET =
+            "INSERT INTO booking_tickets (ticket_id, flight_routine_id, partition_no, request) VALUES (?, ?, ?, ?::jsonb)";
+
+    private static final String SELECT_TICKET =
+            "SELECT ticket_id, status, flight_routine_id, booking_id, result::text AS result, error_message, " +
+            "created_at, completed_at FROM booking_tickets";
+
+    private static final String NEXT_QUEUED =
+            "SELECT ticket_id, request::text AS request FROM booking_tickets " +
+            "WHERE partition_no = ? AND status = 'queued' ORDER BY seq LIMIT 1";
+
+    private static final RowMapper<BookingTicket> TICKET_MAPPER = (rs, rowNum) -> {
+        BookingTicket ticket = new BookingTicket();
+        ticket.setTicketId(rs.getObject("ticket_id", UUID.class));
+        ticket.setStatus(rs.getString("status"));
+        ticket.setFlightRoutineId(rs.getObject("flight_routine_id", UUID.class));
+        ticket.setBookingId(rs.getObject("booking_id", UUID.class));
+        ticket.setBooking(rs.getString("result"));
+        ticket.setErrorMessage(rs.getString("error_message"));
+        ticket.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        ticket.setCompletedAt(rs.getObject("completed_at", LocalDateTime.class));
+        return ticket;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${booking.async.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${booking.async.partitions:32}")
+    private int partitions = 32;
+
+    @Value("${booking.async.workers:4}")
+    private int workers = 4;
+
+    @Value("${booking.async.poll-interval-ms:1000}")
+    private long pollIntervalMs = 1000;
+
+    @Value("${booking.async.retention-hours:24}")
+    private int retentionHours = 24;
+
+    private final List<Consumer<BookingTicket>> completionListeners = new CopyOnWriteArrayList<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private List<BlockingQueue<Integer>> signals = List.of();
+    private final Set<Integer> signalled = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        List<BlockingQueue<Integer>> queues = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            queues.add(new LinkedBlockingQueue<>());
+        }
+        signals = queues;
+        for (int i = 0; i < workers; i++) {
+            int worker = i;
+            Thread thread = new Thread(() -> workLoop(worker), "booking-queue-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            workerThreads.add(thread);
+        }
+        logger.info("Async booking pipeline started: {} partitions, {} workers", partitions, workers);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Thread thread : workerThreads) {
+            thread.interrupt();
+        }
+        for (Thread thread : workerThreads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workerThreads.clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stores the request and returns its ticket; the booking itself happens on a worker.
+     */
+    public BookingTicket enqueue(BookingRequest request) {
+        if (!enabled) {
+            throw new RuntimeException("Async booking is disabled");
+        }
+        UUID ticketId = UUID.randomUUID();
+        int partition = partitionFor(request.getFlightRoutineId());
+        try {
+            jdbcTemplate.update(INSERT_TICKET, ticketId, request.getFlightRoutineId(), partition,
+                    objectMapper.writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize booking request", e);
+        }
+        signal(partition);
+
+        BookingTicket ticket = new BookingTicket();
+        ticket.setTicketId(ticketId);
+        ticket.setStatus(BookingTicket.STATUS_QUEUED);
+        ticket.setFlightRoutineId(request.getFlightRoutineId());
+        ticket.setCreatedAt(LocalDateTime.now());
+        return ticket;
+    }
+
+    public Optional<BookingTicket> getTicket(UUID ticketId) {
+        return jdbcTemplate.query(SELECT_TICKET + " WHERE ticket_id = ?", TICKET_MAPPER, ticketId)
+                .stream().findFirst();
+    }
+
+    public List<BookingTicket> findCompleted(List<UUID> ticketIds) {
+        return jdbcTemplate.query(SELECT_TICKET + " WHERE ticket_id = ANY(?) AND status <> 'queued'",
+                TICKET_MAPPER, (Object) ticketIds.toArray(new UUID[0]));
+    }
+
+    /**
+     * Registers a callback for tickets completed by this instance's workers.
+     */
+    public void addCompletionListener(Consumer<BookingTicket> listener) {
+        completionListeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.async.cleanup-interval-ms:3600000}")
+    public void deleteCompletedTickets() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM booking_tickets WHERE status <> 'queued' AND completed_at < NOW() - make_interval(hours => ?)",
+                    retentionHours);
+            if (deleted > 0) {
+                logger.info("Deleted {} completed booking tickets older than {}h", deleted, retentionHours);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to delete completed booking tickets", e);
+        }
+    }
+
+    int partitionFor(UUID flightRoutineId) {
+        return Math.floorMod(flightRoutineId.hashCode(), partitions);
+    }
+
+    private void signal(int partition) {
+        if (running && signalled.add(partition)) {
+            signals.get(partition % workers).offer(partition);
+        }
+    }
+
+    private void workLoop(int worker) {
+        BlockingQueue<Integer> queue = signals.get(worker);
+        while (running) {
+            try {
+                Integer partition = queue.poll(pollIntervalMs, TimeUnit.MILLISECONDS);
+                if (partition == null) {
+                    rescan(worker);
+                    continue;
+                }
+                signalled.remove(partition);
+                drainPartition(partition);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.warn("Booking queue worker {} failed; retrying after the poll interval", worker, e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void rescan(int worker) {
+        List<Integer> queued = jdbcTemplate.queryForList(
+                "SELECT DISTINCT partition_no FROM booking_tickets WHERE status = 'queued' AND partition_no % ? = ?",
+                Integer.class, workers, worker);
+        for (Integer partition : queued) {
+            signal(partition);
+        }
+    }
+
+    /**
+     * Processes the partition's tickets in order until it is empty or another instance holds it.
+     */
+    void drainPartition(int partition) {
+        while (running) {
+            Optional<BookingTicket> processed = processNext(partition);
+            if (processed.isEmpty()) {
+                return;
+            }
+            for (Consumer<BookingTicket> listener : completionListeners) {
+                listener.accept(processed.get());
+            }
+        }
+    }
+
+    private Optional<BookingTicket> processNext(int partition) {
+        BookingTicket result = new TransactionTemplate(transactionManager).execute(tx -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?, ?)",
+                    Boolean.class, ADVISORY_LOCK_NAMESPACE, partition);
+            if (!Boolean.TRUE.equals(locked)) {
+                return null;
+            }
+            List<QueuedTicket> next = jdbcTemplate.query(NEXT_QUEUED, (rs, rowNum) ->
+                    new QueuedTicket(rs.getObject("ticket_id", UUID.class), rs.getString("request")), partition);
+            if (next.isEmpty()) {
+                return null;
+            }
+
+            QueuedTicket queued = next.get(0);
+            BookingTicket ticket = new BookingTicket();
+            ticket.setTicketId(queued.ticketId());
+            try {
+                BookingRequest request = objectMapper.readValue(queued.request(), BookingRequest.class);
+                ticket.setFlightRoutineId(request.getFlightRoutineId());
+                BookingResponse response = bookingService.createBooking(request);
+                String booking = objectMapper.writeValueAsString(response);
+                jdbcTemplate.update("UPDATE booking_tickets SET status = 'succeeded', booking_id = ?, " +
+                        "result = ?::jsonb, completed_at = NOW() WHERE ticket_id = ?",
+                        response.getBookingId(), booking, queued.ticketId());
+                ticket.setStatus(BookingTicket.STATUS_SUCCEEDED);
+                ticket.setBookingId(response.getBookingId());
+                ticket.setBooking(booking);
+            } catch (Exception e) {
+                // The booking transaction is rollback-only now; record the failure separately
+                tx.setRollbackOnly();
+                recordFailure(queued.ticketId(), e.getMessage());
+                ticket.setStatus(BookingTicket.STATUS_FAILED);
+                ticket.setErrorMessage(e.getMessage());
+            }
+            ticket.setCompletedAt(LocalDateTime.now());
+            return ticket;
+        });
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Marks the ticket failed in a new transaction, called while the caller's transaction still
+     * holds the partition's advisory lock.
+     */
+    private void recordFailure(UUID ticketId, String errorMessage) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        requiresNew.executeWithoutResult(tx -> jdbcTemplate.update(
+                "UPDATE booking_tickets SET status = 'failed', error_message = ?, completed_at = NOW() " +
+                "WHERE ticket_id = ? AND status = 'queued'", errorMessage, ticketId));
+        logger.debug("Booking ticket {} failed: {}", ticketId, errorMessage);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    record QueuedTicket(UUID ticketId, String request) {}
+} 
\ No newline at end of file
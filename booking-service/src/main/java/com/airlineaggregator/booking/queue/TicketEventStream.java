@@ -0,0 +1,109 @@
+package com.airlineaggregator.booking.queue;
+
+import com.airlineaggregator.booking.dto.BookingTicket;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Server-sent events for booking tickets: a subscriber gets the ticket's current state at once and
+ * a final event when it completes, after which the stream closes. Completions by this instance's
+ * workers are pushed immediately; tickets processed elsewhere are picked up by a periodic check.
+ */
+@Component
+public class TicketEventStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketEventStream.class);
+
+    private static final String EVENT_NAME = "ticket";
+
+    @Autowired
+    private AsyncBookingPipeline pipeline;
+
+    @Value("${booking.async.sse-timeout-ms:60000}")
+    private long timeoutMs = 60000;
+
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void register() {
+        pipeline.addCompletionListener(this::publish);
+    }
+
+    public SseEmitter subscribe(BookingTicket ticket) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        if (!send(emitter, ticket)) {
+            return emitter;
+        }
+        if (ticket.isCompleted()) {
+            emitter.complete();
+            return emitter;
+        }
+
+        UUID ticketId = ticket.getTicketId();
+        subscribers.computeIfAbsent(ticketId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> remove(ticketId, emitter));
+        emitter.onTimeout(() -> remove(ticketId, emitter));
+        emitter.onError(error -> remove(ticketId, emitter));
+        return emitter;
+    }
+
+    /**
+     * Sends the final state of a ticket to its subscribers and closes their streams.
+     */
+    public void publish(BookingTicket ticket) {
+        List<SseEmitter> emitters = subscribers.remove(ticket.getTicketId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            if (send(emitter, ticket)) {
+                emitter.complete();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.async.poll-interval-ms:1000}")
+    public void publishRemoteCompletions() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            for (BookingTicket ticket : pipeline.findCompleted(new ArrayList<>(subscribers.keySet()))) {
+                publish(ticket);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to check booking tickets for subscribers", e);
+        }
+    }
+
+    private boolean send(SseEmitter emitter, BookingTicket ticket) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(ticket));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void remove(UUID ticketId, SseEmitter emitter) {
+        subscribers.computeIfPresent(ticketId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+} 
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.airlineaggregator.booking.repository;
 
 import com.airlineaggregator.booking.entity.Booking;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,16 +19,15 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     Optional<Booking> findByBookingId(UUID bookingId);
 
-    List<Booking> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.bookingId = :bookingId")
+    Optional<Booking> findByBookingIdForUpdate(@Param("bookingId") UUID bookingId);
 
     List<Booking> findByStatusOrderByCreatedAtDesc(String status);
 
     @Query("SELECT b FROM Booking b WHERE b.status = 'pending' AND b.expiresAt < :currentTime")
     List<Booking> findExpiredPendingBookings(@Param("currentTime") LocalDateTime currentTime);
 
-    @Query("SELECT b FROM Booking b WHERE b.userId = :userId AND b.status = :status ORDER BY b.createdAt DESC")
-    List<Booking> findByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") String status);
-
     @Modifying
     @Query("UPDATE Booking b SET b.status = 'expired' WHERE b.status = 'pending' AND b.expiresAt < :currentTime")
     int expireOldBookings(@Param("currentTime") LocalDateTime currentTime);
@@ -17,21 +17,26 @@ public interface FlightRoutineRepository extends JpaRepository<FlightRoutine, UU
 
     Optional<FlightRoutine> findById(UUID id);
 
+    // Locks only the flight_routines row; flight and airline resolve from the second-level cache
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT fr FROM FlightRoutine fr JOIN FETCH fr.flight f JOIN FETCH f.airline WHERE fr.id = :id")
+    @Query("SELECT fr FROM FlightRoutine fr WHERE fr.id = :id")
     Optional<FlightRoutine> findByIdWithLock(@Param("id") UUID id);
 
-    @Query("SELECT fr FROM FlightRoutine fr JOIN FETCH fr.flight f JOIN FETCH f.airline WHERE fr.id = :id")
-    Optional<FlightRoutine> findByIdWithFlightAndAirline(@Param("id") UUID id);
-
     @Query("SELECT fr FROM FlightRoutine fr WHERE fr.id = :id AND fr.availableSeats >= :requiredSeats AND fr.status = 'scheduled'")
     Optional<FlightRoutine> findAvailableFlightRoutine(@Param("id") UUID id, @Param("requiredSeats") Integer requiredSeats);
 
+    // Seat changes stamp availability_updated_at, which the search service's change feed reads. Native so the
+    // stamp is clock_timestamp(), taken once the row lock is held, not the transaction start that may
+    // precede a long wait for that lock
     @Modifying
-    @Query("UPDATE FlightRoutine fr SET fr.availableSeats = fr.availableSeats - :seatsToBook WHERE fr.id = :id AND fr.availableSeats >= :seatsToBook")
+    @Query(value = "UPDATE flight_routines SET available_seats = available_seats - :seatsToBook, " +
+                   "availability_updated_at = clock_timestamp() WHERE id = :id AND available_seats >= :seatsToBook",
+           nativeQuery = true)
     int updateAvailableSeats(@Param("id") UUID id, @Param("seatsToBook") Integer seatsToBook);
 
     @Modifying
-    @Query("UPDATE FlightRoutine fr SET fr.availableSeats = fr.availableSeats + :seatsToRelease WHERE fr.id = :id")
+    @Query(value = "UPDATE flight_routines SET available_seats = available_seats + :seatsToRelease, " +
+                   "availability_updated_at = clock_timestamp() WHERE id = :id",
+           nativeQuery = true)
     int releaseSeats(@Param("id") UUID id, @Param("seatsToRelease") Integer seatsToRelease);
 } 
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.airlineaggregator.booking.schedule;
+
+import com.airlineaggregator.booking.pricing.PricingTiers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Recurring schedule of one flight: the departures it operates every operating day, with the
+ * seat count and base fare every generated routine starts from.
+ */
+public class FlightSchedule {
+
+    private final UUID flightId;
+    private final LocalTime[] departureTimes;
+    private final LocalTime[] arrivalTimes;
+    private final boolean[] operatingDays; // indexed by ISO day of week, 1 = Monday
+    private final int totalSeats;
+    private final BigDecimal basePrice;
+
+    public FlightSchedule(UUID flightId, LocalTime[] departureTimes, LocalTime[] arrivalTimes,
+                          boolean[] operatingDays, int totalSeats, BigDecimal basePrice) {
+        this.flightId = flightId;
+        this.departureTimes = departureTimes;
+        this.arrivalTimes = arrivalTimes;
+        this.operatingDays = operatingDays;
+        this.totalSeats = totalSeats;
+        this.basePrice = basePrice;
+    }
+
+    public boolean operatesOn(LocalDate date) {
+        return operatingDays[date.getDayOfWeek().getValue()];
+    }
+
+    /**
+     * Appends one tab-separated {@code COPY} row per departure on {@code travelDate} and returns
+     * the number of rows written. Columns match {@link ScheduleExpansionService#STAGING_COLUMNS}.
+     */
+    public int appendCopyRows(LocalDate travelDate, LocalDate today, StringBuilder out) {
+        if (!operatesOn(travelDate)) {
+            return 0;
+        }
+        for (int i = 0; i < departureTimes.length; i++) {
+            // New routines start empty; the dynamic pricing engine takes over once seats sell
+            BigDecimal price = PricingTiers.DEFAULT.price(
+                    basePrice, totalSeats, totalSeats, travelDate, departureTimes[i], today);
+            long economy = price.longValue();
+
+            out.append(flightId).append('\t')
+               .append(travelDate).append('\t')
+               .append(departureTimes[i]).append('\t')
+               .append(arrivalTimes[i]).append('\t')
+               .append(totalSeats).append('\t')
+               .append(totalSeats).append('\t')
+               .append(basePrice.toPlainString()).append('\t')
+               .append(price.toPlainString()).append('\t')
+               .append("{\"economy\": ").append(economy)
+               .append(", \"business\": ").append(Math.round(economy * 2.5))
+               .append(", \"first\": ").append(Math.round(economy * 4.2)).append('}')
+               .append('\n');
+        }
+        return departureTimes.length;
+    }
+
+    public UUID getFlightId() { return flightId; }
+    public int getDeparturesPerDay() { return departureTimes.length; }
+}
\ No newline at end of file
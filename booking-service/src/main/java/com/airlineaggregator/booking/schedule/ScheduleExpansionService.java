@@ -0,0 +1,374 @@
+package com.airlineaggregator.booking.schedule;
+
+import com.airlineaggregator.booking.dto.ScheduleExpansionResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Expands the recurring schedules of active flights into {@code flight_routines} for a date
+ * horizon.
+ *
+ * <p>A flight's departures come from its {@code route_segments} (first segment departure, last
+ * segment arrival); flights without segments keep the departure times of their currently
+ * published routines. Workers each stream their share of flights through {@code COPY} into a
+ * session-local staging table and move the rows with {@code INSERT ... ON CONFLICT DO NOTHING}
+ * on {@code UNIQUE(flight_id, travel_date, departure_time)}, so re-running an expansion only adds
+ * what is missing and never touches seats or prices of existing routines.
+ */
+@Service
+public class ScheduleExpansionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleExpansionService.class);
+
+    static final String STAGING_COLUMNS =
+            "flight_id, travel_date, departure_time, arrival_time, total_seats, available_seats, " +
+            "base_price, current_price, pricing_tiers";
+
+    private static final String CREATE_STAGING =
+            "CREATE TEMP TABLE IF NOT EXISTS routine_staging (" +
+            "flight_id UUID, travel_date DATE, departure_time TIME, arrival_time TIME, " +
+            "total_seats INTEGER, available_seats INTEGER, base_price DECIMAL(10,2), " +
+            "current_price DECIMAL(10,2), pricing_tiers JSONB) ON COMMIT DELETE ROWS";
+
+    // Change stamps are taken per row as the merge runs, the last statement before commit, so the
+    // fare change feed's settle lag only has to cover the merge itself
+    private static final String MERGE_STAGING =
+            "INSERT INTO flight_routines (" + STAGING_COLUMNS + ", currency, status, " +
+            "price_updated_at, availability_updated_at) " +
+            "SELECT " + STAGING_COLUMNS + ", 'INR', 'scheduled', clock_timestamp(), clock_timestamp() " +
+            "FROM routine_staging " +
+            "ON CONFLICT (flight_id, travel_date, departure_time) DO NOTHING";
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${schedule.expansion.workers:4}")
+    private int workers = 4;
+
+    @Value("${schedule.expansion.rows-per-transaction:50000}")
+    private int rowsPerTransaction = 50_000;
+
+    @Value("${schedule.expansion.max-days:400}")
+    private int maxDays = 400;
+
+    public ScheduleExpansionResult expand(LocalDate fromDate, int days) {
+        if (days < 1 || days > maxDays) {
+            throw new IllegalArgumentException("Schedule horizon must be between 1 and " + maxDays + " days");
+        }
+        long startTime = System.currentTimeMillis();
+        LocalDate start = fromDate != null ? fromDate : LocalDate.now();
+
+        List<FlightSchedule> schedules = loadSchedules();
+        int workerCount = Math.max(1, Math.min(workers, schedules.size()));
+        List<List<FlightSchedule>> shares = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            shares.add(new ArrayList<>());
+        }
+        for (int i = 0; i < schedules.size(); i++) {
+            shares.get(i % workerCount).add(schedules.get(i));
+        }
+
+        long generated = 0;
+        long inserted = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(workerCount);
+            for (List<FlightSchedule> share : shares) {
+                futures.add(executor.submit(() -> expandShare(share, start, days)));
+            }
+            for (Future<long[]> future : futures) {
+                long[] counts = future.get();
+                generated += counts[0];
+                inserted += counts[1];
+            }
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("Schedule expansion failed: " + cause.getMessage(), cause);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        logger.info("Expanded {} flight schedules over {} days from {}: {} routines generated, {} inserted in {} ms",
+                   schedules.size(), days, start, generated, inserted, elapsed);
+
+        return new ScheduleExpansionResult(start, start.plusDays(days - 1), schedules.size(),
+                generated, inserted, elapsed);
+    }
+
+    /**
+     * Streams one worker's flights for every date of the horizon through {@code COPY}, committing
+     * roughly every {@code rows-per-transaction} rows.
+     */
+    private long[] expandShare(List<FlightSchedule> share, LocalDate start, int days) throws SQLException {
+        long generated = 0;
+        long inserted = 0;
+        LocalDate today = LocalDate.now();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+            CopyIn copyIn = null;
+            int rowsInTransaction = 0;
+            try {
+                for (FlightSchedule schedule : share) {
+                    for (int day = 0; day < days; day++) {
+                        int rows = schedule.appendCopyRows(start.plusDays(day), today, buffer);
+                        if (rows == 0) {
+                            continue;
+                        }
+                        if (copyIn == null) {
+                            copyIn = pgConnection.getCopyAPI().copyIn(
+                                    "COPY routine_staging (" + STAGING_COLUMNS + ") FROM STDIN");
+                        }
+                        generated += rows;
+                        rowsInTransaction += rows;
+                        if (buffer.length() >= COPY_BUFFER_CHARS) {
+                            writeBuffer(copyIn, buffer);
+                        }
+                    }
+                    if (rowsInTransaction >= rowsPerTransaction) {
+                        inserted += commit(connection, copyIn, buffer);
+                        copyIn = null;
+                        rowsInTransaction = 0;
+                    }
+                }
+                if (copyIn != null) {
+                    inserted += commit(connection, copyIn, buffer);
+                    copyIn = null;
+                    rowsInTransaction = 0;
+                }
+            } finally {
+                if (copyIn != null && copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                if (copyIn != null || rowsInTransaction > 0) {
+                    connection.rollback();
+                }
+            }
+        }
+        return new long[]{generated, inserted};
+    }
+
+    private int commit(Connection connection, CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        writeBuffer(copyIn, buffer);
+        copyIn.endCopy();
+        int inserted;
+        try (Statement statement = connection.createStatement()) {
+            inserted = statement.executeUpdate(MERGE_STAGING);
+        }
+        connection.commit();
+        return inserted;
+    }
+
+    private static void writeBuffer(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    List<FlightSchedule> loadSchedules() {
+        Map<UUID, List<LocalTime[]>> departures = new LinkedHashMap<>();
+
+        // Multi-stop flights: first segment departs, last segment arrives
+        Map<UUID, LocalTime[]> segmentSpans = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT flight_id, departure_time, arrival_time FROM route_segments " +
+                "ORDER BY flight_id, segment_order",
+                rs -> {
+                    UUID flightId = rs.getObject("flight_id", UUID.class);
+                    LocalTime departure = rs.getTime("departure_time").toLocalTime();
+                    LocalTime arrival = rs.getTime("arrival_time").toLocalTime();
+                    LocalTime[] span = segmentSpans.get(flightId);
+                    if (span == null) {
+                        segmentSpans.put(flightId, new LocalTime[]{departure, arrival});
+                    } else {
+                        span[1] = arrival;
+                    }
+                });
+        segmentSpans.forEach((flightId, span) -> departures.computeIfAbsent(flightId, id -> new ArrayList<>()).add(span));
+
+        // Direct flights: the departure times currently published for the flight
+        jdbcTemplate.query(
+                "SELECT DISTINCT flight_id, departure_time, arrival_time FROM flight_routines " +
+                "WHERE travel_date >= CURRENT_DATE - 30 ORDER BY flight_id, departure_time",
+                rs -> {
+                    UUID flightId = rs.getObject("flight_id", UUID.class);
+                    if (!segmentSpans.containsKey(flightId)) {
+                        departures.computeIfAbsent(flightId, id -> new ArrayList<>()).add(new LocalTime[]{
+                                rs.getTime("departure_time").toLocalTime(),
+                                rs.getTime("arrival_time").toLocalTime()});
+                    }
+                });
+
+        List<FlightSchedule> schedules = new ArrayList<>();
+        int[] withoutSchedule = {0};
+        int[] malformedDays = {0};
+        jdbcTemplate.query(
+                "SELECT f.id, f.total_duration_minutes, f.metadata->>'aircraft_type' AS aircraft_type, " +
+                "f.metadata->'operating_days' AS operating_days, " +
+                "(SELECT fr.base_price FROM flight_routines fr WHERE fr.flight_id = f.id " +
+                " ORDER BY fr.travel_date DESC LIMIT 1) AS base_price " +
+                "FROM flights f WHERE f.is_active = true ORDER BY f.id",
+                rs -> {
+                    UUID flightId = rs.getObject("id", UUID.class);
+                    List<LocalTime[]> times = departures.get(flightId);
+                    if (times == null || times.isEmpty()) {
+                        withoutSchedule[0]++;
+                        return;
+                    }
+                    LocalTime[] departureTimes = new LocalTime[times.size()];
+                    LocalTime[] arrivalTimes = new LocalTime[times.size()];
+                    for (int i = 0; i < times.size(); i++) {
+                        departureTimes[i] = times.get(i)[0];
+                        arrivalTimes[i] = times.get(i)[1];
+                    }
+                    boolean[] operatingDays = parseOperatingDays(rs.getString("operating_days"));
+                    if (operatingDays == null) {
+                        logger.warn("Skipping flight {}: unreadable metadata.operating_days {}",
+                                flightId, rs.getString("operating_days"));
+                        malformedDays[0]++;
+                        return;
+                    }
+                    BigDecimal basePrice = rs.getBigDecimal("base_price");
+                    if (basePrice == null) {
+                        basePrice = defaultBasePrice(rs.getInt("total_duration_minutes"));
+                    }
+                    schedules.add(new FlightSchedule(flightId, departureTimes, arrivalTimes, operatingDays,
+                            seatsForAircraft(rs.getString("aircraft_type")), basePrice));
+                });
+
+        if (withoutSchedule[0] > 0) {
+            logger.warn("Skipped {} active flights with neither route segments nor published departures", withoutSchedule[0]);
+        }
+        if (malformedDays[0] > 0) {
+            logger.warn("Skipped {} active flights with unreadable operating days", malformedDays[0]);
+        }
+        return schedules;
+    }
+
+    /**
+     * Seat counts by aircraft type, matching {@code database/comprehensive_data.sql}.
+     */
+    static int seatsForAircraft(String aircraftType) {
+        if (aircraftType == null) {
+            return 180;
+        }
+        if (aircraftType.contains("A321")) {
+            return 220;
+        } else if (aircraftType.contains("A320neo")) {
+            return 186;
+        } else if (aircraftType.contains("A320")) {
+            return 180;
+        } else if (aircraftType.contains("737 MAX")) {
+            return 189;
+        } else if (aircraftType.contains("737-800")) {
+            return 162;
+        }
+        return 180;
+    }
+
+    /**
+     * Operating days from {@code metadata.operating_days}, a JSON array of ISO day numbers or day
+     * names, e.g. {@code [1, 3, 5]} or {@code ["Mon", "Wed", "Fri"]}, indexed by ISO day number.
+     * Flights without the field operate daily; returns null when the field cannot be read.
+     */
+    boolean[] parseOperatingDays(String json) {
+        if (json == null || json.isBlank()) {
+            return everyDay();
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (node.isNull()) {
+            return everyDay();
+        }
+        if (!node.isArray()) {
+            return null;
+        }
+        boolean[] days = new boolean[8];
+        for (JsonNode day : node) {
+            DayOfWeek dayOfWeek = toDayOfWeek(day);
+            if (dayOfWeek == null) {
+                return null;
+            }
+            days[dayOfWeek.getValue()] = true;
+        }
+        return node.isEmpty() ? everyDay() : days;
+    }
+
+    static boolean[] everyDay() {
+        boolean[] days = new boolean[8];
+        Arrays.fill(days, 1, 8, true);
+        return days;
+    }
+
+    private static DayOfWeek toDayOfWeek(JsonNode day) {
+        if (day.isInt()) {
+            int value = day.intValue();
+            return value >= 1 && value <= 7 ? DayOfWeek.of(value) : null;
+        }
+        if (day.isTextual() && day.textValue().length() >= 3) {
+            String name = day.textValue().trim().toUpperCase(Locale.ROOT);
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                if (dayOfWeek.name().startsWith(name)) {
+                    return dayOfWeek;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static BigDecimal defaultBasePrice(int durationMinutes) {
+        // Roughly in line with the seeded fares: a fixed component plus a per-minute component
+        return BigDecimal.valueOf(2000L + 15L * Math.max(durationMinutes, 60));
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.airlineaggregator.booking.service;
+
+import com.airlineaggregator.booking.dto.BookingHistoryPage;
+import com.airlineaggregator.booking.dto.BookingSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pages through a user's bookings newest first with a keyset cursor on
+ * {@code (created_at DESC, booking_id DESC)}. Each page is one range scan of
+ * {@code idx_bookings_user_history}, which carries the summary columns, plus primary-key lookups of
+ * the page's routines and flights; the cost of a page does not grow with how far back it is.
+ *
+ * <p>The cursor is the last row's {@code created_at} and {@code booking_id}, base64url-encoded.
+ * Clients pass it back unchanged; it stays valid while bookings are added or change status.
+ */
+@Service
+public class BookingHistoryService {
+
+    // Summary columns of bookings joined to their routine and flight; shared with BookingLookupService
+    static final String SELECT_SUMMARY =
+            "SELECT b.booking_id, b.status, b.pnr, b.flight_routine_id, b.total_amount, b.currency, " +
+            "b.expires_at, b.created_at, f.flight_number, fr.travel_date " +
+            "FROM bookings b JOIN flight_routines fr ON fr.id = b.flight_routine_id " +
+            "JOIN flights f ON f.id = fr.flight_id";
+
+    private static final String SELECT_HISTORY = SELECT_SUMMARY + " WHERE b.user_id = ?";
+
+    private static final String STATUS_FILTER = " AND b.status = ?";
+
+    private static final String AFTER_CURSOR = " AND (b.created_at, b.booking_id) < (?, ?)";
+
+    private static final String ORDER_AND_LIMIT = " ORDER BY b.created_at DESC, b.booking_id DESC LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${booking.history.default-page-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${booking.history.max-page-size:100}")
+    private int maxPageSize = 100;
+
+    /**
+     * Returns the page after {@code cursor} (the first page when it is null), optionally restricted to
+     * one status. Throws {@link IllegalArgumentException} for a cursor this service did not issue.
+     */
+    public BookingHistoryPage getHistory(UUID userId, String status, Integer limit, String cursor) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+
+        StringBuilder sql = new StringBuilder(SELECT_HISTORY);
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        if (status != null && !status.isBlank()) {
+            sql.append(STATUS_FILTER);
+            args.add(status);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = decodeCursor(cursor);
+            sql.append(AFTER_CURSOR);
+            args.add(position.createdAt());
+            args.add(position.bookingId());
+        }
+        sql.append(ORDER_AND_LIMIT);
+        // One row more than the page tells whether there is a next page
+        args.add(pageSize + 1);
+
+        List<BookingSummary> rows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapSummary(rs), args.toArray());
+        if (rows.size() <= pageSize) {
+            return new BookingHistoryPage(rows, null);
+        }
+        List<BookingSummary> page = new ArrayList<>(rows.subList(0, pageSize));
+        BookingSummary last = page.get(pageSize - 1);
+        return new BookingHistoryPage(page, encodeCursor(last.getCreatedAt(), last.getBookingId()));
+    }
+
+    static String encodeCursor(LocalDateTime createdAt, UUID bookingId) {
+        String position = createdAt + "|" + bookingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid history cursor");
+            }
+            return new Cursor(LocalDateTime.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid history cursor", e);
+        }
+    }
+
+    static BookingSummary mapSummary(ResultSet rs) throws SQLException {
+        BookingSummary summary = new BookingSummary();
+        summary.setBookingId(rs.getObject("booking_id", UUID.class));
+        summary.setStatus(rs.getString("status"));
+        summary.setBookingReference(rs.getString("pnr"));
+        summary.setFlightRoutineId(rs.getObject("flight_routine_id", UUID.class));
+        summary.setFlightNumber(rs.getString("flight_number"));
+        summary.setTravelDate(rs.getObject("travel_date", LocalDate.class));
+        summary.setTotalAmount(rs.getBigDecimal("total_amount"));
+        summary.setCurrency(rs.getString("currency"));
+        summary.setExpiresAt(rs.getObject("expires_at", LocalDateTime.class));
+        summary.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        return summary;
+    }
+
+    record Cursor(LocalDateTime createdAt, UUID bookingId) {}
+} 
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.airlineaggregator.booking.service;
+
+import com.airlineaggregator.booking.dto.BookingLookupResult;
+import com.airlineaggregator.booking.dto.BookingSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Resolves many bookings at once for partner reconciliation. All ids go to the database as one
+ * array parameter, so a lookup of a few thousand bookings is a single query with its routine and
+ * flight joined in, instead of one request and two queries per booking.
+ *
+ * <p>Results are read into compact {@link BookingSummary}s before anything is written to the
+ * client, so the connection is back in the pool while the response is still being sent to a slow
+ * caller. Lookups do not go through {@link BookingResponseCache}: they would evict the entries of
+ * clients polling a booking during payment.
+ */
+@Service
+public class BookingLookupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingLookupService.class);
+
+    private static final String SELECT_BY_IDS = BookingHistoryService.SELECT_SUMMARY + " WHERE b.booking_id = ANY(?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${booking.lookup.max-ids:5000}")
+    private int maxIds = 5000;
+
+    /**
+     * Looks up the given bookings; duplicate ids are resolved once. Throws
+     * {@link IllegalArgumentException} when more than {@code max-ids} distinct ids are requested.
+     */
+    public BookingLookupResult lookup(List<UUID> bookingIds) {
+        Set<UUID> requested = new LinkedHashSet<>(bookingIds);
+        requested.remove(null);
+        if (requested.size() > maxIds) {
+            throw new IllegalArgumentException("Too many booking ids: " + requested.size() + " requested, at most " + maxIds);
+        }
+        if (requested.isEmpty()) {
+            return new BookingLookupResult(List.of(), List.of());
+        }
+
+        List<BookingSummary> bookings = new ArrayList<>(requested.size());
+        jdbcTemplate.query(SELECT_BY_IDS, rs -> {
+            BookingSummary summary = BookingHistoryService.mapSummary(rs);
+            requested.remove(summary.getBookingId());
+            bookings.add(summary);
+        }, (Object) requested.toArray(new UUID[0]));
+
+        logger.debug("Bulk lookup resolved {} bookings, {} not found", bookings.size(), requested.size());
+        return new BookingLookupResult(bookings, new ArrayList<>(requested));
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.airlineaggregator.booking.service;
+
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.outbox.OutboxEvent;
+import com.airlineaggregator.booking.outbox.OutboxSubscriber;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of {@link BookingResponse}s for clients polling a booking while they pay.
+ *
+ * <p>Entries live for at most {@code ttl-ms} and the cache holds at most {@code max-entries}. A
+ * booking is evicted when this service changes its status (once the transaction commits) and when
+ * the outbox relay delivers a booking event for it, which covers confirmations written by the
+ * payment service. Eviction leaves a marker for one TTL so that a read which started before the
+ * change cannot put the old state back. The TTL bounds staleness for changes this instance never
+ * hears about, e.g. events relayed by another instance.
+ */
+@Component
+public class BookingResponseCache implements OutboxSubscriber {
+
+    @Value("${booking.response-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${booking.response-cache.ttl-ms:2000}")
+    private long ttlMs = 2000;
+
+    @Value("${booking.response-cache.max-entries:10000}")
+    private int maxEntries = 10_000;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Returns the cached response, or null when there is none or it is older than the TTL.
+     */
+    public BookingResponse get(UUID bookingId) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(bookingId);
+        if (entry == null || entry.response == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            entries.remove(bookingId, entry);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.response;
+    }
+
+    /**
+     * Caches a response read from the database. {@code readStartNanos} is taken before the read; the
+     * response is dropped if the booking was evicted after that point.
+     */
+    public void put(UUID bookingId, BookingResponse response, long readStartNanos) {
+        if (!enabled) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            purge();
+        }
+        entries.compute(bookingId, (id, existing) ->
+                existing != null && existing.response == null && existing.createdAtNanos - readStartNanos >= 0
+                        ? existing
+                        : new Entry(response, readStartNanos));
+    }
+
+    public void evict(UUID bookingId) {
+        if (!enabled) {
+            return;
+        }
+        entries.put(bookingId, new Entry(null, System.nanoTime()));
+        evictions.incrementAndGet();
+    }
+
+    /**
+     * Evicts the booking once the surrounding transaction commits; until then readers still see
+     * the committed old state, so caching it stays correct.
+     */
+    public void evictAfterCommit(UUID bookingId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(bookingId);
+                }
+            });
+        } else {
+            evict(bookingId);
+        }
+    }
+
+    @Override
+    public void onEvent(OutboxEvent event) {
+        if ("booking".equals(event.getAggregateType())) {
+            evict(event.getAggregateId());
+        }
+    }
+
+    public CacheSnapshot snapshot() {
+        CacheSnapshot snapshot = new CacheSnapshot();
+        snapshot.enabled = enabled;
+        snapshot.entries = entries.size();
+        snapshot.hits = hits.get();
+        snapshot.misses = misses.get();
+        snapshot.evictions = evictions.get();
+        return snapshot;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.createdAtNanos > TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    /**
+     * Drops expired entries and markers; if the cache is still full, starts over.
+     */
+    private void purge() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(entry -> isExpired(entry.getValue(), now));
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+    }
+
+    // A null response marks a recent eviction
+    private record Entry(BookingResponse response, long createdAtNanos) {}
+
+    public static class CacheSnapshot {
+        private boolean enabled;
+        private int entries;
+        private long hits;
+        private long misses;
+        private long evictions;
+
+        // Getters
+        public boolean isEnabled() { return enabled; }
+        public int getEntries() { return entries; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+
+        public double getHitRatio() {
+            return hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        }
+    }
+} 
\ No newline at end of file
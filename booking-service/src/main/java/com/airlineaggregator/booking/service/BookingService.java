@@ -4,6 +4,9 @@ import com.airlineaggregator.booking.dto.BookingRequest;
 import com.airlineaggregator.booking.dto.BookingResponse;
 import com.airlineaggregator.booking.entity.Booking;
 import com.airlineaggregator.booking.entity.FlightRoutine;
+import com.airlineaggregator.booking.metrics.LatencyMetrics;
+import com.airlineaggregator.booking.outbox.OutboxWriter;
+import com.airlineaggregator.booking.pricing.DynamicPricingEngine;
 import com.airlineaggregator.booking.repository.BookingRepository;
 import com.airlineaggregator.booking.repository.FlightRoutineRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -11,14 +14,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
@@ -28,6 +40,18 @@ public class BookingService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
 
+    // Anonymous bookings (null user_id), as in createBooking
+    private static final String INSERT_BOOKING =
+            "INSERT INTO bookings (booking_id, flight_routine_id, status, total_amount, currency, " +
+            "passenger_details, contact_info, expires_at) VALUES (?, ?, ?, ?, ?, ?::jsonb, ?::jsonb, ?)";
+
+    private static final String SELECT_BOOKING_RESPONSE =
+            "SELECT b.booking_id, b.status, b.pnr, b.expires_at, b.total_amount, b.currency, " +
+            "jsonb_array_length(b.passenger_details) AS seats, f.flight_number, " +
+            "fr.travel_date, fr.departure_time, fr.arrival_time " +
+            "FROM bookings b JOIN flight_routines fr ON fr.id = b.flight_routine_id " +
+            "JOIN flights f ON f.id = fr.flight_id WHERE b.booking_id = ?";
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -37,11 +61,29 @@ public class BookingService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private DynamicPricingEngine dynamicPricingEngine;
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingResponseCache bookingResponseCache;
+
+    @Value("${external.payment-service.public-url:http://localhost:8083}")
+    private String paymentServicePublicUrl = "http://localhost:8083";
+
     private final Random random = new Random();
 
     @Transactional(isolation = Isolation.READ_COMMITTED)
     public BookingResponse createBooking(BookingRequest request) {
-        logger.info("Creating booking for flight routine: {}, passengers: {}", 
+        logger.debug("Creating booking for flight routine: {}, passengers: {}", 
                    request.getFlightRoutineId(), request.getPassengers().size());
 
         try {
@@ -49,8 +91,10 @@ public class BookingService {
             UUID flightRoutineId = request.getFlightRoutineId();
 
             // Lock the flight routine row to prevent concurrent modifications and fetch flight/airline data
+            long lockStart = System.nanoTime();
             FlightRoutine flightRoutine = flightRoutineRepository.findByIdWithLock(flightRoutineId)
                     .orElseThrow(() -> new RuntimeException("Flight routine not found: " + flightRoutineId));
+            latencyMetrics.record(LatencyMetrics.Stage.LOCK_WAIT, lockStart);
 
             // Check availability after locking
             if (flightRoutine.getAvailableSeats() < requestedSeats) {
@@ -66,14 +110,17 @@ public class BookingService {
             }
 
             // Atomically update available seats
+            long decrementStart = System.nanoTime();
             int updatedRows = flightRoutineRepository.updateAvailableSeats(flightRoutineId, requestedSeats);
+            latencyMetrics.record(LatencyMetrics.Stage.SEAT_DECREMENT, decrementStart);
             if (updatedRows == 0) {
                 // This means the seat update failed due to insufficient seats or concurrent modification
                 logger.warn("Failed to reserve seats for flight routine: {}. Seats may have been booked by another user.", flightRoutineId);
                 throw new RuntimeException("Unable to reserve seats. Please try again or choose a different flight.");
             }
 
-            logger.info("Successfully reserved {} seats for flight routine: {}", requestedSeats, flightRoutineId);
+            logger.debug("Successfully reserved {} seats for flight routine: {}", requestedSeats, flightRoutineId);
+            dynamicPricingEngine.onSeatsChanged(flightRoutineId);
 
             // Calculate total amount
             BigDecimal totalAmount = calculateTotalAmount(flightRoutine, requestedSeats);
@@ -98,13 +145,20 @@ public class BookingService {
                     expiresAt
             );
 
-            // Save booking
-            booking = bookingRepository.save(booking);
+            // Save booking; flushed here so BOOKING_INSERT times the INSERT rather than an id assignment
+            long insertStart = System.nanoTime();
+            booking = bookingRepository.saveAndFlush(booking);
+            latencyMetrics.record(LatencyMetrics.Stage.BOOKING_INSERT, insertStart);
+            outboxWriter.append("booking", booking.getBookingId(), "booking.held", Map.of(
+                    "flightRoutineId", flightRoutineId,
+                    "seats", requestedSeats,
+                    "totalAmount", totalAmount,
+                    "expiresAt", expiresAt.toString()));
 
             // Create response
             BookingResponse response = createBookingResponse(booking, flightRoutine, requestedSeats);
 
-            logger.info("Booking created successfully: {} for flight routine: {}. Seats reserved: {}", 
+            logger.debug("Booking created successfully: {} for flight routine: {}. Seats reserved: {}", 
                        booking.getBookingId(), flightRoutine.getId(), requestedSeats);
 
             return response;
@@ -115,6 +169,104 @@ public class BookingService {
         }
     }
 
+    /**
+     * Books several requests for one flight routine together: the routine row is locked once, the
+     * requests are admitted in order while seats last, and the admitted ones share a single seat
+     * decrement and one batched insert. A request that does not fit fails on its own with the same
+     * message {@link #createBooking} would give; any exception fails the whole batch.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<BatchResult> createBookings(UUID flightRoutineId, List<? extends BookingRequest> requests) {
+        long lockStart = System.nanoTime();
+        Optional<FlightRoutine> lockedRoutine = flightRoutineRepository.findByIdWithLock(flightRoutineId);
+        latencyMetrics.record(LatencyMetrics.Stage.LOCK_WAIT, lockStart);
+        if (lockedRoutine.isEmpty()) {
+            return rejectAll(requests, "Flight routine not found: " + flightRoutineId);
+        }
+        FlightRoutine flightRoutine = lockedRoutine.get();
+        if (!"scheduled".equalsIgnoreCase(flightRoutine.getStatus())) {
+            return rejectAll(requests, "Flight is not available for booking. Status: " + flightRoutine.getStatus());
+        }
+
+        List<BatchResult> results = new ArrayList<>(requests.size());
+        List<Booking> admitted = new ArrayList<>(requests.size());
+        List<Integer> admittedSeats = new ArrayList<>(requests.size());
+        int availableSeats = flightRoutine.getAvailableSeats();
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(15);
+
+        for (BookingRequest request : requests) {
+            int requestedSeats = request.getPassengers().size();
+            if (requestedSeats > availableSeats) {
+                results.add(BatchResult.failed("Booking creation failed: Insufficient seats available. Requested: " +
+                        requestedSeats + ", Available: " + availableSeats));
+                continue;
+            }
+            Booking booking;
+            try {
+                booking = new Booking(null, flightRoutine, calculateTotalAmount(flightRoutine, requestedSeats),
+                        objectMapper.writeValueAsString(request.getPassengers()),
+                        objectMapper.writeValueAsString(request.getContactInfo()), expiresAt);
+            } catch (JsonProcessingException e) {
+                results.add(BatchResult.failed("Booking creation failed: " + e.getMessage()));
+                continue;
+            }
+            booking.setBookingId(UUID.randomUUID());
+            availableSeats -= requestedSeats;
+            admitted.add(booking);
+            admittedSeats.add(requestedSeats);
+            results.add(null);
+        }
+        if (admitted.isEmpty()) {
+            return results;
+        }
+
+        int seatsToBook = flightRoutine.getAvailableSeats() - availableSeats;
+        long decrementStart = System.nanoTime();
+        int updatedRows = flightRoutineRepository.updateAvailableSeats(flightRoutineId, seatsToBook);
+        latencyMetrics.record(LatencyMetrics.Stage.SEAT_DECREMENT, decrementStart);
+        if (updatedRows == 0) {
+            throw new RuntimeException("Unable to reserve seats. Please try again or choose a different flight.");
+        }
+        dynamicPricingEngine.onSeatsChanged(flightRoutineId);
+
+        List<Object[]> rows = new ArrayList<>(admitted.size());
+        Map<UUID, Map<String, Object>> events = new LinkedHashMap<>();
+        for (int i = 0; i < admitted.size(); i++) {
+            Booking booking = admitted.get(i);
+            rows.add(new Object[]{booking.getBookingId(), flightRoutineId, booking.getStatus(), booking.getTotalAmount(),
+                    booking.getCurrency(), booking.getPassengerDetails(), booking.getContactInfo(), booking.getExpiresAt()});
+            events.put(booking.getBookingId(), Map.of(
+                    "flightRoutineId", flightRoutineId,
+                    "seats", admittedSeats.get(i),
+                    "totalAmount", booking.getTotalAmount(),
+                    "expiresAt", expiresAt.toString()));
+        }
+        long insertStart = System.nanoTime();
+        jdbcTemplate.batchUpdate(INSERT_BOOKING, rows);
+        latencyMetrics.record(LatencyMetrics.Stage.BOOKING_INSERT, insertStart);
+        outboxWriter.appendAll("booking", "booking.held", events);
+
+        int next = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, BatchResult.succeeded(
+                        createBookingResponse(admitted.get(next), flightRoutine, admittedSeats.get(next))));
+                next++;
+            }
+        }
+        logger.debug("Booked {} of {} combined requests for flight routine: {}. Seats reserved: {}",
+                   admitted.size(), requests.size(), flightRoutineId, seatsToBook);
+        return results;
+    }
+
+    private List<BatchResult> rejectAll(List<? extends BookingRequest> requests, String reason) {
+        List<BatchResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(BatchResult.failed("Booking creation failed: " + reason));
+        }
+        return results;
+    }
+
     private BigDecimal calculateTotalAmount(FlightRoutine flightRoutine, int passengers) {
         BigDecimal baseAmount = flightRoutine.getCurrentPrice().multiply(BigDecimal.valueOf(passengers));
         
@@ -135,7 +287,7 @@ public class BookingService {
         response.setExpiryTime(booking.getExpiresAt());
         response.setSeatsHeld(seatsHeld);
         response.setBookingReference(generateBookingReference());
-        response.setPaymentUrl("http://localhost:8083/api/v1/payments");
+        response.setPaymentUrl(paymentServicePublicUrl + "/api/v1/payments");
 
         // Flight details - now using actual flight data
         String flightNumber = flightRoutine.getFlight().getFlightNumber();
@@ -178,81 +330,67 @@ public class BookingService {
         return bookingRepository.findByBookingId(bookingId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Reads a booking for display. Served from {@link BookingResponseCache} when possible, otherwise
+     * with one query that joins the routine and flight and counts passengers in the database.
+     * Deliberately not transactional, so a cache hit never takes a connection.
+     */
     public Optional<BookingResponse> getBookingResponse(UUID bookingId) {
+        BookingResponse cached = bookingResponseCache.get(bookingId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            // Get the booking with flight routine data
-            Optional<Booking> bookingOpt = bookingRepository.findByBookingId(bookingId);
-            if (bookingOpt.isEmpty()) {
-                return Optional.empty();
-            }
-            
-            Booking booking = bookingOpt.get();
-            
-            // Get flight routine with flight and airline data
-            Optional<FlightRoutine> flightRoutineOpt = flightRoutineRepository
-                    .findByIdWithFlightAndAirline(booking.getFlightRoutine().getId());
-            
-            if (flightRoutineOpt.isEmpty()) {
-                logger.warn("Flight routine not found for booking: {}", bookingId);
+            long readStart = System.nanoTime();
+            List<BookingResponse> responses = jdbcTemplate.query(SELECT_BOOKING_RESPONSE,
+                    (rs, rowNum) -> mapBookingResponse(rs), bookingId);
+            if (responses.isEmpty()) {
                 return Optional.empty();
             }
-            
-            FlightRoutine flightRoutine = flightRoutineOpt.get();
-            
-            // Count passengers from JSON
-            int passengerCount = countPassengersFromBooking(booking);
-            
-            // Create response with actual flight data
-            BookingResponse response = new BookingResponse();
-            response.setBookingId(booking.getBookingId());
-            response.setStatus(booking.getStatus());
-            response.setBookingReference(booking.getPnr());
-            response.setExpiryTime(booking.getExpiresAt());
-            response.setSeatsHeld(passengerCount);
-            
-            // Create flight details with actual data
-            String flightNumber = flightRoutine.getFlight().getFlightNumber();
-            String route = flightRoutine.getFlight().getRouteDisplay() != null ? 
-                          flightRoutine.getFlight().getRouteDisplay() :
-                          flightRoutine.getFlight().getSourceAirport() + " - " + flightRoutine.getFlight().getDestinationAirport();
-            String timeRange = flightRoutine.getDepartureTime() + " - " + flightRoutine.getArrivalTime();
-            
-            BookingResponse.FlightDetails flightDetails = new BookingResponse.FlightDetails(
-                    flightNumber,
-                    timeRange,
-                    flightRoutine.getDepartureTime(),
-                    flightRoutine.getTravelDate(),
-                    flightRoutine.getArrivalTime()
-            );
-            response.setFlightDetails(flightDetails);
-            
-            // Create pricing details
-            BigDecimal totalAmount = booking.getTotalAmount();
-            String currency = booking.getCurrency();
-            
-            // Calculate breakdown (same logic as in creation)
-            BigDecimal baseFare = totalAmount.divide(BigDecimal.valueOf(1.15), 2, RoundingMode.HALF_UP);
-            BigDecimal taxes = baseFare.multiply(BigDecimal.valueOf(0.12)).setScale(2, RoundingMode.HALF_UP);
-            BigDecimal fees = baseFare.multiply(BigDecimal.valueOf(0.03)).setScale(2, RoundingMode.HALF_UP);
-            
-            BookingResponse.PriceBreakdown breakdown = new BookingResponse.PriceBreakdown(baseFare, taxes, fees);
-            BookingResponse.PricingDetails pricing = new BookingResponse.PricingDetails(
-                    totalAmount,
-                    currency,
-                    breakdown
-            );
-            response.setPricing(pricing);
-            response.setPaymentUrl("http://localhost:8083/api/v1/payments");
-            
+            BookingResponse response = responses.get(0);
+            bookingResponseCache.put(bookingId, response, readStart);
             return Optional.of(response);
-            
+
         } catch (Exception e) {
             logger.error("Error getting booking response for: {}", bookingId, e);
             return Optional.empty();
         }
     }
 
+    private BookingResponse mapBookingResponse(ResultSet rs) throws SQLException {
+        BookingResponse response = new BookingResponse();
+        response.setBookingId(rs.getObject("booking_id", UUID.class));
+        response.setStatus(rs.getString("status"));
+        response.setBookingReference(rs.getString("pnr"));
+        response.setExpiryTime(rs.getObject("expires_at", LocalDateTime.class));
+        response.setSeatsHeld(rs.getInt("seats"));
+
+        LocalTime departureTime = rs.getObject("departure_time", LocalTime.class);
+        LocalTime arrivalTime = rs.getObject("arrival_time", LocalTime.class);
+        String timeRange = departureTime + " - " + arrivalTime;
+        response.setFlightDetails(new BookingResponse.FlightDetails(
+                rs.getString("flight_number"),
+                timeRange,
+                departureTime,
+                rs.getObject("travel_date", LocalDate.class),
+                arrivalTime
+        ));
+
+        // Calculate breakdown (same logic as in creation)
+        BigDecimal totalAmount = rs.getBigDecimal("total_amount");
+        BigDecimal baseFare = totalAmount.divide(BigDecimal.valueOf(1.15), 2, RoundingMode.HALF_UP);
+        BigDecimal taxes = baseFare.multiply(BigDecimal.valueOf(0.12)).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal fees = baseFare.multiply(BigDecimal.valueOf(0.03)).setScale(2, RoundingMode.HALF_UP);
+        response.setPricing(new BookingResponse.PricingDetails(
+                totalAmount,
+                rs.getString("currency"),
+                new BookingResponse.PriceBreakdown(baseFare, taxes, fees)
+        ));
+        response.setPaymentUrl(paymentServicePublicUrl + "/api/v1/payments");
+        return response;
+    }
+
     @Transactional
     public void expireOldBookings() {
         LocalDateTime now = LocalDateTime.now();
@@ -273,8 +411,13 @@ public class BookingService {
                     if (releasedRows > 0) {
                         logger.info("Released {} seats for expired booking: {}", 
                                    seatsToRelease, booking.getBookingId());
+                        dynamicPricingEngine.onSeatsChanged(booking.getFlightRoutine().getId());
                     }
                 }
+                bookingResponseCache.evictAfterCommit(booking.getBookingId());
+                outboxWriter.append("booking", booking.getBookingId(), "booking.expired", Map.of(
+                        "flightRoutineId", booking.getFlightRoutine().getId(),
+                        "seatsReleased", seatsToRelease));
             } catch (Exception e) {
                 logger.error("Failed to release seats for expired booking: {}", 
                            booking.getBookingId(), e);
@@ -299,17 +442,7 @@ public class BookingService {
                 
                 // Only release seats for bookings that are pending or confirmed
                 if ("pending".equals(booking.getStatus()) || "confirmed".equals(booking.getStatus())) {
-                    int seatsToRelease = countPassengersFromBooking(booking);
-                    if (seatsToRelease > 0) {
-                        int releasedRows = flightRoutineRepository.releaseSeats(
-                                booking.getFlightRoutine().getId(), 
-                                seatsToRelease
-                        );
-                        if (releasedRows > 0) {
-                            logger.info("Released {} seats for booking: {} due to: {}", 
-                                       seatsToRelease, bookingId, reason);
-                        }
-                    }
+                    releaseSeats(booking, reason);
                 }
             }
         } catch (Exception e) {
@@ -317,6 +450,51 @@ public class BookingService {
         }
     }
 
+    /**
+     * Returns the booking's seats to its routine. Unlike {@link #releaseSeatsForBooking}, failures
+     * propagate so the caller's transaction rolls back with them.
+     */
+    private void releaseSeats(Booking booking, String reason) {
+        int seatsToRelease = countPassengersFromBooking(booking);
+        if (seatsToRelease == 0) {
+            return;
+        }
+        UUID flightRoutineId = booking.getFlightRoutine().getId();
+        if (flightRoutineRepository.releaseSeats(flightRoutineId, seatsToRelease) == 0) {
+            throw new IllegalStateException("Flight routine " + flightRoutineId + " not found while releasing seats");
+        }
+        logger.info("Released {} seats for booking: {} due to: {}", seatsToRelease, booking.getBookingId(), reason);
+        dynamicPricingEngine.onSeatsChanged(flightRoutineId);
+        outboxWriter.append("booking", booking.getBookingId(), "booking.seats_released", Map.of(
+                "flightRoutineId", flightRoutineId,
+                "seatsReleased", seatsToRelease,
+                "reason", String.valueOf(reason)));
+    }
+
+    /**
+     * Compensates a checkout whose payment did not go through: releases the seats and cancels the
+     * booking as one transaction, so a failed release leaves the booking pending. The booking row is
+     * locked first and only a still-pending booking is touched, so a payment that confirms
+     * concurrently either wins (and this returns false) or finds the booking cancelled.
+     */
+    @Transactional
+    public boolean cancelUnpaidBooking(UUID bookingId, String reason) {
+        Optional<Booking> bookingOpt = bookingRepository.findByBookingIdForUpdate(bookingId);
+        if (bookingOpt.isEmpty()) {
+            return false;
+        }
+        if (!bookingOpt.get().isPending()) {
+            // Changed elsewhere, e.g. confirmed by the payment service; don't serve the pending copy
+            bookingResponseCache.evict(bookingId);
+            return false;
+        }
+        releaseSeats(bookingOpt.get(), reason);
+        bookingOpt.get().setStatus("cancelled");
+        bookingResponseCache.evictAfterCommit(bookingId);
+        outboxWriter.append("booking", bookingId, "booking.cancelled", Map.of("reason", String.valueOf(reason)));
+        return true;
+    }
+
     private int countPassengersFromBooking(Booking booking) {
         try {
             if (booking.getPassengerDetails() != null) {
@@ -329,4 +507,29 @@ public class BookingService {
         }
         return 0;
     }
+
+    /**
+     * Outcome of one request in {@link #createBookings}: the booking, or the reason it was refused.
+     */
+    public static class BatchResult {
+        private final BookingResponse response;
+        private final String errorMessage;
+
+        private BatchResult(BookingResponse response, String errorMessage) {
+            this.response = response;
+            this.errorMessage = errorMessage;
+        }
+
+        public static BatchResult succeeded(BookingResponse response) {
+            return new BatchResult(response, null);
+        }
+
+        public static BatchResult failed(String errorMessage) {
+            return new BatchResult(null, errorMessage);
+        }
+
+        public boolean isSucceeded() { return response != null; }
+        public BookingResponse getResponse() { return response; }
+        public String getErrorMessage() { return errorMessage; }
+    }
 } 
\ No newline at end of file
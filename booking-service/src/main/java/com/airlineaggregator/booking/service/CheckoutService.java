@@ -0,0 +1,108 @@
+package com.airlineaggregator.booking.service;
+
+import com.airlineaggregator.booking.client.PaymentClient;
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.dto.CheckoutRequest;
+import com.airlineaggregator.booking.dto.CheckoutResponse;
+import com.airlineaggregator.booking.dto.PaymentResponse;
+import com.airlineaggregator.booking.mailbox.RoutineMailboxExecutor;
+import com.airlineaggregator.booking.tracing.Span;
+import com.airlineaggregator.booking.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * One-call checkout: creates the booking and charges it through the payment service, returning
+ * the PNR. The booking transaction commits before payment is called, since the payment service
+ * reads the booking from the shared database. When the charge is declined or cannot be completed
+ * the booking is cancelled and its seats released.
+ *
+ * <p>A charge that succeeds after the booking stopped being pending (its hold expired, or the
+ * cancel below won the booking row after a payment timeout) is not refunded here: the payment
+ * service writes {@code payment.refund_required} in the same transaction as that payment, since
+ * only it knows whether the charge went through.
+ */
+@Service
+public class CheckoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutService.class);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoutineMailboxExecutor routineMailboxExecutor;
+
+    @Autowired
+    private PaymentClient paymentClient;
+
+    @Autowired
+    private Tracer tracer;
+
+    public CheckoutResponse checkout(CheckoutRequest request) {
+        BookingResponse booking = routineMailboxExecutor.createBooking(request);
+        UUID bookingId = booking.getBookingId();
+
+        CheckoutResponse response = new CheckoutResponse();
+        response.setBooking(booking);
+
+        PaymentResponse payment;
+        try (Span span = tracer.startSpan("PaymentClient.charge")) {
+            span.setAttribute("booking.id", bookingId);
+            try {
+                payment = paymentClient.charge(bookingId, request.getPaymentMethod(), span.traceparent()).block();
+            } catch (RuntimeException e) {
+                span.recordError(e);
+                logger.warn("Payment call failed for booking {}: {}", bookingId, e.getMessage());
+                return compensate(response, CheckoutResponse.STATUS_PAYMENT_UNAVAILABLE,
+                        "Payment could not be completed: " + e.getMessage());
+            }
+        }
+        response.setPayment(payment);
+
+        if (payment == null || !"success".equals(payment.getStatus())) {
+            return compensate(response, CheckoutResponse.STATUS_PAYMENT_DECLINED,
+                    payment != null && payment.getMessage() != null ? payment.getMessage() : "Payment declined");
+        }
+        if (payment.getBookingUpdate() == null || payment.getBookingUpdate().getPnr() == null) {
+            // Charged but not confirmed, e.g. the hold expired while the payment was processing; the
+            // payment service has recorded payment.refund_required for it
+            return compensate(response, CheckoutResponse.STATUS_PAYMENT_UNAVAILABLE,
+                    "Payment was taken but the booking could not be confirmed; it will be refunded");
+        }
+
+        return confirmed(response, payment.getBookingUpdate().getPnr(), payment.getBookingUpdate().getConfirmationMessage());
+    }
+
+    private CheckoutResponse compensate(CheckoutResponse response, String status, String reason) {
+        UUID bookingId = response.getBooking().getBookingId();
+        if (bookingService.cancelUnpaidBooking(bookingId, reason)) {
+            response.getBooking().setStatus("cancelled");
+        } else {
+            // No longer pending: the payment service may have confirmed it after our timeout
+            Optional<BookingResponse> current = bookingService.getBookingResponse(bookingId);
+            if (current.isPresent() && "confirmed".equals(current.get().getStatus())) {
+                response.setBooking(current.get());
+                return confirmed(response, current.get().getBookingReference(), null);
+            }
+            current.ifPresent(response::setBooking);
+        }
+        response.setStatus(status);
+        response.setMessage(reason);
+        return response;
+    }
+
+    private CheckoutResponse confirmed(CheckoutResponse response, String pnr, String message) {
+        response.getBooking().setStatus("confirmed");
+        response.getBooking().setBookingReference(pnr);
+        response.setStatus(CheckoutResponse.STATUS_CONFIRMED);
+        response.setPnr(pnr);
+        response.setMessage(message != null ? message : "Your booking has been confirmed successfully. PNR: " + pnr);
+        return response;
+    }
+} 
\ No newline at end of file
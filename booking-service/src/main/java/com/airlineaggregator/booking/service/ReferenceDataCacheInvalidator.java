@@ -0,0 +1,98 @@
+package com.airlineaggregator.booking.service;
+
+import com.airlineaggregator.booking.entity.Airline;
+import com.airlineaggregator.booking.entity.Flight;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Evicts second-level cache entries for flights and airlines whose {@code updated_at} moved past
+ * the last seen watermark, so edits made outside this JVM (admin tools, data scripts, other
+ * services) are picked up without waiting for the region TTL. The {@code set_updated_at} trigger
+ * bumps {@code updated_at} on every UPDATE of those tables, whoever the writer is.
+ *
+ * <p>Changes are read as a keyset on {@code (updated_at, id)}, so each change is seen once even
+ * when many rows share a timestamp (seed data, COPY loads). The trigger stamps rows before their
+ * transaction commits, so polls stop {@code settle-ms} short of the database clock; a change whose
+ * transaction commits later than that after stamping is only picked up by the region TTL.
+ */
+@Component
+public class ReferenceDataCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCacheInvalidator.class);
+
+    // Sorts before every id, so a plain timestamp watermark includes all rows changed after it
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${cache.reference-data.settle-ms:5000}")
+    private long settleMs = 5000;
+
+    @Value("${cache.reference-data.batch-size:1000}")
+    private int batchSize = 1000;
+
+    private Watermark flightsWatermark;
+    private Watermark airlinesWatermark;
+
+    @Scheduled(fixedDelayString = "${cache.reference-data.poll-interval-ms:30000}")
+    public void evictChangedReferenceData() {
+        try {
+            flightsWatermark = evictChanged("flights", Flight.class, flightsWatermark);
+            airlinesWatermark = evictChanged("airlines", Airline.class, airlinesWatermark);
+        } catch (Exception e) {
+            logger.warn("Failed to check reference data for cache invalidation", e);
+        }
+    }
+
+    private Watermark evictChanged(String table, Class<?> entityClass, Watermark watermark) {
+        Cache cache = entityManagerFactory.getCache();
+
+        if (watermark == null) {
+            // First run: anything cached before the watermark existed may be stale
+            cache.evict(entityClass);
+            LocalDateTime settled = jdbcTemplate.queryForObject(
+                    "SELECT LOCALTIMESTAMP - ? * INTERVAL '1 millisecond'", LocalDateTime.class, settleMs);
+            return new Watermark(settled, LOWEST_ID);
+        }
+
+        String sql = "SELECT id, updated_at FROM " + table + " WHERE (updated_at, id) > (?, ?) " +
+                "AND updated_at <= LOCALTIMESTAMP - ? * INTERVAL '1 millisecond' " +
+                "ORDER BY updated_at, id LIMIT ?";
+        int evicted = 0;
+        List<Map<String, Object>> changed;
+        do {
+            changed = jdbcTemplate.queryForList(sql, watermark.updatedAt(), watermark.id(), settleMs, batchSize);
+            for (Map<String, Object> row : changed) {
+                UUID id = (UUID) row.get("id");
+                cache.evict(entityClass, id);
+                watermark = new Watermark(((Timestamp) row.get("updated_at")).toLocalDateTime(), id);
+            }
+            evicted += changed.size();
+        } while (changed.size() == batchSize);
+
+        if (evicted > 0) {
+            logger.info("Evicted {} changed {} from the second-level cache", evicted, table);
+        }
+        return watermark;
+    }
+
+    private record Watermark(LocalDateTime updatedAt, UUID id) {}
+} 
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.airlineaggregator.booking.benchmark;
+
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reports encoded size and serialization cost of a booking response for each
+ * negotiable format. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SerializationFormatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    @Test
+    void bookingResponse_SerializationCostPerFormat() throws Exception {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("application/json", json);
+        formats.put("application/cbor", json.copyWith(new CBORFactory()));
+        formats.put("application/x-jackson-smile", json.copyWith(new SmileFactory()));
+
+        BookingResponse response = createBookingResponse();
+
+        System.out.printf("%-30s %10s %12s%n", "format", "bytes", "ns/response");
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            ObjectMapper mapper = format.getValue();
+            int size = 0;
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                size = mapper.writeValueAsBytes(response).length;
+            }
+
+            long start = System.nanoTime();
+            long sink = 0;
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                sink += mapper.writeValueAsBytes(response).length;
+            }
+            long nsPerResponse = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+            assertTrue(sink > 0);
+            System.out.printf("%-30s %10d %12d%n", format.getKey(), size, nsPerResponse);
+        }
+    }
+
+    private BookingResponse createBookingResponse() {
+        BookingResponse response = new BookingResponse();
+        response.setBookingId(UUID.randomUUID());
+        response.setStatus("pending");
+        response.setExpiryTime(LocalDateTime.of(2025, 7, 26, 10, 15));
+        response.setSeatsHeld(2);
+        response.setBookingReference("BK1753500000123");
+        response.setPaymentUrl("http://localhost:8083/api/v1/payments");
+        response.setFlightDetails(new BookingResponse.FlightDetails(
+                "6E-112", "14:30 - 17:30", LocalTime.of(14, 30), LocalDate.of(2025, 7, 26), LocalTime.of(17, 30)));
+        response.setPricing(new BookingResponse.PricingDetails(
+                BigDecimal.valueOf(16396.88), "INR",
+                new BookingResponse.PriceBreakdown(BigDecimal.valueOf(14258.16), BigDecimal.valueOf(1710.98),
+                        BigDecimal.valueOf(427.74))));
+        return response;
+    }
+}
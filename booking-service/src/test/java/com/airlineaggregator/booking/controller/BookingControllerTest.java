@@ -1,26 +1,50 @@
 package com.airlineaggregator.booking.controller;
 
+import com.airlineaggregator.booking.config.BinaryFormatConfig;
+import com.airlineaggregator.booking.dto.BookingLookupRequest;
+import com.airlineaggregator.booking.dto.BookingLookupResult;
 import com.airlineaggregator.booking.dto.BookingRequest;
 import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.dto.BookingTicket;
+import com.airlineaggregator.booking.dto.CheckoutRequest;
+import com.airlineaggregator.booking.dto.CheckoutResponse;
+import com.airlineaggregator.booking.dto.PaymentRequest;
 import com.airlineaggregator.booking.entity.Booking;
+import com.airlineaggregator.booking.limit.AdaptiveConcurrencyLimiter;
+import com.airlineaggregator.booking.limit.ConcurrencyLimitInterceptor;
+import com.airlineaggregator.booking.limit.ConcurrencyLimited;
+import com.airlineaggregator.booking.limit.ConcurrencyLimiterRegistry;
+import com.airlineaggregator.booking.mailbox.RoutineMailboxExecutor;
+import com.airlineaggregator.booking.metrics.LatencyMetrics;
+import com.airlineaggregator.booking.queue.AsyncBookingPipeline;
+import com.airlineaggregator.booking.service.BookingHistoryService;
+import com.airlineaggregator.booking.service.BookingLookupService;
 import com.airlineaggregator.booking.service.BookingService;
+import com.airlineaggregator.booking.service.CheckoutService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,15 +56,41 @@ class BookingControllerTest {
     @Mock
     private BookingService bookingService;
 
+    @Mock
+    private CheckoutService checkoutService;
+
+    @Mock
+    private BookingHistoryService bookingHistoryService;
+
+    @Mock
+    private BookingLookupService bookingLookupService;
+
+    @Mock
+    private RoutineMailboxExecutor routineMailboxExecutor;
+
+    @Mock
+    private AsyncBookingPipeline asyncBookingPipeline;
+
+    @Spy
+    private LatencyMetrics latencyMetrics = new LatencyMetrics();
+
+    @Spy
+    private ConcurrencyLimiterRegistry concurrencyLimiterRegistry = new ConcurrencyLimiterRegistry();
+
     @InjectMocks
     private BookingController bookingController;
 
+    @InjectMocks
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(bookingController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(bookingController)
+                .addInterceptors(concurrencyLimitInterceptor)
+                .build();
         objectMapper = new ObjectMapper();
     }
 
@@ -50,7 +100,7 @@ class BookingControllerTest {
         BookingRequest request = createValidBookingRequest();
         BookingResponse mockResponse = createMockBookingResponse();
         
-        when(bookingService.createBooking(any(BookingRequest.class)))
+        when(routineMailboxExecutor.createBooking(any(BookingRequest.class)))
                 .thenReturn(mockResponse);
 
         // When & Then
@@ -61,7 +111,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.bookingId").exists())
                 .andExpect(jsonPath("$.status").value("CONFIRMED"));
 
-        verify(bookingService).createBooking(any(BookingRequest.class));
+        verify(routineMailboxExecutor).createBooking(any(BookingRequest.class));
     }
 
     @Test
@@ -69,7 +119,7 @@ class BookingControllerTest {
         // Given
         BookingRequest request = createValidBookingRequest();
         
-        when(bookingService.createBooking(any(BookingRequest.class)))
+        when(routineMailboxExecutor.createBooking(any(BookingRequest.class)))
                 .thenThrow(new RuntimeException("Insufficient seats available. Requested: 2, Available: 1"));
 
         // When & Then
@@ -80,7 +130,62 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("INSUFFICIENT_SEATS"))
                 .andExpect(jsonPath("$.message").value("Insufficient seats available. Requested: 2, Available: 1"));
 
-        verify(bookingService).createBooking(any(BookingRequest.class));
+        verify(routineMailboxExecutor).createBooking(any(BookingRequest.class));
+    }
+
+    @Test
+    void createBookingAsync_ValidRequest_ReturnsAcceptedWithTicket() throws Exception {
+        // Given
+        BookingTicket ticket = new BookingTicket();
+        ticket.setTicketId(UUID.randomUUID());
+        ticket.setStatus(BookingTicket.STATUS_QUEUED);
+        when(asyncBookingPipeline.isEnabled()).thenReturn(true);
+        when(asyncBookingPipeline.enqueue(any(BookingRequest.class))).thenReturn(ticket);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/bookings/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidBookingRequest())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/bookings/tickets/" + ticket.getTicketId()))
+                .andExpect(jsonPath("$.status").value("queued"));
+
+        verify(routineMailboxExecutor, never()).createBooking(any(BookingRequest.class));
+    }
+
+    @Test
+    void checkout_PaymentDeclined_ReturnsPaymentRequired() throws Exception {
+        // Given
+        CheckoutResponse declined = new CheckoutResponse();
+        declined.setStatus(CheckoutResponse.STATUS_PAYMENT_DECLINED);
+        declined.setMessage("Payment failed - Insufficient funds");
+        declined.setBooking(createMockBookingResponse());
+        when(checkoutService.checkout(any(CheckoutRequest.class))).thenReturn(declined);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/bookings/checkout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidCheckoutRequest())))
+                .andExpect(status().isPaymentRequired())
+                .andExpect(jsonPath("$.status").value("payment_declined"))
+                .andExpect(jsonPath("$.pnr").doesNotExist());
+    }
+
+    @Test
+    void checkout_Confirmed_ReturnsPnr() throws Exception {
+        // Given
+        CheckoutResponse confirmed = new CheckoutResponse();
+        confirmed.setStatus(CheckoutResponse.STATUS_CONFIRMED);
+        confirmed.setPnr("AB12CD");
+        confirmed.setBooking(createMockBookingResponse());
+        when(checkoutService.checkout(any(CheckoutRequest.class))).thenReturn(confirmed);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/bookings/checkout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidCheckoutRequest())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pnr").value("AB12CD"));
     }
 
     @Test
@@ -88,7 +193,7 @@ class BookingControllerTest {
         // Given
         BookingRequest request = createValidBookingRequest();
         
-        when(bookingService.createBooking(any(BookingRequest.class)))
+        when(routineMailboxExecutor.createBooking(any(BookingRequest.class)))
                 .thenThrow(new RuntimeException("Booking creation failed: Flight routine not found: " + request.getFlightRoutineId()));
 
         // When & Then
@@ -99,7 +204,7 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("FLIGHT_ROUTINE_NOT_FOUND"))
                 .andExpect(jsonPath("$.message").value("The specified flight routine does not exist. Please search for available flights and use a valid flight routine ID."));
 
-        verify(bookingService).createBooking(any(BookingRequest.class));
+        verify(routineMailboxExecutor).createBooking(any(BookingRequest.class));
     }
 
     @Test
@@ -107,7 +212,7 @@ class BookingControllerTest {
         // Given
         BookingRequest request = createValidBookingRequest();
         
-        when(bookingService.createBooking(any(BookingRequest.class)))
+        when(routineMailboxExecutor.createBooking(any(BookingRequest.class)))
                 .thenThrow(new IllegalStateException("Database connection failed"));
 
         // When & Then
@@ -117,7 +222,7 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errorCode").value("BOOKING_ERROR"));
 
-        verify(bookingService).createBooking(any(BookingRequest.class));
+        verify(routineMailboxExecutor).createBooking(any(BookingRequest.class));
     }
 
     @Test
@@ -128,7 +233,7 @@ class BookingControllerTest {
                 .content("invalid json"))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingService, never()).createBooking(any());
+        verify(routineMailboxExecutor, never()).createBooking(any());
     }
 
     @Test
@@ -177,6 +282,37 @@ class BookingControllerTest {
         verify(bookingService).getBookingResponse(bookingId);
     }
 
+    @Test
+    void getBooking_CborAcceptHeader_ReturnsCborEncodedResponse() throws Exception {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        BookingResponse mockResponse = createMockBookingResponse();
+        mockResponse.setBookingId(bookingId);
+
+        ObjectMapper applicationMapper = new ObjectMapper().findAndRegisterModules();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter(applicationMapper));
+        new BinaryFormatConfig(applicationMapper).extendMessageConverters(converters);
+        MockMvc binaryMockMvc = MockMvcBuilders.standaloneSetup(bookingController)
+                .setMessageConverters(converters.toArray(new HttpMessageConverter<?>[0]))
+                .build();
+
+        when(bookingService.getBookingResponse(bookingId))
+                .thenReturn(Optional.of(mockResponse));
+
+        // When
+        byte[] body = binaryMockMvc.perform(get("/api/v1/bookings/{bookingId}", bookingId)
+                .accept(BinaryFormatConfig.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(BinaryFormatConfig.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        BookingResponse decoded = applicationMapper.copyWith(new CBORFactory()).readValue(body, BookingResponse.class);
+        assertEquals(bookingId, decoded.getBookingId());
+        assertEquals("CONFIRMED", decoded.getStatus());
+    }
+
     @Test
     void healthCheck_ReturnsOk() throws Exception {
         // When & Then
@@ -194,6 +330,21 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.version").value("1.0.0"));
     }
 
+    @Test
+    void getLatencyMetrics_ReturnsBookingStages() throws Exception {
+        // Given
+        latencyMetrics.record(LatencyMetrics.Stage.LOCK_WAIT, System.nanoTime() - 2_000_000);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bookings/metrics/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stages.length()").value(3))
+                .andExpect(jsonPath("$.stages[0].stage").value("lock_wait"))
+                .andExpect(jsonPath("$.stages[0].count").value(1))
+                .andExpect(jsonPath("$.stages[1].stage").value("seat_decrement"))
+                .andExpect(jsonPath("$.stages[2].stage").value("booking_insert"));
+    }
+
     private BookingRequest createValidBookingRequest() {
         BookingRequest request = new BookingRequest();
         request.setFlightRoutineId(UUID.randomUUID());
@@ -224,6 +375,21 @@ class BookingControllerTest {
         return request;
     }
 
+    private CheckoutRequest createValidCheckoutRequest() {
+        BookingRequest booking = createValidBookingRequest();
+        CheckoutRequest request = new CheckoutRequest();
+        request.setFlightRoutineId(booking.getFlightRoutineId());
+        request.setPassengers(booking.getPassengers());
+        request.setContactInfo(booking.getContactInfo());
+
+        PaymentRequest.PaymentMethod paymentMethod = new PaymentRequest.PaymentMethod();
+        paymentMethod.setType("upi");
+        paymentMethod.setUpiId("john@upi");
+        request.setPaymentMethod(paymentMethod);
+
+        return request;
+    }
+
     private BookingResponse createMockBookingResponse() {
         BookingResponse response = new BookingResponse();
         response.setBookingId(UUID.randomUUID());
@@ -243,4 +409,88 @@ class BookingControllerTest {
         booking.setCreatedAt(LocalDateTime.now());
         return booking;
     }
+
+    @Test
+    void createBooking_ConcurrencyLimitReached_ShedsWithRetryAfter() throws Exception {
+        // Given
+        saturate(concurrencyLimiterRegistry.limiter("createBooking", ConcurrencyLimited.Priority.CRITICAL));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidBookingRequest())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        verify(routineMailboxExecutor, never()).createBooking(any(BookingRequest.class));
+    }
+
+    @Test
+    void getBooking_CriticalEndpointSaturated_ShedsLookupsFirst() throws Exception {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        saturate(concurrencyLimiterRegistry.limiter("createBooking", ConcurrencyLimited.Priority.CRITICAL));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bookings/{bookingId}", bookingId))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+
+        verify(bookingService, never()).getBookingResponse(bookingId);
+    }
+
+    @Test
+    void getBookingHistory_InvalidCursor_ReturnsBadRequest() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(bookingHistoryService.getHistory(userId, null, null, "bogus"))
+                .thenThrow(new IllegalArgumentException("Invalid history cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bookings/history")
+                .param("userId", userId.toString())
+                .param("cursor", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_CURSOR"));
+    }
+
+    @Test
+    void lookupBookings_ValidRequest_ReturnsFoundAndMissing() throws Exception {
+        // Given
+        UUID missing = UUID.randomUUID();
+        BookingLookupRequest request = new BookingLookupRequest(List.of(missing));
+        when(bookingLookupService.lookup(List.of(missing))).thenReturn(new BookingLookupResult(List.of(), List.of(missing)));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/bookings/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings").isEmpty())
+                .andExpect(jsonPath("$.notFound[0]").value(missing.toString()));
+    }
+
+    @Test
+    void getConcurrencyLimits_AfterBooking_ReportsAdmittedRequest() throws Exception {
+        // Given
+        when(routineMailboxExecutor.createBooking(any(BookingRequest.class))).thenReturn(createMockBookingResponse());
+        mockMvc.perform(post("/api/v1/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidBookingRequest())))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bookings/metrics/concurrency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("createBooking"))
+                .andExpect(jsonPath("$[0].priority").value("critical"))
+                .andExpect(jsonPath("$[0].accepted").value(1))
+                .andExpect(jsonPath("$[0].inFlight").value(0));
+    }
+
+    private void saturate(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // hold every slot
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,197 @@
+package com.airlineaggregator.booking.mailbox;
+
+import com.airlineaggregator.booking.dto.BookingRequest;
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoutineMailboxExecutorTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @InjectMocks
+    private RoutineMailboxExecutor mailboxExecutor;
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    private UUID routineId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(mailboxExecutor, "workers", 1);
+        routineId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstBatch.countDown();
+        mailboxExecutor.stop();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void createBooking_RequestsArriveWhileRoutineBusy_CombinedIntoOneBatch() throws Exception {
+        // Given
+        mailboxExecutor.start();
+        when(bookingService.createBookings(eq(routineId), anyList())).thenAnswer(firstBatchBlocks());
+
+        // When
+        CompletableFuture<BookingResponse> first = book(request());
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<BookingResponse>> waiting = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiting.add(book(request()));
+        }
+        awaitCondition(() -> mailboxExecutor.snapshot().getMailboxRequests() == 4);
+        releaseFirstBatch.countDown();
+
+        // Then
+        assertNotNull(first.get(5, TimeUnit.SECONDS).getBookingId());
+        for (CompletableFuture<BookingResponse> booking : waiting) {
+            assertNotNull(booking.get(5, TimeUnit.SECONDS).getBookingId());
+        }
+        assertEquals(List.of(1, 3), batchSizes);
+        RoutineMailboxExecutor.MailboxSnapshot snapshot = mailboxExecutor.snapshot();
+        assertEquals(2, snapshot.getBatches());
+        assertEquals(3, snapshot.getLargestBatch());
+        verify(bookingService, never()).createBooking(any(BookingRequest.class));
+    }
+
+    @Test
+    void createBooking_MailboxFull_BooksDirectlyOnCallerThread() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(mailboxExecutor, "maxPending", 1);
+        mailboxExecutor.start();
+        when(bookingService.createBookings(eq(routineId), anyList())).thenAnswer(firstBatchBlocks());
+        BookingRequest overflow = request();
+        when(bookingService.createBooking(overflow)).thenReturn(response());
+
+        // When
+        CompletableFuture<BookingResponse> first = book(request());
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<BookingResponse> queued = book(request());
+        awaitCondition(() -> mailboxExecutor.snapshot().getMailboxRequests() == 2);
+        BookingResponse direct = mailboxExecutor.createBooking(overflow);
+        releaseFirstBatch.countDown();
+
+        // Then
+        assertNotNull(direct.getBookingId());
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, mailboxExecutor.snapshot().getSaturatedFallbacks());
+        verify(bookingService).createBooking(overflow);
+    }
+
+    @Test
+    void createBooking_RefusedInBatch_ThrowsWithBookingMessage() {
+        // Given
+        mailboxExecutor.start();
+        when(bookingService.createBookings(eq(routineId), anyList())).thenReturn(List.of(
+                BookingService.BatchResult.failed("Booking creation failed: Insufficient seats available. Requested: 2, Available: 1")));
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> mailboxExecutor.createBooking(request()));
+
+        // Then
+        assertEquals("Booking creation failed: Insufficient seats available. Requested: 2, Available: 1", exception.getMessage());
+    }
+
+    @Test
+    void createBooking_BatchFails_RetriesOnLockPath() {
+        // Given
+        mailboxExecutor.start();
+        BookingRequest request = request();
+        when(bookingService.createBookings(eq(routineId), anyList())).thenThrow(new RuntimeException("connection reset"));
+        when(bookingService.createBooking(request)).thenReturn(response());
+
+        // When
+        BookingResponse booking = mailboxExecutor.createBooking(request);
+
+        // Then
+        assertNotNull(booking.getBookingId());
+        assertEquals(1, mailboxExecutor.snapshot().getFailedBatchFallbacks());
+    }
+
+    @Test
+    void createBooking_Disabled_UsesLockPath() {
+        // Given
+        BookingRequest request = request();
+        when(bookingService.createBooking(request)).thenReturn(response());
+
+        // When
+        BookingResponse booking = mailboxExecutor.createBooking(request);
+
+        // Then
+        assertNotNull(booking.getBookingId());
+        verify(bookingService, never()).createBookings(any(), anyList());
+    }
+
+    /**
+     * Books every request of a batch, holding the first batch until {@link #releaseFirstBatch} opens.
+     */
+    private Answer<List<BookingService.BatchResult>> firstBatchBlocks() {
+        return invocation -> {
+            List<?> requests = invocation.getArgument(1);
+            batchSizes.add(requests.size());
+            if (batchSizes.size() == 1) {
+                firstBatchStarted.countDown();
+                releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            }
+            List<BookingService.BatchResult> results = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                results.add(BookingService.BatchResult.succeeded(response()));
+            }
+            return results;
+        };
+    }
+
+    private CompletableFuture<BookingResponse> book(BookingRequest request) {
+        return CompletableFuture.supplyAsync(() -> mailboxExecutor.createBooking(request), callers);
+    }
+
+    private BookingRequest request() {
+        BookingRequest request = new BookingRequest();
+        request.setFlightRoutineId(routineId);
+        return request;
+    }
+
+    private BookingResponse response() {
+        BookingResponse response = new BookingResponse();
+        response.setBookingId(UUID.randomUUID());
+        return response;
+    }
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(5);
+        }
+    }
+} 
\ No newline at end of file
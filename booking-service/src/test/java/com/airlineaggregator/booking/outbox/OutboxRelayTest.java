@@ -0,0 +1,103 @@
+package com.airlineaggregator.booking.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OutboxSink sink;
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    private final List<OutboxEvent> received = new ArrayList<>();
+    private TransactionStatus transaction;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "subscribers", List.<OutboxSubscriber>of(received::add));
+        transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+    }
+
+    @Test
+    void relayPending_FullBatches_DrainsUntilShortBatch() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2)))
+                .thenReturn(List.of(event(1), event(2)), List.of(event(3)));
+
+        // When
+        int relayed = outboxRelay.relayPending();
+
+        // Then
+        assertEquals(3, relayed);
+        assertEquals(List.of(1L, 2L, 3L), received.stream().map(OutboxEvent::getId).toList());
+        verify(sink, times(2)).publish(anyList());
+        verify(jdbcTemplate, times(2)).update(startsWith("UPDATE outbox_events SET published_at"), any(Object[].class));
+        verify(transactionManager, times(2)).commit(transaction);
+    }
+
+    @Test
+    void relayPending_SinkFails_RollsBackWithoutNotifyingSubscribers() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2))).thenReturn(List.of(event(1)));
+        doThrow(new RuntimeException("broker unavailable")).when(sink).publish(anyList());
+
+        // When
+        int relayed = outboxRelay.relayPending();
+
+        // Then
+        assertEquals(0, relayed);
+        assertTrue(received.isEmpty());
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE outbox_events"), any(Object[].class));
+        verify(transactionManager).rollback(transaction);
+    }
+
+    @Test
+    void relayPending_SubscriberFails_StillMarksPublished() {
+        // Given
+        ReflectionTestUtils.setField(outboxRelay, "subscribers", List.<OutboxSubscriber>of(
+                event -> { throw new IllegalStateException("boom"); }, received::add));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2))).thenReturn(List.of(event(1)));
+
+        // When
+        int relayed = outboxRelay.relayPending();
+
+        // Then
+        assertEquals(1, relayed);
+        assertEquals(1, received.size());
+        verify(transactionManager).commit(transaction);
+    }
+
+    private OutboxEvent event(long id) {
+        return new OutboxEvent(id, "booking", UUID.randomUUID(), "booking.held", "{\"seats\":1}", LocalDateTime.now());
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,125 @@
+package com.airlineaggregator.booking.pricing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkRepricingJobTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    @InjectMocks
+    private BulkRepricingJob bulkRepricingJob;
+
+    @Test
+    void runPartitions_AllPartitionsSucceed_ProcessesEachPartitionOnce() {
+        // Given
+        List<BulkRepricingJob.Partition> partitions = createPartitions(37);
+        Set<Integer> processed = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            BulkRepricingJob.Partition partition = invocation.getArgument(0);
+            assertTrue(processed.add(partition.partitionNo()));
+            return true;
+        }).when(bulkRepricingJob).processPartition(any(), any());
+
+        // When
+        int completed = bulkRepricingJob.runPartitions(partitions, new BigDecimal("1.05"));
+
+        // Then
+        assertEquals(37, completed);
+        assertEquals(37, processed.size());
+    }
+
+    @Test
+    void runPartitions_OnePartitionFails_OthersStillComplete() {
+        // Given
+        List<BulkRepricingJob.Partition> partitions = createPartitions(10);
+        doAnswer(invocation -> {
+            BulkRepricingJob.Partition partition = invocation.getArgument(0);
+            return partition.partitionNo() != 4;
+        }).when(bulkRepricingJob).processPartition(any(), any());
+
+        // When
+        int completed = bulkRepricingJob.runPartitions(partitions, BigDecimal.ONE);
+
+        // Then
+        assertEquals(9, completed);
+        verify(bulkRepricingJob, times(10)).processPartition(any(), any());
+    }
+
+    @Test
+    void runPartitions_NoPendingPartitions_ReturnsZero() {
+        // When
+        int completed = bulkRepricingJob.runPartitions(new ArrayList<>(), BigDecimal.ONE);
+
+        // Then
+        assertEquals(0, completed);
+        verify(bulkRepricingJob, never()).processPartition(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repriceBatch_PartitionCompletedByAnotherInstance_RepricesNothing() {
+        // Given
+        BulkRepricingJob.Partition partition = createPartitions(1).get(0);
+        when(jdbcTemplate.queryForObject(eq(BulkRepricingJob.SELECT_CHECKPOINT), any(RowMapper.class), eq("reprice-test"), eq(0)))
+                .thenReturn(new BulkRepricingJob.BatchResult(UUID.randomUUID(), true));
+
+        // When
+        BulkRepricingJob.BatchResult result = bulkRepricingJob.repriceBatch(partition, new BigDecimal("1.05"));
+
+        // Then
+        assertTrue(result.completed());
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void repriceBatch_ContinuesFromStoredCheckpoint() {
+        // Given
+        BulkRepricingJob.Partition partition = createPartitions(1).get(0);
+        UUID storedCheckpoint = UUID.randomUUID();
+        when(jdbcTemplate.queryForObject(eq(BulkRepricingJob.SELECT_CHECKPOINT), any(RowMapper.class), eq("reprice-test"), eq(0)))
+                .thenReturn(new BulkRepricingJob.BatchResult(storedCheckpoint, false));
+
+        // When
+        BulkRepricingJob.BatchResult result = bulkRepricingJob.repriceBatch(partition, new BigDecimal("1.05"));
+
+        // Then
+        verify(jdbcTemplate).query(contains("AND id > ?"), any(RowCallbackHandler.class),
+                eq(partition.travelDate()), eq(partition.flightIdFrom()), eq(storedCheckpoint));
+        assertTrue(result.completed());
+        assertEquals(storedCheckpoint, result.lastRoutineId());
+    }
+
+    private List<BulkRepricingJob.Partition> createPartitions(int count) {
+        List<BulkRepricingJob.Partition> partitions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            partitions.add(new BulkRepricingJob.Partition("reprice-test", i,
+                    LocalDate.of(2025, 8, 1).plusDays(i / 4), UUID.randomUUID(), null));
+        }
+        return partitions;
+    }
+} 
\ No newline at end of file
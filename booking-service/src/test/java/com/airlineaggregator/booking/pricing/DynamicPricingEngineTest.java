@@ -0,0 +1,114 @@
+package com.airlineaggregator.booking.pricing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DynamicPricingEngineTest {
+
+    // Midweek travel dates and an off-peak departure keep the schedule multipliers at 1.0
+    private static final LocalDate TODAY = LocalDate.of(2025, 7, 1);
+    private static final LocalTime OFF_PEAK = LocalTime.of(13, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private DynamicPricingEngine dynamicPricingEngine;
+
+    @Test
+    void price_DefaultTiers_AppliesLoadFactorAndAdvanceMultipliers() {
+        // Given
+        PricingTiers tiers = PricingTiers.parse("{\"economy\": 5000, \"business\": 12500, \"first\": 21000}", objectMapper);
+        BigDecimal basePrice = BigDecimal.valueOf(5000);
+        LocalDate inEightDays = LocalDate.of(2025, 7, 9); // advance multiplier 1.00
+
+        // When
+        BigDecimal emptyFlight = tiers.price(basePrice, 180, 180, inEightDays, OFF_PEAK, TODAY);
+        BigDecimal nearlyFull = tiers.price(basePrice, 180, 5, inEightDays, OFF_PEAK, TODAY);
+        BigDecimal lastMinute = tiers.price(basePrice, 180, 180, TODAY.plusDays(1), OFF_PEAK, TODAY);
+
+        // Then
+        assertEquals(new BigDecimal("4500.00"), emptyFlight);  // 0.90 load factor
+        assertEquals(new BigDecimal("8000.00"), nearlyFull);   // 1.60 load factor
+        assertEquals(new BigDecimal("6300.00"), lastMinute);   // 0.90 load factor x 1.40 advance
+    }
+
+    @Test
+    void price_CustomTiers_OverrideDefaultTables() {
+        // Given
+        String json = "{\"economy\": 5000, " +
+                "\"load_factor\": {\"bounds\": [0.5], \"multipliers\": [1.0, 2.0]}, " +
+                "\"advance\": {\"days\": [30], \"multipliers\": [1.0, 0.5]}}";
+        PricingTiers tiers = PricingTiers.parse(json, objectMapper);
+        LocalDate inEightDays = LocalDate.of(2025, 7, 9);
+
+        // When
+        BigDecimal price = tiers.price(BigDecimal.valueOf(5000), 100, 40, inEightDays, OFF_PEAK, TODAY);
+
+        // Then
+        assertEquals(new BigDecimal("10000.00"), price);
+    }
+
+    @Test
+    void parse_MismatchedTable_ThrowsIllegalArgumentException() {
+        // Given
+        String json = "{\"load_factor\": {\"bounds\": [0.5, 0.8], \"multipliers\": [1.0, 2.0]}}";
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> PricingTiers.parse(json, objectMapper));
+    }
+
+    @Test
+    void tiersFor_SameJson_ParsesOnce() throws Exception {
+        // Given
+        UUID routineId = UUID.randomUUID();
+        String json = "{\"economy\": 5000}";
+
+        // When
+        PricingTiers first = dynamicPricingEngine.tiersFor(routineId, json);
+        PricingTiers second = dynamicPricingEngine.tiersFor(routineId, json);
+
+        // Then
+        assertSame(first, second);
+        verify(objectMapper, times(1)).readTree(json);
+    }
+
+    @Test
+    void onSeatsChanged_BurstOnSameRoutine_CoalescesIntoOneFlush() {
+        // Given
+        UUID routineId = UUID.randomUUID();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            dynamicPricingEngine.onSeatsChanged(routineId);
+        }
+        dynamicPricingEngine.onSeatsChanged(UUID.randomUUID());
+
+        // Then
+        assertEquals(2, dynamicPricingEngine.pendingCount());
+        dynamicPricingEngine.flushPendingPrices();
+        assertEquals(0, dynamicPricingEngine.pendingCount());
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.airlineaggregator.booking.queue;
+
+import com.airlineaggregator.booking.dto.BookingRequest;
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.dto.BookingTicket;
+import com.airlineaggregator.booking.service.BookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncBookingPipelineTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private AsyncBookingPipeline pipeline;
+
+    private final List<BookingTicket> completed = new ArrayList<>();
+    private TransactionStatus transaction;
+    private UUID routineId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pipeline, "running", true);
+        pipeline.addCompletionListener(completed::add);
+        transaction = new SimpleTransactionStatus();
+        routineId = UUID.randomUUID();
+    }
+
+    @Test
+    void partitionFor_SameRoutine_AlwaysSamePartition() {
+        // When
+        int first = pipeline.partitionFor(routineId);
+        int second = pipeline.partitionFor(UUID.fromString(routineId.toString()));
+
+        // Then
+        assertEquals(first, second);
+        assertTrue(first >= 0 && first < 32);
+    }
+
+    @Test
+    void drainPartition_QueuedTickets_BooksInOrderAndMarksSucceeded() throws Exception {
+        // Given
+        lockAcquired(true);
+        UUID firstTicket = UUID.randomUUID();
+        UUID secondTicket = UUID.randomUUID();
+        queued(List.of(ticket(firstTicket)), List.of(ticket(secondTicket)), List.of());
+        BookingResponse response = new BookingResponse();
+        response.setBookingId(UUID.randomUUID());
+        when(bookingService.createBooking(any(BookingRequest.class))).thenReturn(response);
+
+        // When
+        pipeline.drainPartition(3);
+
+        // Then
+        assertEquals(List.of(firstTicket, secondTicket), completed.stream().map(BookingTicket::getTicketId).toList());
+        assertEquals(BookingTicket.STATUS_SUCCEEDED, completed.get(0).getStatus());
+        verify(jdbcTemplate, times(2)).update(startsWith("UPDATE booking_tickets SET status = 'succeeded'"),
+                eq(response.getBookingId()), anyString(), any(UUID.class));
+        assertFalse(transaction.isRollbackOnly());
+    }
+
+    @Test
+    void drainPartition_BookingFails_RollsBackAndRecordsFailure() throws Exception {
+        // Given
+        lockAcquired(true);
+        UUID ticketId = UUID.randomUUID();
+        queued(List.of(ticket(ticketId)), List.of());
+        when(bookingService.createBooking(any(BookingRequest.class)))
+                .thenThrow(new RuntimeException("Booking creation failed: Insufficient seats available"));
+
+        // When
+        pipeline.drainPartition(3);
+
+        // Then
+        assertEquals(1, completed.size());
+        assertEquals(BookingTicket.STATUS_FAILED, completed.get(0).getStatus());
+        assertTrue(transaction.isRollbackOnly());
+        // Recorded in its own transaction before the locked one ends
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(
+                argThat(definition -> definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        inOrder.verify(jdbcTemplate).update(startsWith("UPDATE booking_tickets SET status = 'failed'"),
+                eq("Booking creation failed: Insufficient seats available"), eq(ticketId));
+        inOrder.verify(transactionManager, times(2)).commit(transaction);
+    }
+
+    @Test
+    void drainPartition_HeldByAnotherInstance_ProcessesNothing() {
+        // Given
+        lockAcquired(false);
+
+        // When
+        pipeline.drainPartition(3);
+
+        // Then
+        assertTrue(completed.isEmpty());
+        verifyNoInteractions(bookingService);
+    }
+
+    private void lockAcquired(boolean acquired) {
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT pg_try_advisory_xact_lock"), eq(Boolean.class), anyInt(), eq(3)))
+                .thenReturn(acquired);
+    }
+
+    @SafeVarargs
+    private void queued(List<AsyncBookingPipeline.QueuedTicket> first, List<AsyncBookingPipeline.QueuedTicket>... rest) {
+        when(jdbcTemplate.query(startsWith("SELECT ticket_id, request::text"), any(RowMapper.class), eq(3)))
+                .thenReturn(first, rest);
+    }
+
+    private AsyncBookingPipeline.QueuedTicket ticket(UUID ticketId) throws Exception {
+        BookingRequest request = new BookingRequest();
+        request.setFlightRoutineId(routineId);
+        return new AsyncBookingPipeline.QueuedTicket(ticketId, objectMapper.writeValueAsString(request));
+    }
+} 
\ No newline at end of file
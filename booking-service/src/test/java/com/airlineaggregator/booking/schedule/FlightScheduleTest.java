@@ -0,0 +1,110 @@
+package com.airlineaggregator.booking.schedule;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightScheduleTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 7, 1);
+
+    @Test
+    void appendCopyRows_DailyFlight_WritesOneRowPerDeparture() {
+        // Given
+        UUID flightId = UUID.randomUUID();
+        FlightSchedule schedule = new FlightSchedule(flightId,
+                new LocalTime[]{LocalTime.of(13, 0), LocalTime.of(23, 30)},
+                new LocalTime[]{LocalTime.of(15, 15), LocalTime.of(1, 45)},
+                ScheduleExpansionService.everyDay(), 186, BigDecimal.valueOf(5000));
+        StringBuilder out = new StringBuilder();
+
+        // When
+        int rows = schedule.appendCopyRows(LocalDate.of(2025, 8, 13), TODAY, out);
+
+        // Then
+        assertEquals(2, rows);
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+
+        String[] columns = lines[0].split("\t");
+        assertEquals(ScheduleExpansionService.STAGING_COLUMNS.split(",").length, columns.length);
+        assertEquals(flightId.toString(), columns[0]);
+        assertEquals("2025-08-13", columns[1]);
+        assertEquals("13:00", columns[2]);
+        assertEquals("186", columns[4]);
+        assertEquals("186", columns[5]);
+        assertEquals("4050.00", columns[7]); // empty flight booked a month+ ahead: 0.90 x 0.90
+        assertEquals("{\"economy\": 4050, \"business\": 10125, \"first\": 17010}", columns[8]);
+    }
+
+    @Test
+    void appendCopyRows_NonOperatingDay_WritesNothing() {
+        // Given
+        FlightSchedule schedule = new FlightSchedule(UUID.randomUUID(),
+                new LocalTime[]{LocalTime.of(9, 0)}, new LocalTime[]{LocalTime.of(11, 0)},
+                expansionService().parseOperatingDays("[1, 3, 5]"), 180, BigDecimal.valueOf(4000));
+        StringBuilder out = new StringBuilder();
+
+        // When
+        int tuesday = schedule.appendCopyRows(LocalDate.of(2025, 8, 12), TODAY, out);
+        int wednesday = schedule.appendCopyRows(LocalDate.of(2025, 8, 13), TODAY, out);
+
+        // Then
+        assertEquals(0, tuesday);
+        assertEquals(1, wednesday);
+    }
+
+    @Test
+    void seatsForAircraft_KnownTypes_MatchSeedData() {
+        assertEquals(220, ScheduleExpansionService.seatsForAircraft("Airbus A321"));
+        assertEquals(186, ScheduleExpansionService.seatsForAircraft("Airbus A320neo"));
+        assertEquals(189, ScheduleExpansionService.seatsForAircraft("Boeing 737 MAX"));
+        assertEquals(162, ScheduleExpansionService.seatsForAircraft("Boeing 737-800"));
+        assertEquals(180, ScheduleExpansionService.seatsForAircraft(null));
+    }
+
+    @Test
+    void parseOperatingDays_DayNames_MatchDayNumbers() {
+        // When
+        boolean[] days = expansionService().parseOperatingDays("[\"Mon\", \"wednesday\", \"FRI\"]");
+
+        // Then
+        assertArrayEquals(expansionService().parseOperatingDays("[1, 3, 5]"), days);
+    }
+
+    @Test
+    void parseOperatingDays_MalformedValue_ReturnsNull() {
+        // Given
+        ScheduleExpansionService service = expansionService();
+
+        // Then
+        assertNull(service.parseOperatingDays("[\"Someday\"]"));
+        assertNull(service.parseOperatingDays("[0, 8]"));
+        assertNull(service.parseOperatingDays("\"daily\""));
+        assertNull(service.parseOperatingDays("[1, 3"));
+        assertArrayEquals(ScheduleExpansionService.everyDay(), service.parseOperatingDays("[]"));
+    }
+
+    @Test
+    void expand_HorizonOutOfRange_ThrowsIllegalArgument() {
+        // Given
+        ScheduleExpansionService service = expansionService();
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> service.expand(TODAY, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.expand(TODAY, 401));
+    }
+
+    private static ScheduleExpansionService expansionService() {
+        ScheduleExpansionService service = new ScheduleExpansionService();
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+        return service;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.airlineaggregator.booking.service;
+
+import com.airlineaggregator.booking.dto.BookingHistoryPage;
+import com.airlineaggregator.booking.dto.BookingSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingHistoryServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BookingHistoryService bookingHistoryService;
+
+    @Test
+    void getHistory_MoreRowsThanPage_ReturnsCursorOfLastRow() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<BookingSummary> rows = summaries(3);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(rows);
+
+        // When
+        BookingHistoryPage page = bookingHistoryService.getHistory(userId, null, 2, null);
+
+        // Then
+        assertEquals(2, page.getBookings().size());
+        BookingHistoryService.Cursor cursor = BookingHistoryService.decodeCursor(page.getNextCursor());
+        assertEquals(rows.get(1).getCreatedAt(), cursor.createdAt());
+        assertEquals(rows.get(1).getBookingId(), cursor.bookingId());
+    }
+
+    @Test
+    void getHistory_LastPage_HasNoCursor() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(summaries(2));
+
+        // When
+        BookingHistoryPage page = bookingHistoryService.getHistory(UUID.randomUUID(), null, 2, null);
+
+        // Then
+        assertEquals(2, page.getBookings().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getHistory_WithCursorAndStatus_SeeksPastCursorPosition() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2025, 7, 25, 18, 5, 5, 114_000_000);
+        UUID bookingId = UUID.randomUUID();
+        String cursor = BookingHistoryService.encodeCursor(createdAt, bookingId);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        // When
+        bookingHistoryService.getHistory(userId, "confirmed", 500, cursor);
+
+        // Then
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), args.capture());
+        assertTrue(sql.getValue().contains("(b.created_at, b.booking_id) < (?, ?)"));
+        assertArrayEquals(new Object[]{userId, "confirmed", createdAt, bookingId, 101}, args.getValue());
+    }
+
+    @Test
+    void decodeCursor_NotIssuedByService_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> BookingHistoryService.decodeCursor("bogus"));
+        assertThrows(IllegalArgumentException.class, () -> BookingHistoryService.decodeCursor("not base64!"));
+    }
+
+    private List<BookingSummary> summaries(int count) {
+        List<BookingSummary> summaries = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            BookingSummary summary = new BookingSummary();
+            summary.setBookingId(UUID.randomUUID());
+            summary.setStatus("confirmed");
+            summary.setCreatedAt(createdAt.minusMinutes(i));
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.airlineaggregator.booking.service;
+
+import com.airlineaggregator.booking.dto.BookingLookupResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingLookupServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BookingLookupService bookingLookupService;
+
+    @Test
+    void lookup_SomeIdsUnknown_ResolvesInOneQueryAndReportsMissing() throws Exception {
+        // Given
+        UUID found = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getObject("booking_id", UUID.class)).thenReturn(found);
+        when(row.getString("status")).thenReturn("confirmed");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        // When
+        BookingLookupResult result = bookingLookupService.lookup(List.of(found, missing, found));
+
+        // Then
+        assertEquals(1, result.getBookings().size());
+        assertEquals(found, result.getBookings().get(0).getBookingId());
+        assertEquals("confirmed", result.getBookings().get(0).getStatus());
+        assertEquals(List.of(missing), result.getNotFound());
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).query(contains("= ANY(?)"), any(RowCallbackHandler.class), args.capture());
+        assertArrayEquals(new UUID[]{found, missing}, (UUID[]) args.getValue()[0]);
+    }
+
+    @Test
+    void lookup_MoreIdsThanAllowed_ThrowsWithoutQuerying() {
+        // Given
+        ReflectionTestUtils.setField(bookingLookupService, "maxIds", 2);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingLookupService.lookup(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID())));
+        verifyNoInteractions(jdbcTemplate);
+    }
+} 
\ No newline at end of file
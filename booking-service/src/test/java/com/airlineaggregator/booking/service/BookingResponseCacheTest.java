@@ -0,0 +1,108 @@
+package com.airlineaggregator.booking.service;
+
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.outbox.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingResponseCacheTest {
+
+    private BookingResponseCache cache;
+    private UUID bookingId;
+    private BookingResponse pending;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BookingResponseCache();
+        bookingId = UUID.randomUUID();
+        pending = new BookingResponse();
+        pending.setBookingId(bookingId);
+        pending.setStatus("pending");
+    }
+
+    @Test
+    void get_AfterPut_ReturnsCachedResponse() {
+        // When
+        cache.put(bookingId, pending, System.nanoTime());
+
+        // Then
+        assertSame(pending, cache.get(bookingId));
+        assertEquals(1, cache.snapshot().getHits());
+    }
+
+    @Test
+    void put_ReadStartedBeforeEviction_IsDropped() {
+        // Given
+        long readStart = System.nanoTime();
+        cache.evict(bookingId);
+
+        // When
+        cache.put(bookingId, pending, readStart);
+
+        // Then
+        assertNull(cache.get(bookingId));
+    }
+
+    @Test
+    void put_ReadStartedAfterEviction_IsCached() {
+        // Given
+        cache.evict(bookingId);
+        long readStart = System.nanoTime();
+
+        // When
+        cache.put(bookingId, pending, readStart);
+
+        // Then
+        assertSame(pending, cache.get(bookingId));
+    }
+
+    @Test
+    void get_OlderThanTtl_Misses() {
+        // Given
+        ReflectionTestUtils.setField(cache, "ttlMs", 0L);
+        cache.put(bookingId, pending, System.nanoTime() - 1);
+
+        // When
+        BookingResponse cached = cache.get(bookingId);
+
+        // Then
+        assertNull(cached);
+        assertEquals(0, cache.snapshot().getEntries());
+    }
+
+    @Test
+    void onEvent_BookingConfirmedByPaymentService_EvictsBooking() {
+        // Given
+        cache.put(bookingId, pending, System.nanoTime());
+        UUID otherBooking = UUID.randomUUID();
+        cache.put(otherBooking, pending, System.nanoTime());
+
+        // When
+        cache.onEvent(new OutboxEvent(1L, "booking", bookingId, "booking.confirmed", "{\"pnr\":\"PNR123\"}", LocalDateTime.now()));
+        cache.onEvent(new OutboxEvent(2L, "payment", otherBooking, "payment.success", "{}", LocalDateTime.now()));
+
+        // Then
+        assertNull(cache.get(bookingId));
+        assertSame(pending, cache.get(otherBooking));
+    }
+
+    @Test
+    void put_CacheFull_StaysBounded() {
+        // Given
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+
+        // When
+        for (int i = 0; i < 25; i++) {
+            cache.put(UUID.randomUUID(), pending, System.nanoTime());
+        }
+
+        // Then
+        assertTrue(cache.snapshot().getEntries() <= 10);
+    }
+} 
\ No newline at end of file
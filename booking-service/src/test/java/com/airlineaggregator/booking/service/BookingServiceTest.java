@@ -6,22 +6,30 @@ import com.airlineaggregator.booking.entity.Airline;
 import com.airlineaggregator.booking.entity.Booking;
 import com.airlineaggregator.booking.entity.Flight;
 import com.airlineaggregator.booking.entity.FlightRoutine;
+import com.airlineaggregator.booking.metrics.LatencyMetrics;
+import com.airlineaggregator.booking.outbox.OutboxWriter;
+import com.airlineaggregator.booking.pricing.DynamicPricingEngine;
 import com.airlineaggregator.booking.repository.BookingRepository;
 import com.airlineaggregator.booking.repository.FlightRoutineRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,7 +49,20 @@ class BookingServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private DynamicPricingEngine dynamicPricingEngine;
+
+    @Spy
+    private LatencyMetrics latencyMetrics = new LatencyMetrics();
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
 
+    @Spy
+    private BookingResponseCache bookingResponseCache = new BookingResponseCache();
 
     @InjectMocks
     private BookingService bookingService;
@@ -62,7 +83,7 @@ class BookingServiceTest {
                 .thenReturn(Optional.of(mockFlightRoutine));
         when(flightRoutineRepository.updateAvailableSeats(any(UUID.class), anyInt()))
                 .thenReturn(1); // Simulate successful seat update
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(createMockBooking());
 
         // When
@@ -77,7 +98,11 @@ class BookingServiceTest {
 
         verify(flightRoutineRepository).findByIdWithLock(any(UUID.class));
         verify(flightRoutineRepository).updateAvailableSeats(any(UUID.class), anyInt());
-        verify(bookingRepository).save(any(Booking.class));
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
+        verify(dynamicPricingEngine).onSeatsChanged(validRequest.getFlightRoutineId());
+        List<LatencyMetrics.StageLatency> stages = latencyMetrics.snapshot().getStages();
+        assertEquals("lock_wait", stages.get(0).getStage());
+        assertTrue(stages.stream().allMatch(stage -> stage.getCount() == 1));
     }
 
     @Test
@@ -162,7 +187,7 @@ class BookingServiceTest {
                 .thenReturn(Optional.of(mockFlightRoutine));
         when(flightRoutineRepository.updateAvailableSeats(any(UUID.class), anyInt()))
                 .thenReturn(1);
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(createMockBooking());
 
         // When
@@ -172,7 +197,7 @@ class BookingServiceTest {
         assertNotNull(response);
         verify(flightRoutineRepository).findByIdWithLock(any(UUID.class));
         verify(flightRoutineRepository).updateAvailableSeats(any(UUID.class), anyInt());
-        verify(bookingRepository).save(any(Booking.class));
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -184,7 +209,7 @@ class BookingServiceTest {
                 .thenReturn(Optional.of(mockFlightRoutine));
         when(flightRoutineRepository.updateAvailableSeats(any(UUID.class), anyInt()))
                 .thenReturn(1);
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(createMockBooking());
 
         // When
@@ -194,7 +219,7 @@ class BookingServiceTest {
         assertNotNull(response);
         verify(flightRoutineRepository).findByIdWithLock(any(UUID.class));
         verify(flightRoutineRepository).updateAvailableSeats(any(UUID.class), anyInt());
-        verify(bookingRepository).save(any(Booking.class));
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -204,7 +229,7 @@ class BookingServiceTest {
                 .thenReturn(Optional.of(mockFlightRoutine));
         when(flightRoutineRepository.updateAvailableSeats(any(UUID.class), anyInt()))
                 .thenReturn(1);
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(createMockBooking());
 
         // When
@@ -214,7 +239,7 @@ class BookingServiceTest {
         assertNotNull(response);
         verify(flightRoutineRepository).findByIdWithLock(any(UUID.class));
         verify(flightRoutineRepository).updateAvailableSeats(any(UUID.class), anyInt());
-        verify(bookingRepository).save(any(Booking.class));
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -261,7 +286,7 @@ class BookingServiceTest {
                 .thenReturn(Optional.of(exactSeatFlightRoutine));
         when(flightRoutineRepository.updateAvailableSeats(any(UUID.class), anyInt()))
                 .thenReturn(1);
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(createMockBooking());
 
         // When
@@ -271,7 +296,7 @@ class BookingServiceTest {
         assertNotNull(response);
         verify(flightRoutineRepository).findByIdWithLock(any(UUID.class));
         verify(flightRoutineRepository).updateAvailableSeats(any(UUID.class), anyInt());
-        verify(bookingRepository).save(any(Booking.class));
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -294,6 +319,119 @@ class BookingServiceTest {
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void createBookings_MoreRequestsThanSeats_AdmitsInOrderWithOneDecrementAndOneInsertBatch() {
+        // Given
+        FlightRoutine routine = createMockFlightRoutine();
+        routine.setAvailableSeats(5);
+        UUID routineId = routine.getId();
+        when(flightRoutineRepository.findByIdWithLock(routineId)).thenReturn(Optional.of(routine));
+        when(flightRoutineRepository.updateAvailableSeats(routineId, 4)).thenReturn(1);
+
+        // When
+        List<BookingService.BatchResult> results = bookingService.createBookings(routineId,
+                List.of(validRequest, validRequest, validRequest));
+
+        // Then
+        assertTrue(results.get(0).isSucceeded());
+        assertTrue(results.get(1).isSucceeded());
+        assertNotEquals(results.get(0).getResponse().getBookingId(), results.get(1).getResponse().getBookingId());
+        assertFalse(results.get(2).isSucceeded());
+        assertEquals("Booking creation failed: Insufficient seats available. Requested: 2, Available: 1",
+                results.get(2).getErrorMessage());
+
+        verify(flightRoutineRepository).findByIdWithLock(routineId);
+        verify(flightRoutineRepository).updateAvailableSeats(routineId, 4);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        ArgumentCaptor<Map<UUID, Map<String, ?>>> events = ArgumentCaptor.forClass(Map.class);
+        verify(outboxWriter).appendAll(eq("booking"), eq("booking.held"), events.capture());
+        assertEquals(2, events.getValue().size());
+        verify(dynamicPricingEngine).onSeatsChanged(routineId);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void createBookings_FlightNotScheduled_RejectsAllWithoutWriting() {
+        // Given
+        mockFlightRoutine.setStatus("cancelled");
+        UUID routineId = mockFlightRoutine.getId();
+        when(flightRoutineRepository.findByIdWithLock(routineId)).thenReturn(Optional.of(mockFlightRoutine));
+
+        // When
+        List<BookingService.BatchResult> results = bookingService.createBookings(routineId,
+                List.of(validRequest, validRequest));
+
+        // Then
+        assertEquals(2, results.size());
+        assertTrue(results.stream().noneMatch(BookingService.BatchResult::isSucceeded));
+        assertTrue(results.get(0).getErrorMessage().contains("not available for booking"));
+        verify(flightRoutineRepository, never()).updateAvailableSeats(any(UUID.class), anyInt());
+        verifyNoInteractions(jdbcTemplate, outboxWriter);
+    }
+
+    @Test
+    void getBookingResponse_PolledTwice_QueriesDatabaseOnce() {
+        // Given
+        UUID bookingId = UUID.randomUUID();
+        BookingResponse stored = new BookingResponse();
+        stored.setBookingId(bookingId);
+        stored.setStatus("pending");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(bookingId))).thenReturn(List.of(stored));
+
+        // When
+        Optional<BookingResponse> first = bookingService.getBookingResponse(bookingId);
+        Optional<BookingResponse> second = bookingService.getBookingResponse(bookingId);
+
+        // Then
+        assertEquals("pending", first.orElseThrow().getStatus());
+        assertSame(first.get(), second.orElseThrow());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class), eq(bookingId));
+        verifyNoInteractions(bookingRepository, flightRoutineRepository);
+    }
+
+    @Test
+    void cancelUnpaidBooking_Cancelled_EvictsCachedResponse() {
+        // Given
+        Booking booking = createMockBooking();
+        booking.setStatus("pending");
+        booking.setFlightRoutine(mockFlightRoutine);
+        UUID bookingId = booking.getBookingId();
+        BookingResponse cached = new BookingResponse();
+        cached.setStatus("pending");
+        bookingResponseCache.put(bookingId, cached, System.nanoTime());
+        when(bookingRepository.findByBookingIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
+
+        // When
+        boolean cancelled = bookingService.cancelUnpaidBooking(bookingId, "payment declined");
+
+        // Then
+        assertTrue(cancelled);
+        assertEquals("cancelled", booking.getStatus());
+        assertNull(bookingResponseCache.get(bookingId));
+    }
+
+    @Test
+    void cancelUnpaidBooking_SeatReleaseFails_PropagatesAndLeavesBookingPending() throws Exception {
+        // Given
+        Booking booking = createMockBooking();
+        booking.setStatus("pending");
+        booking.setFlightRoutine(mockFlightRoutine);
+        booking.setPassengerDetails("[{}, {}]");
+        UUID bookingId = booking.getBookingId();
+        when(bookingRepository.findByBookingIdForUpdate(bookingId)).thenReturn(Optional.of(booking));
+        when(objectMapper.readValue("[{}, {}]", Object[].class)).thenReturn(new Object[2]);
+        when(flightRoutineRepository.releaseSeats(mockFlightRoutine.getId(), 2)).thenReturn(0);
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.cancelUnpaidBooking(bookingId, "payment declined"));
+        assertEquals("pending", booking.getStatus());
+        verify(outboxWriter, never()).append(any(), any(), eq("booking.cancelled"), any());
+    }
+
     private void setupValidRequest() {
         validRequest = new BookingRequest();
         validRequest.setFlightRoutineId(UUID.randomUUID());
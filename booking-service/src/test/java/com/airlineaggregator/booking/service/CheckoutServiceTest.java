@@ -0,0 +1,134 @@
+package com.airlineaggregator.booking.service;
+
+import com.airlineaggregator.booking.client.PaymentClient;
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.dto.CheckoutRequest;
+import com.airlineaggregator.booking.dto.CheckoutResponse;
+import com.airlineaggregator.booking.dto.PaymentRequest;
+import com.airlineaggregator.booking.dto.PaymentResponse;
+import com.airlineaggregator.booking.mailbox.RoutineMailboxExecutor;
+import com.airlineaggregator.booking.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private RoutineMailboxExecutor routineMailboxExecutor;
+
+    @Mock
+    private PaymentClient paymentClient;
+
+    @Spy
+    private Tracer tracer = new Tracer();
+
+    @InjectMocks
+    private CheckoutService checkoutService;
+
+    private CheckoutRequest request;
+    private UUID bookingId;
+
+    @BeforeEach
+    void setUp() {
+        request = new CheckoutRequest();
+        PaymentRequest.PaymentMethod paymentMethod = new PaymentRequest.PaymentMethod();
+        paymentMethod.setType("card");
+        request.setPaymentMethod(paymentMethod);
+
+        bookingId = UUID.randomUUID();
+        BookingResponse booking = new BookingResponse();
+        booking.setBookingId(bookingId);
+        booking.setStatus("pending");
+        when(routineMailboxExecutor.createBooking(request)).thenReturn(booking);
+    }
+
+    @Test
+    void checkout_PaymentSucceeds_ReturnsPnr() {
+        // Given
+        when(paymentClient.charge(eq(bookingId), any(), any())).thenReturn(Mono.just(payment("success", "AB12CD")));
+
+        // When
+        CheckoutResponse response = checkoutService.checkout(request);
+
+        // Then
+        assertEquals(CheckoutResponse.STATUS_CONFIRMED, response.getStatus());
+        assertEquals("AB12CD", response.getPnr());
+        assertEquals("confirmed", response.getBooking().getStatus());
+        verify(bookingService, never()).cancelUnpaidBooking(any(), any());
+    }
+
+    @Test
+    void checkout_PaymentDeclined_CancelsBooking() {
+        // Given
+        when(paymentClient.charge(eq(bookingId), any(), any())).thenReturn(Mono.just(payment("failed", null)));
+        when(bookingService.cancelUnpaidBooking(eq(bookingId), anyString())).thenReturn(true);
+
+        // When
+        CheckoutResponse response = checkoutService.checkout(request);
+
+        // Then
+        assertEquals(CheckoutResponse.STATUS_PAYMENT_DECLINED, response.getStatus());
+        assertEquals("cancelled", response.getBooking().getStatus());
+        assertNull(response.getPnr());
+    }
+
+    @Test
+    void checkout_PaymentTimesOut_CancelsBooking() {
+        // Given
+        when(paymentClient.charge(eq(bookingId), any(), any())).thenReturn(Mono.error(new TimeoutException("response timeout")));
+        when(bookingService.cancelUnpaidBooking(eq(bookingId), anyString())).thenReturn(true);
+
+        // When
+        CheckoutResponse response = checkoutService.checkout(request);
+
+        // Then
+        assertEquals(CheckoutResponse.STATUS_PAYMENT_UNAVAILABLE, response.getStatus());
+        verify(bookingService).cancelUnpaidBooking(eq(bookingId), anyString());
+    }
+
+    @Test
+    void checkout_PaymentConfirmedAfterTimeout_ReturnsPnr() {
+        // Given - the payment service confirmed the booking after we gave up waiting
+        when(paymentClient.charge(eq(bookingId), any(), any())).thenReturn(Mono.error(new TimeoutException("response timeout")));
+        when(bookingService.cancelUnpaidBooking(eq(bookingId), anyString())).thenReturn(false);
+        BookingResponse confirmed = new BookingResponse();
+        confirmed.setBookingId(bookingId);
+        confirmed.setStatus("confirmed");
+        confirmed.setBookingReference("XY34ZW");
+        when(bookingService.getBookingResponse(bookingId)).thenReturn(Optional.of(confirmed));
+
+        // When
+        CheckoutResponse response = checkoutService.checkout(request);
+
+        // Then
+        assertEquals(CheckoutResponse.STATUS_CONFIRMED, response.getStatus());
+        assertEquals("XY34ZW", response.getPnr());
+    }
+
+    private PaymentResponse payment(String status, String pnr) {
+        PaymentResponse payment = new PaymentResponse();
+        payment.setStatus(status);
+        if (pnr != null) {
+            payment.setBookingUpdate(new PaymentResponse.BookingUpdate(bookingId, "confirmed", pnr, null));
+        }
+        return payment;
+    }
+} 
\ No newline at end of file
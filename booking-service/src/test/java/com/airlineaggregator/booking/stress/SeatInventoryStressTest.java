@@ -0,0 +1,227 @@
+package com.airlineaggregator.booking.stress;
+
+import com.airlineaggregator.booking.dto.BookingRequest;
+import com.airlineaggregator.booking.dto.BookingResponse;
+import com.airlineaggregator.booking.mailbox.RoutineMailboxExecutor;
+import com.airlineaggregator.booking.metrics.LatencyMetrics;
+import com.airlineaggregator.booking.service.BookingService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Books and cancels seats on one flight routine from many threads against a real Postgres and
+ * checks that {@code available_seats} plus the seats held by pending and confirmed bookings always
+ * equals {@code total_seats}, both while the run is in progress and at the end. Holds go through
+ * both the row-lock path and the routine mailboxes so the two contend with each other.
+ *
+ * <p>Uses the datasource from application.yml ({@code SPRING_DATASOURCE_URL} etc.) and creates
+ * and removes its own airline, flight and routine. Run with {@code mvn test -Pstress}; size the run
+ * with {@code -Dstress.threads}, {@code -Dstress.operations} (per thread) and {@code -Dstress.seats}.
+ */
+@Tag("stress")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "booking.async.enabled=false",
+        "outbox.relay.enabled=false"
+})
+class SeatInventoryStressTest {
+
+    private static final int THREADS = Integer.getInteger("stress.threads", 32);
+    private static final int OPERATIONS_PER_THREAD = Integer.getInteger("stress.operations", 300);
+    private static final int SEATS = Integer.getInteger("stress.seats", 120);
+    private static final long CHECK_INTERVAL_MS = 20;
+
+    private static final String INVENTORY =
+            "SELECT fr.total_seats, fr.available_seats, " +
+            "COALESCE((SELECT SUM(jsonb_array_length(b.passenger_details)) FROM bookings b " +
+            "WHERE b.flight_routine_id = fr.id AND b.status IN ('pending', 'confirmed')), 0) AS held_seats " +
+            "FROM flight_routines fr WHERE fr.id = ?";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoutineMailboxExecutor routineMailboxExecutor;
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID airlineId;
+    private UUID flightId;
+    private UUID routineId;
+
+    @BeforeEach
+    void createRoutine() {
+        airlineId = UUID.randomUUID();
+        flightId = UUID.randomUUID();
+        routineId = UUID.randomUUID();
+        String code = "S" + airlineId.toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO airlines (id, code, name) VALUES (?, ?, 'Stress Test Air')", airlineId, code);
+        jdbcTemplate.update("INSERT INTO flights (id, airline_id, flight_number, route_display) VALUES (?, ?, ?, 'STRESS')",
+                flightId, airlineId, code + "-1");
+        jdbcTemplate.update("INSERT INTO flight_routines (id, flight_id, travel_date, departure_time, arrival_time, " +
+                "total_seats, available_seats, base_price, current_price) VALUES (?, ?, ?, '10:00', '12:00', ?, ?, 5000, 5000)",
+                routineId, flightId, LocalDate.now().plusDays(30), SEATS, SEATS);
+    }
+
+    @AfterEach
+    void deleteRoutine() {
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id IN " +
+                "(SELECT booking_id FROM bookings WHERE flight_routine_id = ?)", routineId);
+        jdbcTemplate.update("DELETE FROM bookings WHERE flight_routine_id = ?", routineId);
+        jdbcTemplate.update("DELETE FROM flight_routines WHERE id = ?", routineId);
+        jdbcTemplate.update("DELETE FROM flights WHERE id = ?", flightId);
+        jdbcTemplate.update("DELETE FROM airlines WHERE id = ?", airlineId);
+    }
+
+    @Test
+    void concurrentHoldsAndCancellations_KeepSeatInventoryConsistent() throws Exception {
+        // Given
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<String> violations = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        Recorder holdLatency = new Recorder(3);
+        AtomicLong holds = new AtomicLong();
+        AtomicLong soldOut = new AtomicLong();
+        AtomicLong cancellations = new AtomicLong();
+        AtomicLong checks = new AtomicLong();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(workers.submit(() -> {
+                List<UUID> held = new ArrayList<>();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    try {
+                        if (!held.isEmpty() && random.nextInt(3) == 0) {
+                            UUID bookingId = held.remove(random.nextInt(held.size()));
+                            if (bookingService.cancelUnpaidBooking(bookingId, "stress test")) {
+                                cancellations.incrementAndGet();
+                            } else {
+                                violations.add("Own pending booking " + bookingId + " could not be cancelled");
+                            }
+                            continue;
+                        }
+                        BookingRequest request = request(1 + random.nextInt(3));
+                        long holdStart = System.nanoTime();
+                        BookingResponse booking = random.nextBoolean()
+                                ? routineMailboxExecutor.createBooking(request)
+                                : bookingService.createBooking(request);
+                        holdLatency.recordValue((System.nanoTime() - holdStart) / 1000);
+                        holds.incrementAndGet();
+                        held.add(booking.getBookingId());
+                    } catch (RuntimeException e) {
+                        if (e.getMessage() != null && e.getMessage().contains("Insufficient seats")) {
+                            soldOut.incrementAndGet();
+                        } else {
+                            unexpected.add(e);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // When
+        long runStart = System.nanoTime();
+        start.countDown();
+        while (!futures.stream().allMatch(Future::isDone)) {
+            checkInventory(violations);
+            checks.incrementAndGet();
+            Thread.sleep(CHECK_INTERVAL_MS);
+        }
+        double elapsedSeconds = (System.nanoTime() - runStart) / 1e9;
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        workers.shutdown();
+        Map<String, Object> finalInventory = checkInventory(violations);
+
+        // Then
+        report(elapsedSeconds, holds.get(), soldOut.get(), cancellations.get(), checks.get(),
+                holdLatency.getIntervalHistogram(), finalInventory);
+        assertTrue(violations.isEmpty(), "Seat inventory violations: " + violations);
+        assertTrue(unexpected.isEmpty(), "Unexpected booking errors: " + unexpected.stream()
+                .map(Throwable::getMessage).distinct().toList());
+        assertTrue(holds.get() > 0, "No booking succeeded");
+    }
+
+    /**
+     * Reads total, available and held seats in one statement, so all three come from the same
+     * snapshot, and records a violation if they do not add up.
+     */
+    private Map<String, Object> checkInventory(Queue<String> violations) {
+        Map<String, Object> inventory = jdbcTemplate.queryForMap(INVENTORY, routineId);
+        int total = ((Number) inventory.get("total_seats")).intValue();
+        int available = ((Number) inventory.get("available_seats")).intValue();
+        int heldSeats = ((Number) inventory.get("held_seats")).intValue();
+        if (available < 0 || available + heldSeats != total) {
+            violations.add("available " + available + " + held " + heldSeats + " != total " + total);
+        }
+        return inventory;
+    }
+
+    private void report(double elapsedSeconds, long holds, long soldOut, long cancellations, long checks,
+                        Histogram holdLatency, Map<String, Object> finalInventory) {
+        System.out.printf("Seat inventory stress: %d threads x %d operations on %d seats in %.2f s%n",
+                THREADS, OPERATIONS_PER_THREAD, SEATS, elapsedSeconds);
+        System.out.printf("  holds %d (%.1f/s), sold out %d, cancellations %d, inventory checks %d%n",
+                holds, holds / elapsedSeconds, soldOut, cancellations, checks);
+        System.out.printf("  final inventory %s%n", finalInventory);
+        System.out.printf("  %-16s %8s %9s %9s %9s %9s%n", "latency (ms)", "count", "p50", "p90", "p99", "max");
+        System.out.printf("  %-16s %8d %9.3f %9.3f %9.3f %9.3f%n", "hold", holdLatency.getTotalCount(),
+                holdLatency.getValueAtPercentile(50) / 1000.0, holdLatency.getValueAtPercentile(90) / 1000.0,
+                holdLatency.getValueAtPercentile(99) / 1000.0, holdLatency.getMaxValue() / 1000.0);
+        for (LatencyMetrics.StageLatency stage : latencyMetrics.snapshot().getStages()) {
+            System.out.printf("  %-16s %8d %9.3f %9.3f %9.3f %9.3f%n", stage.getStage(), stage.getCount(),
+                    stage.getP50Ms(), stage.getP90Ms(), stage.getP99Ms(), stage.getMaxMs());
+        }
+    }
+
+    private BookingRequest request(int passengers) {
+        BookingRequest request = new BookingRequest();
+        request.setFlightRoutineId(routineId);
+        List<BookingRequest.PassengerInfo> passengerInfos = new ArrayList<>();
+        for (int i = 0; i < passengers; i++) {
+            BookingRequest.PassengerInfo passenger = new BookingRequest.PassengerInfo();
+            passenger.setTitle("Mr");
+            passenger.setFirstName("Stress" + i);
+            passenger.setLastName("Test");
+            passenger.setDateOfBirth("1990-01-15");
+            passengerInfos.add(passenger);
+        }
+        request.setPassengers(passengerInfos);
+        BookingRequest.ContactInfo contact = new BookingRequest.ContactInfo();
+        contact.setEmail("stress@example.com");
+        contact.setPhone("+91-9876543210");
+        request.setContactInfo(contact);
+        return request;
+    }
+} 
\ No newline at end of file
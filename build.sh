@@ -31,7 +31,8 @@ for service in "${services[@]}"; do
     cd "$service"
     
     # Build Docker image (this will compile Java code inside Docker)
-    if docker build -t "airline-aggregator-$service:latest" .; then
+    # RUNTIME_IMAGE overrides the runtime base image, e.g. eclipse-temurin:21-jre for virtual threads
+    if docker build ${RUNTIME_IMAGE:+--build-arg RUNTIME_IMAGE="$RUNTIME_IMAGE"} -t "airline-aggregator-$service:latest" .; then
         echo "✅ $service built successfully"
     else
         echo "❌ Failed to build $service"
@@ -0,0 +1,26 @@
+package com.airlineaggregator.datagen;
+
+import com.airlineaggregator.datagen.config.GeneratorProperties;
+import com.airlineaggregator.datagen.loader.CopyLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(GeneratorProperties.class)
+public class DataGeneratorApplication implements CommandLineRunner {
+
+    @Autowired
+    private CopyLoader copyLoader;
+
+    public static void main(String[] args) {
+        SpringApplication.run(DataGeneratorApplication.class, args);
+    }
+
+    @Override
+    public void run(String... args) {
+        copyLoader.load();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.airlineaggregator.datagen.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Size and shape of a generated dataset. Every count scales with {@code scale}, so
+ * {@code --generator.scale=10} produces roughly ten times the default dataset with the same skew.
+ */
+@ConfigurationProperties(prefix = "generator")
+public class GeneratorProperties {
+
+    private long seed = 42L;
+    private double scale = 1.0;
+    private int airports = 150;
+    private int airlines = 30;
+    private int flights = 5000;
+    private int users = 200_000;
+    private int days = 365;
+    private LocalDate startDate;
+    private double bookingsPerRoutine = 2.0;
+    private int hotDates = 12;
+    private int workers = 8;
+    private int rowsPerTransaction = 50_000;
+    private boolean truncate = false;
+
+    public int scaled(int count) {
+        return (int) Math.max(1, Math.round(count * scale));
+    }
+
+    public LocalDate resolveStartDate() {
+        return startDate != null ? startDate : LocalDate.now();
+    }
+
+    // Getters and Setters
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    public double getScale() { return scale; }
+    public void setScale(double scale) { this.scale = scale; }
+    public int getAirports() { return airports; }
+    public void setAirports(int airports) { this.airports = airports; }
+    public int getAirlines() { return airlines; }
+    public void setAirlines(int airlines) { this.airlines = airlines; }
+    public int getFlights() { return flights; }
+    public void setFlights(int flights) { this.flights = flights; }
+    public int getUsers() { return users; }
+    public void setUsers(int users) { this.users = users; }
+    public int getDays() { return days; }
+    public void setDays(int days) { this.days = days; }
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    public double getBookingsPerRoutine() { return bookingsPerRoutine; }
+    public void setBookingsPerRoutine(double bookingsPerRoutine) { this.bookingsPerRoutine = bookingsPerRoutine; }
+    public int getHotDates() { return hotDates; }
+    public void setHotDates(int hotDates) { this.hotDates = hotDates; }
+    public int getWorkers() { return workers; }
+    public void setWorkers(int workers) { this.workers = workers; }
+    public int getRowsPerTransaction() { return rowsPerTransaction; }
+    public void setRowsPerTransaction(int rowsPerTransaction) { this.rowsPerTransaction = rowsPerTransaction; }
+    public boolean isTruncate() { return truncate; }
+    public void setTruncate(boolean truncate) { this.truncate = truncate; }
+} 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.airlineaggregator.datagen.generator;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Demand weight of each travel date in the horizon: weekends and Fridays are busier, a few
+ * seeded "hot" holiday windows spike, and demand fades the further out the date is.
+ */
+public class CalendarSkew {
+
+    private static final double HOT_DATE_MULTIPLIER = 3.0;
+    private static final int HOT_WINDOW_DAYS = 3;
+
+    private final LocalDate startDate;
+    private final double[] weights;
+    private final boolean[] hot;
+    private final double meanWeight;
+
+    public CalendarSkew(long seed, LocalDate startDate, int days, int hotDates) {
+        this.startDate = startDate;
+        this.weights = new double[days];
+        this.hot = new boolean[days];
+
+        SplittableRandom random = new SplittableRandom(SeededIds.streamSeed(seed, 0xCA1L, 0));
+        for (int i = 0; i < hotDates; i++) {
+            int center = random.nextInt(days);
+            for (int d = Math.max(0, center - HOT_WINDOW_DAYS / 2); d <= Math.min(days - 1, center + HOT_WINDOW_DAYS / 2); d++) {
+                hot[d] = true;
+            }
+        }
+
+        double total = 0;
+        for (int d = 0; d < days; d++) {
+            DayOfWeek dayOfWeek = startDate.plusDays(d).getDayOfWeek();
+            double weight = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY ? 1.4
+                    : dayOfWeek == DayOfWeek.FRIDAY ? 1.2 : 1.0;
+            if (hot[d]) {
+                weight *= HOT_DATE_MULTIPLIER;
+            }
+            // Most bookings land in the next few weeks
+            weight *= 0.4 + 1.6 * Math.exp(-d / 30.0);
+            weights[d] = weight;
+            total += weight;
+        }
+        this.meanWeight = days > 0 ? total / days : 1.0;
+    }
+
+    public LocalDate date(int day) { return startDate.plusDays(day); }
+    public double relativeWeight(int day) { return weights[day] / meanWeight; }
+    public boolean isHot(int day) { return hot[day]; }
+    public int days() { return weights.length; }
+} 
\ No newline at end of file
@@ -0,0 +1,283 @@
+package com.airlineaggregator.datagen.generator;
+
+import com.airlineaggregator.datagen.config.GeneratorProperties;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Reference data of a generated dataset: airports, airlines and flights, held in primitive
+ * arrays. Airport traffic follows a Zipf distribution so a handful of hubs carry most flights,
+ * and airline market share is skewed the same way.
+ */
+public class Catalog {
+
+    public static final String AIRLINE_COLUMNS = "id, code, name, is_active";
+    public static final String AIRPORT_COLUMNS = "code, name, city, country, timezone, latitude, longitude, is_active";
+    public static final String FLIGHT_COLUMNS =
+            "id, airline_id, flight_number, source_airport, destination_airport, route_display, metadata, " +
+            "total_duration_minutes, is_active";
+
+    private static final double AIRPORT_ZIPF_EXPONENT = 1.1;
+    private static final double AIRLINE_ZIPF_EXPONENT = 0.8;
+    private static final int MAX_DEPARTURES_PER_DAY = 4;
+
+    // Real airports first so the hubs match the seed data; synthetic ones follow
+    private static final String[][] KNOWN_AIRPORTS = {
+            {"DEL", "Delhi", "28.5665", "77.1031"}, {"BOM", "Mumbai", "19.0896", "72.8656"},
+            {"BLR", "Bangalore", "13.1986", "77.7066"}, {"MAA", "Chennai", "12.9941", "80.1709"},
+            {"HYD", "Hyderabad", "17.2403", "78.4294"}, {"CCU", "Kolkata", "22.6547", "88.4467"},
+            {"AMD", "Ahmedabad", "23.0832", "72.6347"}, {"PNQ", "Pune", "18.5793", "73.9089"},
+            {"COK", "Kochi", "10.1520", "76.4019"}, {"GOI", "Goa", "15.3808", "73.8314"},
+            {"JAI", "Jaipur", "26.8821", "75.8100"}, {"LKO", "Lucknow", "26.7606", "80.8893"},
+            {"TRV", "Thiruvananthapuram", "8.4821", "76.9200"}, {"GAU", "Guwahati", "26.1061", "91.5859"},
+            {"IXC", "Chandigarh", "30.6735", "76.7884"}, {"BBI", "Bhubaneswar", "20.2441", "85.8178"},
+            {"NAG", "Nagpur", "21.0924", "79.0473"}, {"CJB", "Coimbatore", "11.0297", "77.0436"},
+            {"VNS", "Varanasi", "25.4522", "82.8592"}, {"IXR", "Ranchi", "23.3144", "85.3217"},
+            {"RPR", "Raipur", "21.1804", "81.7387"}, {"IXM", "Madurai", "9.8349", "78.0936"},
+            {"TRZ", "Trichy", "10.7650", "78.7097"}, {"IXZ", "Port Blair", "11.6410", "92.7296"},
+            {"AGR", "Agra", "27.1577", "77.9608"}, {"IXA", "Agartala", "23.8870", "91.2403"},
+            {"IXL", "Leh", "34.1358", "77.5465"}, {"IXS", "Silchar", "24.9129", "92.9787"},
+            {"IXI", "North Lakhimpur", "27.2955", "94.0977"}, {"VGA", "Ballari", "15.1649", "76.8841"}
+    };
+
+    private static final String[][] KNOWN_AIRLINES = {
+            {"6E", "IndiGo", "0.95"}, {"AI", "Air India", "1.15"}, {"UK", "Vistara", "1.25"},
+            {"SG", "SpiceJet", "0.90"}, {"QP", "Akasa Air", "0.92"}, {"IX", "Air India Express", "0.88"},
+            {"I5", "AirAsia India", "0.90"}, {"G8", "GoAir", "0.85"}, {"DN", "Regional Air", "0.95"},
+            {"VL", "Air Mantra", "0.95"}
+    };
+
+    private static final String[] AIRCRAFT = {"Airbus A320neo", "Boeing 737-800", "Airbus A321", "Boeing 737 MAX", "Airbus A320"};
+    private static final int[] AIRCRAFT_SEATS = {186, 162, 220, 189, 180};
+
+    private final long seed;
+
+    // Airports
+    final String[] airportCodes;
+    final String[] airportCities;
+    final double[] airportLatitudes;
+    final double[] airportLongitudes;
+    private final double[] airportCumulative;
+
+    // Airlines
+    final UUID[] airlineIds;
+    final String[] airlineCodes;
+    final String[] airlineNames;
+    final double[] airlinePriceFactors;
+    private final double[] airlineCumulative;
+
+    // Flights
+    final int flightCount;
+    final UUID[] flightIds;
+    final int[] flightAirline;
+    final int[] flightSource;
+    final int[] flightDestination;
+    final int[] flightDurationMinutes;
+    final int[] flightAircraft;
+    final int[] flightBasePrice;
+    final double[] flightWeight;
+    final LocalTime[][] flightDepartures;
+    final double meanFlightWeight;
+
+    public Catalog(GeneratorProperties properties) {
+        this.seed = properties.getSeed();
+
+        int airports = Math.max(2, Math.min(KNOWN_AIRPORTS.length + 26 * 26, properties.scaled(properties.getAirports())));
+        airportCodes = new String[airports];
+        airportCities = new String[airports];
+        airportLatitudes = new double[airports];
+        airportLongitudes = new double[airports];
+        SplittableRandom airportRandom = new SplittableRandom(SeededIds.streamSeed(seed, 0x50A, 0));
+        for (int i = 0; i < airports; i++) {
+            if (i < KNOWN_AIRPORTS.length) {
+                airportCodes[i] = KNOWN_AIRPORTS[i][0];
+                airportCities[i] = KNOWN_AIRPORTS[i][1];
+                airportLatitudes[i] = Double.parseDouble(KNOWN_AIRPORTS[i][2]);
+                airportLongitudes[i] = Double.parseDouble(KNOWN_AIRPORTS[i][3]);
+            } else {
+                airportCodes[i] = syntheticCode('Q', i - KNOWN_AIRPORTS.length, 3);
+                airportCities[i] = "City " + airportCodes[i];
+                airportLatitudes[i] = 8.0 + airportRandom.nextDouble() * 26.0;
+                airportLongitudes[i] = 69.0 + airportRandom.nextDouble() * 26.0;
+            }
+        }
+        double[] airportWeights = zipfWeights(airports, AIRPORT_ZIPF_EXPONENT);
+        airportCumulative = cumulative(airportWeights);
+
+        int airlines = Math.max(1, properties.scaled(properties.getAirlines()));
+        airlineIds = new UUID[airlines];
+        airlineCodes = new String[airlines];
+        airlineNames = new String[airlines];
+        airlinePriceFactors = new double[airlines];
+        SplittableRandom airlineRandom = new SplittableRandom(SeededIds.streamSeed(seed, SeededIds.AIRLINE, 0));
+        for (int i = 0; i < airlines; i++) {
+            airlineIds[i] = SeededIds.uuid(seed, SeededIds.AIRLINE, i);
+            if (i < KNOWN_AIRLINES.length) {
+                airlineCodes[i] = KNOWN_AIRLINES[i][0];
+                airlineNames[i] = KNOWN_AIRLINES[i][1];
+                airlinePriceFactors[i] = Double.parseDouble(KNOWN_AIRLINES[i][2]);
+            } else {
+                airlineCodes[i] = syntheticCode('X', i - KNOWN_AIRLINES.length, 4);
+                airlineNames[i] = "Synthetic Air " + airlineCodes[i];
+                airlinePriceFactors[i] = 0.85 + airlineRandom.nextDouble() * 0.4;
+            }
+        }
+        airlineCumulative = cumulative(zipfWeights(airlines, AIRLINE_ZIPF_EXPONENT));
+
+        flightCount = properties.scaled(properties.getFlights());
+        flightIds = new UUID[flightCount];
+        flightAirline = new int[flightCount];
+        flightSource = new int[flightCount];
+        flightDestination = new int[flightCount];
+        flightDurationMinutes = new int[flightCount];
+        flightAircraft = new int[flightCount];
+        flightBasePrice = new int[flightCount];
+        flightWeight = new double[flightCount];
+        flightDepartures = new LocalTime[flightCount][];
+
+        double totalWeight = 0;
+        for (int i = 0; i < flightCount; i++) {
+            SplittableRandom random = new SplittableRandom(SeededIds.streamSeed(seed, SeededIds.FLIGHT, i));
+            flightIds[i] = SeededIds.uuid(seed, SeededIds.FLIGHT, i);
+            flightAirline[i] = sample(airlineCumulative, random);
+            flightSource[i] = sample(airportCumulative, random);
+            int destination;
+            do {
+                destination = sample(airportCumulative, random);
+            } while (destination == flightSource[i]);
+            flightDestination[i] = destination;
+
+            double distanceKm = distanceKm(flightSource[i], destination);
+            flightDurationMinutes[i] = (int) (Math.round((35 + distanceKm / 12.5) / 5.0) * 5);
+            flightAircraft[i] = random.nextInt(AIRCRAFT.length);
+            flightBasePrice[i] = (int) Math.round((1800 + distanceKm * 3.2) * airlinePriceFactors[flightAirline[i]]);
+
+            // Hub-to-hub flights are busier and fly more often
+            double weight = airportWeights[flightSource[i]] * airportWeights[destination];
+            flightWeight[i] = weight;
+            totalWeight += weight;
+        }
+        meanFlightWeight = totalWeight / flightCount;
+
+        for (int i = 0; i < flightCount; i++) {
+            SplittableRandom random = new SplittableRandom(SeededIds.streamSeed(seed, SeededIds.FLIGHT, i) ^ 0xD0L);
+            double relative = flightWeight[i] / meanFlightWeight;
+            int departures = (int) Math.min(MAX_DEPARTURES_PER_DAY, 1 + Math.floor(Math.log1p(relative) + random.nextDouble()));
+            flightDepartures[i] = departureSlots(departures, random);
+        }
+    }
+
+    public int airportCount() { return airportCodes.length; }
+    public int airlineCount() { return airlineIds.length; }
+    public int flightCount() { return flightCount; }
+    public String aircraft(int flight) { return AIRCRAFT[flightAircraft[flight]]; }
+    public int seats(int flight) { return AIRCRAFT_SEATS[flightAircraft[flight]]; }
+    public String flightNumber(int flight) { return airlineCodes[flightAirline[flight]] + "-" + (100 + flight); }
+    public int maxDeparturesPerDay() { return MAX_DEPARTURES_PER_DAY; }
+    public long seed() { return seed; }
+
+    public void appendAirline(int airline, StringBuilder out) {
+        out.append(airlineIds[airline]).append('\t')
+           .append(airlineCodes[airline]).append('\t')
+           .append(airlineNames[airline]).append('\t')
+           .append("t\n");
+    }
+
+    public void appendAirport(int airport, StringBuilder out) {
+        out.append(airportCodes[airport]).append('\t')
+           .append(airportCities[airport]).append(" Airport\t")
+           .append(airportCities[airport]).append('\t')
+           .append("India\tAsia/Kolkata\t")
+           .append(String.format(Locale.ROOT, "%.4f", airportLatitudes[airport])).append('\t')
+           .append(String.format(Locale.ROOT, "%.4f", airportLongitudes[airport])).append('\t')
+           .append("t\n");
+    }
+
+    public void appendFlight(int flight, StringBuilder out) {
+        String source = airportCodes[flightSource[flight]];
+        String destination = airportCodes[flightDestination[flight]];
+        out.append(flightIds[flight]).append('\t')
+           .append(airlineIds[flightAirline[flight]]).append('\t')
+           .append(flightNumber(flight)).append('\t')
+           .append(source).append('\t')
+           .append(destination).append('\t')
+           .append(source).append(" -> ").append(destination).append('\t')
+           .append("{\"aircraft_type\": \"").append(aircraft(flight))
+           .append("\", \"amenities\": [\"WiFi\", \"Entertainment\"], \"cabin_config\": \"3-3\"}").append('\t')
+           .append(flightDurationMinutes[flight]).append('\t')
+           .append("t\n");
+    }
+
+    private double distanceKm(int from, int to) {
+        double lat1 = Math.toRadians(airportLatitudes[from]);
+        double lat2 = Math.toRadians(airportLatitudes[to]);
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(airportLongitudes[to] - airportLongitudes[from]);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371.0 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static LocalTime[] departureSlots(int count, SplittableRandom random) {
+        // Distinct 5-minute slots between 05:00 and 23:55 keep UNIQUE(flight_id, travel_date, departure_time)
+        int slots = (24 - 5) * 12;
+        int[] chosen = new int[count];
+        int found = 0;
+        while (found < count) {
+            int slot = random.nextInt(slots);
+            boolean duplicate = false;
+            for (int i = 0; i < found; i++) {
+                duplicate |= chosen[i] == slot;
+            }
+            if (!duplicate) {
+                chosen[found++] = slot;
+            }
+        }
+        Arrays.sort(chosen);
+        LocalTime[] times = new LocalTime[count];
+        for (int i = 0; i < count; i++) {
+            times[i] = LocalTime.of(5, 0).plusMinutes(chosen[i] * 5L);
+        }
+        return times;
+    }
+
+    static double[] zipfWeights(int count, double exponent) {
+        double[] weights = new double[count];
+        for (int i = 0; i < count; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, exponent);
+        }
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    private static String syntheticCode(char prefix, int index, int length) {
+        char[] code = new char[length];
+        code[0] = prefix;
+        for (int i = length - 1; i > 0; i--) {
+            code[i] = (char) ('A' + index % 26);
+            index /= 26;
+        }
+        return new String(code);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,227 @@
+package com.airlineaggregator.datagen.generator;
+
+import com.airlineaggregator.datagen.config.GeneratorProperties;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Renders dataset rows in PostgreSQL {@code COPY} text format. Every row is derived from its own
+ * seeded random stream, so output depends only on the seed and the dataset shape, never on the
+ * order in which workers produce it.
+ *
+ * <p>Occupancy and booking counts scale with the routine's demand (hub popularity x date weight x
+ * time of day). {@code available_seats} is {@code total_seats} minus seats sold through other
+ * channels minus the seats held by this dataset's pending and confirmed bookings.
+ */
+public class DatasetWriter {
+
+    public static final String USER_COLUMNS = "user_id, email, password_hash, first_name, last_name, phone";
+    public static final String ROUTINE_COLUMNS =
+            "id, flight_id, travel_date, departure_time, arrival_time, total_seats, available_seats, " +
+            "base_price, current_price, currency, status, pricing_tiers";
+    public static final String BOOKING_COLUMNS =
+            "booking_id, user_id, flight_routine_id, status, pnr, total_amount, currency, " +
+            "passenger_details, contact_info, expires_at, created_at, updated_at";
+    public static final String PAYMENT_COLUMNS =
+            "payment_id, booking_id, amount, currency, status, payment_method, gateway_provider, " +
+            "transaction_id, processed_at, created_at";
+
+    private static final int MAX_BOOKINGS_PER_ROUTINE = 64;
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Ananya", "Diya", "Ishaan",
+            "Kavya", "Rohan", "Saanvi", "Arjun", "Meera", "Kabir", "Priya", "Rahul", "Neha", "Vikram"};
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Iyer", "Reddy", "Nair", "Gupta",
+            "Patel", "Singh", "Das", "Menon", "Joshi", "Kapoor", "Rao", "Bose", "Mehta", "Khan"};
+    private static final String[] PAYMENT_METHODS = {"upi", "card", "netbanking", "wallet"};
+
+    private final Catalog catalog;
+    private final CalendarSkew calendar;
+    private final long seed;
+    private final int users;
+    private final double bookingsPerRoutine;
+    private final LocalDateTime generatedAt;
+
+    public DatasetWriter(Catalog catalog, CalendarSkew calendar, GeneratorProperties properties) {
+        this.catalog = catalog;
+        this.calendar = calendar;
+        this.seed = properties.getSeed();
+        this.users = properties.scaled(properties.getUsers());
+        this.bookingsPerRoutine = properties.getBookingsPerRoutine();
+        // Timestamps are relative to the start date so the same seed always yields the same rows
+        this.generatedAt = calendar.date(0).atStartOfDay();
+    }
+
+    public int userCount() {
+        return users;
+    }
+
+    public void appendUser(int user, StringBuilder out) {
+        SplittableRandom random = new SplittableRandom(SeededIds.streamSeed(seed, SeededIds.USER, user));
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        out.append(SeededIds.uuid(seed, SeededIds.USER, user)).append('\t')
+           .append(firstName.toLowerCase()).append('.').append(lastName.toLowerCase()).append('.')
+           .append(user).append("@loadtest.example.com\t")
+           .append("$2a$10$loadtest_hash").append('\t')
+           .append(firstName).append('\t')
+           .append(lastName).append('\t')
+           .append("+91-9").append(100_000_000 + random.nextInt(900_000_000)).append('\n');
+    }
+
+    /**
+     * Appends every routine of one flight over the horizon, with its bookings and payments.
+     * Returns the number of routine rows written.
+     */
+    public int appendFlight(int flight, StringBuilder routines, StringBuilder bookings, StringBuilder payments) {
+        LocalTime[] departures = catalog.flightDepartures[flight];
+        int totalSeats = catalog.seats(flight);
+        BigDecimal basePrice = BigDecimal.valueOf(catalog.flightBasePrice[flight]).setScale(2, RoundingMode.HALF_UP);
+        double flightDemand = catalog.flightWeight[flight] / catalog.meanFlightWeight;
+        int written = 0;
+
+        for (int day = 0; day < calendar.days(); day++) {
+            LocalDate travelDate = calendar.date(day);
+            double dateDemand = calendar.relativeWeight(day);
+
+            for (int d = 0; d < departures.length; d++) {
+                long routineIndex = ((long) flight * calendar.days() + day) * catalog.maxDeparturesPerDay() + d;
+                SplittableRandom random = new SplittableRandom(SeededIds.streamSeed(seed, SeededIds.ROUTINE, routineIndex));
+                UUID routineId = SeededIds.uuid(seed, SeededIds.ROUTINE, routineIndex);
+                LocalTime departure = departures[d];
+                double demand = flightDemand * dateDemand * timeOfDayDemand(departure);
+
+                double loadFactor = 0.25 + 0.6 * demand / (1 + demand) + (random.nextDouble() - 0.5) * 0.2;
+                int soldElsewhere = (int) Math.round(totalSeats * Math.max(0.02, Math.min(0.97, loadFactor)));
+                int seatsLeft = totalSeats - soldElsewhere;
+
+                // Current price follows the same multipliers as the seed data and the pricing engine
+                BigDecimal currentPrice = basePrice.multiply(BigDecimal.valueOf(
+                        timeMultiplier(departure) * dayMultiplier(travelDate) * advanceMultiplier(day)
+                                * (0.85 + random.nextDouble() * 0.3))).setScale(2, RoundingMode.HALF_UP);
+
+                double expected = bookingsPerRoutine * demand;
+                int bookingCount = (int) Math.min(MAX_BOOKINGS_PER_ROUTINE,
+                        Math.floor(expected) + (random.nextDouble() < expected - Math.floor(expected) ? 1 : 0));
+                for (int b = 0; b < bookingCount && seatsLeft > 0; b++) {
+                    seatsLeft -= appendBooking(routineIndex * MAX_BOOKINGS_PER_ROUTINE + b, routineId,
+                            currentPrice, seatsLeft, random, bookings, payments);
+                }
+
+                long economy = currentPrice.longValue();
+                routines.append(routineId).append('\t')
+                        .append(catalog.flightIds[flight]).append('\t')
+                        .append(travelDate).append('\t')
+                        .append(departure).append('\t')
+                        .append(departure.plusMinutes(catalog.flightDurationMinutes[flight])).append('\t')
+                        .append(totalSeats).append('\t')
+                        .append(seatsLeft).append('\t')
+                        .append(basePrice.toPlainString()).append('\t')
+                        .append(currentPrice.toPlainString()).append('\t')
+                        .append("INR\tscheduled\t")
+                        .append("{\"economy\": ").append(economy)
+                        .append(", \"business\": ").append(Math.round(economy * 2.5))
+                        .append(", \"first\": ").append(Math.round(economy * 4.2)).append("}\n");
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Appends one booking (and its payment, if any) and returns the seats it holds.
+     */
+    private int appendBooking(long bookingIndex, UUID routineId, BigDecimal fare, int seatsLeft,
+                              SplittableRandom random, StringBuilder bookings, StringBuilder payments) {
+        double partyRoll = random.nextDouble();
+        int passengers = Math.min(seatsLeft, partyRoll < 0.55 ? 1 : partyRoll < 0.80 ? 2 : partyRoll < 0.92 ? 3 : 4);
+
+        double statusRoll = random.nextDouble();
+        String status = statusRoll < 0.70 ? "confirmed" : statusRoll < 0.78 ? "pending"
+                : statusRoll < 0.92 ? "expired" : "cancelled";
+
+        // A few heavy users book far more often than the long tail
+        double userRoll = random.nextDouble();
+        int user = (int) (users * userRoll * userRoll * userRoll);
+
+        UUID bookingId = SeededIds.uuid(seed, SeededIds.BOOKING, bookingIndex);
+        LocalDateTime createdAt = generatedAt.minusMinutes(random.nextInt(60 * 24 * 30));
+        LocalDateTime expiresAt = "pending".equals(status) ? generatedAt.plusMinutes(15) : createdAt.plusMinutes(15);
+        BigDecimal total = fare.multiply(BigDecimal.valueOf(passengers))
+                .multiply(BigDecimal.valueOf(1.15)).setScale(2, RoundingMode.HALF_UP);
+
+        bookings.append(bookingId).append('\t')
+                .append(SeededIds.uuid(seed, SeededIds.USER, user)).append('\t')
+                .append(routineId).append('\t')
+                .append(status).append('\t');
+        if ("confirmed".equals(status)) {
+            appendPnr(random, bookings);
+        } else {
+            bookings.append("\\N");
+        }
+        bookings.append('\t').append(total.toPlainString()).append("\tINR\t[");
+        for (int p = 0; p < passengers; p++) {
+            if (p > 0) {
+                bookings.append(", ");
+            }
+            bookings.append("{\"title\": \"").append(random.nextBoolean() ? "Mr" : "Ms")
+                    .append("\", \"firstName\": \"").append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                    .append("\", \"lastName\": \"").append(LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                    .append("\", \"nationality\": \"Indian\"}");
+        }
+        bookings.append("]\t{\"email\": \"user").append(user).append("@loadtest.example.com\"}\t")
+                .append(expiresAt).append('\t')
+                .append(createdAt).append('\t')
+                .append(createdAt).append('\n');
+
+        String paymentStatus = "confirmed".equals(status) ? "success"
+                : "cancelled".equals(status) && random.nextBoolean() ? "refunded"
+                : "expired".equals(status) && random.nextDouble() < 0.3 ? "failed" : null;
+        if (paymentStatus != null) {
+            LocalDateTime processedAt = createdAt.plusSeconds(30 + random.nextInt(600));
+            payments.append(SeededIds.uuid(seed, SeededIds.PAYMENT, bookingIndex)).append('\t')
+                    .append(bookingId).append('\t')
+                    .append(total.toPlainString()).append("\tINR\t")
+                    .append(paymentStatus).append('\t')
+                    .append(PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]).append('\t')
+                    .append("mock_gateway\t")
+                    .append("TXN").append(Long.toHexString(bookingIndex).toUpperCase()).append('\t')
+                    .append(processedAt).append('\t')
+                    .append(processedAt).append('\n');
+        }
+
+        return "confirmed".equals(status) || "pending".equals(status) ? passengers : 0;
+    }
+
+    private static void appendPnr(SplittableRandom random, StringBuilder out) {
+        for (int i = 0; i < 3; i++) {
+            out.append((char) ('A' + random.nextInt(26)));
+        }
+        out.append(100 + random.nextInt(900));
+    }
+
+    private static double timeOfDayDemand(LocalTime departure) {
+        int hour = departure.getHour();
+        return (hour >= 6 && hour <= 9) || (hour >= 17 && hour <= 21) ? 1.3 : hour >= 22 || hour <= 5 ? 0.6 : 1.0;
+    }
+
+    private static double timeMultiplier(LocalTime departure) {
+        int hour = departure.getHour();
+        return (hour >= 6 && hour <= 9) || (hour >= 17 && hour <= 21) ? 1.20 : hour >= 22 || hour <= 5 ? 0.80 : 1.0;
+    }
+
+    private static double dayMultiplier(LocalDate travelDate) {
+        DayOfWeek day = travelDate.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? 1.25 : day == DayOfWeek.FRIDAY ? 1.15 : 1.0;
+    }
+
+    private static double advanceMultiplier(int daysAhead) {
+        return daysAhead <= 1 ? 1.40 : daysAhead <= 3 ? 1.25 : daysAhead <= 7 ? 1.10
+                : daysAhead <= 14 ? 1.00 : daysAhead <= 21 ? 0.95 : 0.90;
+    }
+} 
\ No newline at end of file
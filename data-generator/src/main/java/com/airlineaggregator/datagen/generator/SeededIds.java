@@ -0,0 +1,43 @@
+package com.airlineaggregator.datagen.generator;
+
+import java.util.UUID;
+
+/**
+ * Deterministic ids and random streams derived from the dataset seed. Ids are a pure function of
+ * (seed, kind, index), so rows can reference each other without keeping id lists in memory and the
+ * same seed always produces the same dataset regardless of how work is split across workers.
+ */
+public final class SeededIds {
+
+    public static final long AIRLINE = 0x41L;
+    public static final long FLIGHT = 0x46L;
+    public static final long USER = 0x55L;
+    public static final long ROUTINE = 0x52L;
+    public static final long BOOKING = 0x42L;
+    public static final long PAYMENT = 0x50L;
+
+    private SeededIds() {}
+
+    public static UUID uuid(long seed, long kind, long index) {
+        long msb = mix(seed ^ (kind << 56) ^ index);
+        long lsb = mix(msb ^ index ^ 0x9E3779B97F4A7C15L);
+        // Version 4 / IETF variant bits so the ids look like gen_random_uuid() output
+        msb = (msb & ~0xF000L) | 0x4000L;
+        lsb = (lsb & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Seed for the random stream of one entity, independent of every other entity's stream.
+     */
+    public static long streamSeed(long seed, long kind, long index) {
+        return mix(mix(seed + kind) ^ index);
+    }
+
+    // SplitMix64 finalizer
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.airlineaggregator.datagen.loader;
+
+import com.airlineaggregator.datagen.config.GeneratorProperties;
+import com.airlineaggregator.datagen.generator.CalendarSkew;
+import com.airlineaggregator.datagen.generator.Catalog;
+import com.airlineaggregator.datagen.generator.DatasetWriter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a generated dataset into PostgreSQL with parallel {@code COPY} streams.
+ *
+ * <p>Reference data (airlines, airports, flights) goes in first on a single connection, then users
+ * in parallel chunks. Flights are handed out to the workers one at a time; each worker renders a
+ * flight's routines, bookings and payments and copies the three tables in that order within one
+ * transaction, committing roughly every {@code rows-per-transaction} routines so foreign keys are
+ * always satisfied and a failed run only loses the open chunk.
+ */
+@Component
+public class CopyLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(CopyLoader.class);
+
+    private static final String TRUNCATE =
+            "TRUNCATE payments, bookings, flight_routines, route_segments, flights, users, airports, airlines CASCADE";
+
+    private static final String HAS_DATA =
+            "SELECT EXISTS (SELECT 1 FROM airlines) OR EXISTS (SELECT 1 FROM airports) OR EXISTS (SELECT 1 FROM flights)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private GeneratorProperties properties;
+
+    public void load() {
+        long startTime = System.currentTimeMillis();
+        Catalog catalog = new Catalog(properties);
+        CalendarSkew calendar = new CalendarSkew(properties.getSeed(), properties.resolveStartDate(),
+                Math.max(1, properties.getDays()), properties.getHotDates());
+        DatasetWriter writer = new DatasetWriter(catalog, calendar, properties);
+        int workers = Math.max(1, properties.getWorkers());
+
+        logger.info("Generating dataset with seed {} at scale {}: {} airports, {} airlines, {} flights, {} users, {} days from {}",
+                   properties.getSeed(), properties.getScale(), catalog.airportCount(), catalog.airlineCount(),
+                   catalog.flightCount(), writer.userCount(), calendar.days(), calendar.date(0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            loadReferenceData(catalog);
+
+            List<Callable<long[]>> userTasks = new ArrayList<>(workers);
+            int usersPerWorker = (writer.userCount() + workers - 1) / workers;
+            for (int w = 0; w < workers; w++) {
+                int from = w * usersPerWorker;
+                int to = Math.min(writer.userCount(), from + usersPerWorker);
+                if (from < to) {
+                    userTasks.add(() -> new long[]{loadUsers(writer, from, to)});
+                }
+            }
+            long users = sum(executor, userTasks)[0];
+            logger.info("Loaded {} users", users);
+
+            AtomicInteger nextFlight = new AtomicInteger();
+            List<Callable<long[]>> flightTasks = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                flightTasks.add(() -> loadFlights(writer, catalog.flightCount(), nextFlight));
+            }
+            long[] counts = sum(executor, flightTasks);
+
+            logger.info("Loaded {} routines, {} bookings and {} payments in {} ms",
+                       counts[0], counts[1], counts[2], System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("Data generation failed: " + cause.getMessage(), cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void loadReferenceData(Catalog catalog) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                if (properties.isTruncate()) {
+                    statement.execute(TRUNCATE);
+                } else {
+                    try (ResultSet rs = statement.executeQuery(HAS_DATA)) {
+                        rs.next();
+                        if (rs.getBoolean(1)) {
+                            throw new IllegalStateException("Target database already has airlines, airports or flights; " +
+                                    "rerun with --generator.truncate=true to replace all existing data");
+                        }
+                    }
+                }
+            }
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            StringBuilder buffer = new StringBuilder();
+            for (int i = 0; i < catalog.airlineCount(); i++) {
+                catalog.appendAirline(i, buffer);
+            }
+            copy(copy, "airlines", Catalog.AIRLINE_COLUMNS, buffer);
+            for (int i = 0; i < catalog.airportCount(); i++) {
+                catalog.appendAirport(i, buffer);
+            }
+            copy(copy, "airports", Catalog.AIRPORT_COLUMNS, buffer);
+            for (int i = 0; i < catalog.flightCount(); i++) {
+                catalog.appendFlight(i, buffer);
+            }
+            copy(copy, "flights", Catalog.FLIGHT_COLUMNS, buffer);
+
+            connection.commit();
+        }
+    }
+
+    private long loadUsers(DatasetWriter writer, int from, int to) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            StringBuilder buffer = new StringBuilder();
+            for (int user = from; user < to; user++) {
+                writer.appendUser(user, buffer);
+                if ((user - from + 1) % properties.getRowsPerTransaction() == 0) {
+                    copy(copy, "users", DatasetWriter.USER_COLUMNS, buffer);
+                    connection.commit();
+                }
+            }
+            copy(copy, "users", DatasetWriter.USER_COLUMNS, buffer);
+            connection.commit();
+        }
+        return to - from;
+    }
+
+    /**
+     * Claims flights until none are left, copying routines, bookings and payments per chunk.
+     */
+    private long[] loadFlights(DatasetWriter writer, int flightCount, AtomicInteger nextFlight)
+            throws SQLException, IOException {
+        long[] counts = new long[3];
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            StringBuilder routines = new StringBuilder();
+            StringBuilder bookings = new StringBuilder();
+            StringBuilder payments = new StringBuilder();
+            int routinesInTransaction = 0;
+            int flight;
+            while ((flight = nextFlight.getAndIncrement()) < flightCount) {
+                routinesInTransaction += writer.appendFlight(flight, routines, bookings, payments);
+                if (routinesInTransaction >= properties.getRowsPerTransaction()) {
+                    commitChunk(connection, copy, routines, bookings, payments, counts);
+                    routinesInTransaction = 0;
+                }
+            }
+            commitChunk(connection, copy, routines, bookings, payments, counts);
+        }
+        return counts;
+    }
+
+    private void commitChunk(Connection connection, CopyManager copy, StringBuilder routines,
+                             StringBuilder bookings, StringBuilder payments, long[] counts)
+            throws SQLException, IOException {
+        counts[0] += copy(copy, "flight_routines", DatasetWriter.ROUTINE_COLUMNS, routines);
+        counts[1] += copy(copy, "bookings", DatasetWriter.BOOKING_COLUMNS, bookings);
+        counts[2] += copy(copy, "payments", DatasetWriter.PAYMENT_COLUMNS, payments);
+        connection.commit();
+    }
+
+    private static long copy(CopyManager copy, String table, String columns, StringBuilder buffer)
+            throws SQLException, IOException {
+        if (buffer.length() == 0) {
+            return 0;
+        }
+        long rows = copy.copyIn("COPY " + table + " (" + columns + ") FROM STDIN", new StringReader(buffer.toString()));
+        buffer.setLength(0);
+        return rows;
+    }
+
+    private static long[] sum(ExecutorService executor, List<Callable<long[]>> tasks) throws Exception {
+        long[] total = new long[3];
+        List<Future<long[]>> futures = new ArrayList<>(tasks.size());
+        for (Callable<long[]> task : tasks) {
+            futures.add(executor.submit(task));
+        }
+        for (Future<long[]> future : futures) {
+            long[] counts = future.get();
+            for (int i = 0; i < counts.length; i++) {
+                total[i] += counts[i];
+            }
+        }
+        return total;
+    }
+} 
\ No newline at end of file
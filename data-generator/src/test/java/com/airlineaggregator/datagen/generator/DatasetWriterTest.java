@@ -0,0 +1,91 @@
+package com.airlineaggregator.datagen.generator;
+
+import com.airlineaggregator.datagen.config.GeneratorProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetWriterTest {
+
+    @Test
+    void appendFlight_SameSeed_ProducesIdenticalRowsInAnyOrder() {
+        // Given
+        DatasetWriter first = writer(properties(7L));
+        DatasetWriter second = writer(properties(7L));
+        int flights = new Catalog(properties(7L)).flightCount();
+
+        // When
+        String[] forward = new String[flights];
+        for (int flight = 0; flight < flights; flight++) {
+            forward[flight] = render(first, flight);
+        }
+        String[] backward = new String[flights];
+        for (int flight = flights - 1; flight >= 0; flight--) {
+            backward[flight] = render(second, flight);
+        }
+
+        // Then
+        assertArrayEquals(forward, backward);
+    }
+
+    @Test
+    void appendFlight_DifferentSeed_ProducesDifferentRows() {
+        // Given
+        DatasetWriter first = writer(properties(7L));
+        DatasetWriter second = writer(properties(8L));
+
+        // When / Then
+        assertNotEquals(render(first, 0), render(second, 0));
+    }
+
+    @Test
+    void appendFlight_AvailableSeatsStayWithinCapacity() {
+        // Given
+        GeneratorProperties properties = properties(7L);
+        Catalog catalog = new Catalog(properties);
+        DatasetWriter writer = writer(properties);
+        StringBuilder routines = new StringBuilder();
+
+        // When
+        int written = 0;
+        for (int flight = 0; flight < catalog.flightCount(); flight++) {
+            written += writer.appendFlight(flight, routines, new StringBuilder(), new StringBuilder());
+        }
+
+        // Then
+        String[] rows = routines.toString().split("\n");
+        assertEquals(written, rows.length);
+        for (String row : rows) {
+            String[] columns = row.split("\t");
+            int total = Integer.parseInt(columns[5]);
+            int available = Integer.parseInt(columns[6]);
+            assertTrue(available >= 0 && available <= total, row);
+        }
+    }
+
+    private static String render(DatasetWriter writer, int flight) {
+        StringBuilder routines = new StringBuilder();
+        StringBuilder bookings = new StringBuilder();
+        StringBuilder payments = new StringBuilder();
+        writer.appendFlight(flight, routines, bookings, payments);
+        return routines + "|" + bookings + "|" + payments;
+    }
+
+    private static DatasetWriter writer(GeneratorProperties properties) {
+        Catalog catalog = new Catalog(properties);
+        CalendarSkew calendar = new CalendarSkew(properties.getSeed(), properties.resolveStartDate(),
+                properties.getDays(), properties.getHotDates());
+        return new DatasetWriter(catalog, calendar, properties);
+    }
+
+    private static GeneratorProperties properties(long seed) {
+        GeneratorProperties properties = new GeneratorProperties();
+        properties.setSeed(seed);
+        properties.setScale(0.01);
+        properties.setDays(30);
+        properties.setStartDate(LocalDate.of(2025, 3, 1));
+        return properties;
+    }
+} 
\ No newline at end of file
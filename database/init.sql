@@ -66,8 +66,8 @@ CREATE TABLE flight_routines (
     currency VARCHAR(3) DEFAULT 'INR',
     status VARCHAR(20) DEFAULT 'scheduled',
     pricing_tiers JSONB,
-    price_updated_at TIMESTAMP DEFAULT NOW(),
-    availability_updated_at TIMESTAMP DEFAULT NOW(),
+    price_updated_at TIMESTAMP DEFAULT clock_timestamp(),
+    availability_updated_at TIMESTAMP DEFAULT clock_timestamp(),
     created_at TIMESTAMP DEFAULT NOW(),
     updated_at TIMESTAMP DEFAULT NOW(),
     UNIQUE(flight_id, travel_date, departure_time)
@@ -117,15 +117,83 @@ CREATE TABLE payments (
     created_at TIMESTAMP DEFAULT NOW()
 );
 
+-- Bulk repricing jobs with per-partition checkpoints so a job can resume where it stopped
+CREATE TABLE repricing_jobs (
+    job_id VARCHAR(64) PRIMARY KEY,
+    base_price_factor DECIMAL(8,4) NOT NULL DEFAULT 1.0,
+    status VARCHAR(20) DEFAULT 'running',
+    created_at TIMESTAMP DEFAULT NOW(),
+    completed_at TIMESTAMP
+);
+
+CREATE TABLE repricing_checkpoints (
+    job_id VARCHAR(64) REFERENCES repricing_jobs(job_id),
+    partition_no INTEGER NOT NULL,
+    travel_date DATE NOT NULL,
+    flight_id_from UUID,
+    flight_id_to UUID,
+    last_routine_id UUID,
+    rows_repriced INTEGER DEFAULT 0,
+    completed BOOLEAN DEFAULT false,
+    updated_at TIMESTAMP DEFAULT NOW(),
+    PRIMARY KEY (job_id, partition_no)
+);
+
+-- Async booking queue: requests partitioned by flight routine, processed in seq order per partition
+CREATE TABLE booking_tickets (
+    ticket_id UUID PRIMARY KEY,
+    seq BIGSERIAL,
+    flight_routine_id UUID NOT NULL,
+    partition_no INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'queued',
+    request JSONB NOT NULL,
+    booking_id UUID,
+    result JSONB,
+    error_message TEXT,
+    created_at TIMESTAMP DEFAULT NOW(),
+    completed_at TIMESTAMP
+);
+
+-- Transactional outbox: booking and payment state changes, written in the same transaction as the
+-- change and drained in id order by the booking service's relay
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP DEFAULT NOW(),
+    published_at TIMESTAMP
+);
+
+-- Keep updated_at current on reference data, whoever writes it; the services' second-level cache
+-- invalidators poll (updated_at, id) to evict changed flights and airlines
+CREATE FUNCTION set_updated_at() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_airlines_updated_at BEFORE UPDATE ON airlines
+    FOR EACH ROW EXECUTE FUNCTION set_updated_at();
+CREATE TRIGGER trg_flights_updated_at BEFORE UPDATE ON flights
+    FOR EACH ROW EXECUTE FUNCTION set_updated_at();
+
 -- Performance indexes
 CREATE INDEX idx_flight_routines_search ON flight_routines(travel_date, available_seats);
 CREATE INDEX idx_flight_routines_flight ON flight_routines(flight_id, travel_date);
+CREATE INDEX idx_flight_routines_changed ON flight_routines((GREATEST(price_updated_at, availability_updated_at)), id);
 CREATE INDEX idx_flights_route ON flights(source_airport, destination_airport);
 CREATE INDEX idx_flights_airline ON flights(airline_id);
-CREATE INDEX idx_bookings_user ON bookings(user_id);
+CREATE INDEX idx_flights_updated ON flights(updated_at, id);
+CREATE INDEX idx_bookings_user_history ON bookings(user_id, created_at DESC, booking_id DESC)
+    INCLUDE (status, pnr, flight_routine_id, total_amount, currency, expires_at);
 CREATE INDEX idx_bookings_routine ON bookings(flight_routine_id);
 CREATE INDEX idx_bookings_status ON bookings(status);
 CREATE INDEX idx_payments_booking ON payments(booking_id);
+CREATE INDEX idx_booking_tickets_queued ON booking_tickets(partition_no, seq) WHERE status = 'queued';
+CREATE INDEX idx_outbox_events_unpublished ON outbox_events(id) WHERE published_at IS NULL;
 
 -- Composite index for search optimization
 CREATE INDEX idx_search_optimization ON flight_routines(travel_date, available_seats) 
@@ -0,0 +1,36 @@
+package com.airlineaggregator.loadtest;
+
+import com.airlineaggregator.loadtest.config.LoadTestProperties;
+import com.airlineaggregator.loadtest.metrics.LoadReport;
+import com.airlineaggregator.loadtest.runner.LoadRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadGeneratorApplication implements CommandLineRunner, ExitCodeGenerator {
+
+    @Autowired
+    private LoadRunner loadRunner;
+
+    private LoadReport report;
+
+    public static void main(String[] args) {
+        // Exit non-zero when the release gate fails so CI can act on it
+        System.exit(SpringApplication.exit(SpringApplication.run(LoadGeneratorApplication.class, args)));
+    }
+
+    @Override
+    public void run(String... args) {
+        report = loadRunner.run();
+    }
+
+    @Override
+    public int getExitCode() {
+        return report == null || report.isPassed() ? 0 : 1;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.airlineaggregator.loadtest.client;
+
+import com.airlineaggregator.loadtest.config.LoadTestProperties;
+import com.airlineaggregator.loadtest.workload.FunnelWorkload;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking HTTP calls against the search, booking and payment services. All requests share
+ * one {@link HttpClient}, so connections are pooled and kept alive across sessions.
+ */
+public class ServiceClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LoadTestProperties properties;
+    private final Duration timeout;
+
+    public ServiceClient(LoadTestProperties properties, ObjectMapper objectMapper, Executor executor) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(properties.getRequestTimeoutMs());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> search(FunnelWorkload.Session session, String traceparent) {
+        String uri = properties.getSearchUrl() + "/api/v1/flights/search?source=" + session.source() +
+                "&destination=" + session.destination() + "&travelDate=" + session.travelDate() +
+                "&passengers=" + session.passengers() + "&sortBy=" + session.sortBy();
+        return send(HttpRequest.newBuilder(URI.create(uri)).timeout(timeout).GET(), traceparent);
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> book(String flightRoutineId, int passengers, long sessionNumber,
+                                                         String traceparent) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("flightRoutineId", flightRoutineId);
+        ArrayNode passengerNodes = body.putArray("passengers");
+        for (int i = 0; i < passengers; i++) {
+            passengerNodes.addObject()
+                    .put("title", "Mr")
+                    .put("firstName", "Load")
+                    .put("lastName", "Tester" + i)
+                    .put("dateOfBirth", "1990-01-01")
+                    .put("nationality", "Indian");
+        }
+        body.putObject("contactInfo")
+                .put("email", "load" + sessionNumber + "@loadtest.example.com")
+                .put("phone", "+91-9876543210");
+        return post(properties.getBookingUrl() + "/api/v1/bookings", body, traceparent);
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> pay(String bookingId, String traceparent) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("bookingId", bookingId);
+        body.putObject("paymentMethod")
+                .put("type", "upi")
+                .put("upiId", "loadtest@upi");
+        return post(properties.getPaymentUrl() + "/api/v1/payments", body, traceparent);
+    }
+
+    /**
+     * Picks a routine from a search response that still has seats for the party, or null.
+     */
+    public String pickRoutine(HttpResponse<byte[]> response, int passengers, int preferredRank) throws IOException {
+        JsonNode flights = objectMapper.readTree(response.body()).path("flights");
+        String fallback = null;
+        for (int i = 0; i < flights.size(); i++) {
+            JsonNode flight = flights.get(i);
+            if (flight.path("availability").path("availableSeats").asInt(0) >= passengers) {
+                if (i >= preferredRank) {
+                    return flight.path("flightRoutineId").asText(null);
+                }
+                if (fallback == null) {
+                    fallback = flight.path("flightRoutineId").asText(null);
+                }
+            }
+        }
+        return fallback;
+    }
+
+    public String field(HttpResponse<byte[]> response, String name) throws IOException {
+        return objectMapper.readTree(response.body()).path(name).asText(null);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> post(String uri, ObjectNode body, String traceparent) {
+        try {
+            return send(HttpRequest.newBuilder(URI.create(uri))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))),
+                    traceparent);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest.Builder request, String traceparent) {
+        if (traceparent != null) {
+            request.header("traceparent", traceparent);
+        }
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+} 
\ No newline at end of file
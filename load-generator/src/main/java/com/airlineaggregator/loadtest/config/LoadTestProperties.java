@@ -0,0 +1,132 @@
+package com.airlineaggregator.loadtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shape of a load-test run. In {@code open} mode sessions arrive at {@code rate} per second no
+ * matter how slowly the services respond; in {@code closed} mode {@code concurrency} virtual users
+ * each run one session at a time, paced so the group aims at {@code rate} (0 = no pacing). A
+ * {@code traceSampleRate} fraction of sessions send a sampled W3C {@code traceparent} so their
+ * search, booking and payment calls are recorded as one trace.
+ */
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    public enum Mode { OPEN, CLOSED }
+
+    private String searchUrl = "http://localhost:8081";
+    private String bookingUrl = "http://localhost:8082";
+    private String paymentUrl = "http://localhost:8083";
+
+    private Mode mode = Mode.OPEN;
+    private double rate = 50.0;
+    private int concurrency = 32;
+    private int durationSeconds = 60;
+    private int warmupSeconds = 10;
+    private int maxInFlight = 5000;
+    private int requestTimeoutMs = 10_000;
+    private long seed = 42L;
+    private double traceSampleRate = 0.0;
+
+    private Mix mix = new Mix();
+    private Workload workload = new Workload();
+    private Gate gate = new Gate();
+    private String reportPath = "target/load-report.json";
+
+    /**
+     * Relative weights of the funnel steps, e.g. 100 searches : 5 bookings : 4 payments.
+     */
+    public static class Mix {
+        private int searches = 100;
+        private int bookings = 5;
+        private int payments = 4;
+
+        public int getSearches() { return searches; }
+        public void setSearches(int searches) { this.searches = searches; }
+        public int getBookings() { return bookings; }
+        public void setBookings(int bookings) { this.bookings = bookings; }
+        public int getPayments() { return payments; }
+        public void setPayments(int payments) { this.payments = payments; }
+    }
+
+    /**
+     * Routes ordered by popularity; rank r is picked with weight 1/r^routeExponent, and a date
+     * d days ahead with weight 1/(d+1)^dateExponent.
+     */
+    public static class Workload {
+        private List<String> routes = new ArrayList<>(List.of(
+                "DEL-BLR", "BOM-DEL", "DEL-BOM", "BLR-DEL", "BOM-BLR", "BLR-BOM",
+                "DEL-HYD", "HYD-DEL", "MAA-BLR", "DEL-CCU", "MAA-DEL", "PNQ-DEL"));
+        private double routeExponent = 1.0;
+        private int days = 30;
+        private double dateExponent = 0.8;
+        private int maxPassengers = 3;
+        private List<String> sortBy = new ArrayList<>(List.of("price", "price", "duration"));
+
+        public List<String> getRoutes() { return routes; }
+        public void setRoutes(List<String> routes) { this.routes = routes; }
+        public double getRouteExponent() { return routeExponent; }
+        public void setRouteExponent(double routeExponent) { this.routeExponent = routeExponent; }
+        public int getDays() { return days; }
+        public void setDays(int days) { this.days = days; }
+        public double getDateExponent() { return dateExponent; }
+        public void setDateExponent(double dateExponent) { this.dateExponent = dateExponent; }
+        public int getMaxPassengers() { return maxPassengers; }
+        public void setMaxPassengers(int maxPassengers) { this.maxPassengers = maxPassengers; }
+        public List<String> getSortBy() { return sortBy; }
+        public void setSortBy(List<String> sortBy) { this.sortBy = sortBy; }
+    }
+
+    /**
+     * Release gate; a threshold of 0 is not checked.
+     */
+    public static class Gate {
+        private double maxP99Ms = 0;
+        private double minThroughput = 0;
+        private double maxErrorRate = 0.01;
+
+        public double getMaxP99Ms() { return maxP99Ms; }
+        public void setMaxP99Ms(double maxP99Ms) { this.maxP99Ms = maxP99Ms; }
+        public double getMinThroughput() { return minThroughput; }
+        public void setMinThroughput(double minThroughput) { this.minThroughput = minThroughput; }
+        public double getMaxErrorRate() { return maxErrorRate; }
+        public void setMaxErrorRate(double maxErrorRate) { this.maxErrorRate = maxErrorRate; }
+    }
+
+    // Getters and Setters
+    public String getSearchUrl() { return searchUrl; }
+    public void setSearchUrl(String searchUrl) { this.searchUrl = searchUrl; }
+    public String getBookingUrl() { return bookingUrl; }
+    public void setBookingUrl(String bookingUrl) { this.bookingUrl = bookingUrl; }
+    public String getPaymentUrl() { return paymentUrl; }
+    public void setPaymentUrl(String paymentUrl) { this.paymentUrl = paymentUrl; }
+    public Mode getMode() { return mode; }
+    public void setMode(Mode mode) { this.mode = mode; }
+    public double getRate() { return rate; }
+    public void setRate(double rate) { this.rate = rate; }
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+    public int getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(int durationSeconds) { this.durationSeconds = durationSeconds; }
+    public int getWarmupSeconds() { return warmupSeconds; }
+    public void setWarmupSeconds(int warmupSeconds) { this.warmupSeconds = warmupSeconds; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+    public int getRequestTimeoutMs() { return requestTimeoutMs; }
+    public void setRequestTimeoutMs(int requestTimeoutMs) { this.requestTimeoutMs = requestTimeoutMs; }
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    public double getTraceSampleRate() { return traceSampleRate; }
+    public void setTraceSampleRate(double traceSampleRate) { this.traceSampleRate = traceSampleRate; }
+    public Mix getMix() { return mix; }
+    public void setMix(Mix mix) { this.mix = mix; }
+    public Workload getWorkload() { return workload; }
+    public void setWorkload(Workload workload) { this.workload = workload; }
+    public Gate getGate() { return gate; }
+    public void setGate(Gate gate) { this.gate = gate; }
+    public String getReportPath() { return reportPath; }
+    public void setReportPath(String reportPath) { this.reportPath = reportPath; }
+} 
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.airlineaggregator.loadtest.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counters for one endpoint.
+ *
+ * <p>Two histograms are kept in microseconds. {@code corrected} measures from the moment the
+ * request was <em>supposed</em> to start according to the arrival schedule, so time spent queued
+ * behind a slow response is charged to the response instead of silently vanishing (coordinated
+ * omission). {@code uncorrected} measures from the actual send and is reported alongside for
+ * comparison; a large gap between the two means the system fell behind the offered load.
+ *
+ * <p>Transport failures and 5xx responses count as errors; 4xx responses (sold-out routines, expired
+ * bookings) are legitimate business outcomes under load and are counted as rejections. Only 2xx
+ * responses count towards goodput, so shed requests (503) lower it even though they are fast.
+ */
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final String name;
+    private final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one request; {@code statusCode} is negative when no response arrived.
+     */
+    public void record(long intendedStartNanos, long sendStartNanos, long endNanos, int statusCode) {
+        corrected.recordValue(clamp(endNanos - intendedStartNanos));
+        uncorrected.recordValue(clamp(endNanos - sendStartNanos));
+        if (statusCode < 0 || statusCode >= 500) {
+            errors.increment();
+        } else if (statusCode >= 400) {
+            rejected.increment();
+        } else if (statusCode >= 200 && statusCode < 300) {
+            successes.increment();
+        }
+    }
+
+    private static long clamp(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    public String getName() { return name; }
+    public Histogram getCorrected() { return corrected; }
+    public Histogram getUncorrected() { return uncorrected; }
+    public long getRequests() { return corrected.getTotalCount(); }
+    public long getErrors() { return errors.sum(); }
+    public long getRejected() { return rejected.sum(); }
+    public long getSuccesses() { return successes.sum(); }
+} 
\ No newline at end of file
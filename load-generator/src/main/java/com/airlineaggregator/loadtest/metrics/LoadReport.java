@@ -0,0 +1,148 @@
+package com.airlineaggregator.loadtest.metrics;
+
+import com.airlineaggregator.loadtest.config.LoadTestProperties;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable summary of a run, written as JSON so a pipeline can gate a release on it.
+ * Latencies are in milliseconds and taken from the coordinated-omission corrected histograms;
+ * the uncorrected percentiles are included for comparison.
+ */
+public class LoadReport {
+
+    private String mode;
+    private double targetRate;
+    private int concurrency;
+    private double measuredSeconds;
+    private long sessionsStarted;
+    private long sessionsDropped;
+    private long totalRequests;
+    private double throughput;
+    private double goodput;
+    private Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+    private boolean passed;
+    private List<String> violations = new ArrayList<>();
+
+    public static class EndpointReport {
+        private long requests;
+        private long errors;
+        private long rejected;
+        private double errorRate;
+        private double throughput;
+        private double goodput;
+        private Map<String, Double> latencyMs;
+        private Map<String, Double> uncorrectedLatencyMs;
+
+        // Getters and Setters
+        public long getRequests() { return requests; }
+        public void setRequests(long requests) { this.requests = requests; }
+        public long getErrors() { return errors; }
+        public void setErrors(long errors) { this.errors = errors; }
+        public long getRejected() { return rejected; }
+        public void setRejected(long rejected) { this.rejected = rejected; }
+        public double getErrorRate() { return errorRate; }
+        public void setErrorRate(double errorRate) { this.errorRate = errorRate; }
+        public double getThroughput() { return throughput; }
+        public void setThroughput(double throughput) { this.throughput = throughput; }
+        public double getGoodput() { return goodput; }
+        public void setGoodput(double goodput) { this.goodput = goodput; }
+        public Map<String, Double> getLatencyMs() { return latencyMs; }
+        public void setLatencyMs(Map<String, Double> latencyMs) { this.latencyMs = latencyMs; }
+        public Map<String, Double> getUncorrectedLatencyMs() { return uncorrectedLatencyMs; }
+        public void setUncorrectedLatencyMs(Map<String, Double> uncorrectedLatencyMs) { this.uncorrectedLatencyMs = uncorrectedLatencyMs; }
+    }
+
+    public static LoadReport build(LoadTestProperties properties, List<EndpointStats> stats,
+                                   double measuredSeconds, long sessionsStarted, long sessionsDropped) {
+        LoadReport report = new LoadReport();
+        report.mode = properties.getMode().name().toLowerCase();
+        report.targetRate = properties.getRate();
+        report.concurrency = properties.getMode() == LoadTestProperties.Mode.CLOSED ? properties.getConcurrency() : 0;
+        report.measuredSeconds = round(measuredSeconds);
+        report.sessionsStarted = sessionsStarted;
+        report.sessionsDropped = sessionsDropped;
+
+        double seconds = Math.max(measuredSeconds, 1e-9);
+        long successes = 0;
+        for (EndpointStats endpoint : stats) {
+            EndpointReport endpointReport = new EndpointReport();
+            endpointReport.requests = endpoint.getRequests();
+            endpointReport.errors = endpoint.getErrors();
+            endpointReport.rejected = endpoint.getRejected();
+            endpointReport.errorRate = endpoint.getRequests() > 0
+                    ? round((double) endpoint.getErrors() / endpoint.getRequests()) : 0;
+            endpointReport.throughput = round(endpoint.getRequests() / seconds);
+            endpointReport.goodput = round(endpoint.getSuccesses() / seconds);
+            endpointReport.latencyMs = percentiles(endpoint.getCorrected());
+            endpointReport.uncorrectedLatencyMs = percentiles(endpoint.getUncorrected());
+            report.endpoints.put(endpoint.getName(), endpointReport);
+            report.totalRequests += endpoint.getRequests();
+            successes += endpoint.getSuccesses();
+        }
+        report.throughput = round(report.totalRequests / seconds);
+        report.goodput = round(successes / seconds);
+        report.evaluate(properties.getGate());
+        return report;
+    }
+
+    void evaluate(LoadTestProperties.Gate gate) {
+        violations.clear();
+        if (gate.getMinThroughput() > 0 && throughput < gate.getMinThroughput()) {
+            violations.add("throughput " + throughput + " req/s is below " + gate.getMinThroughput());
+        }
+        if (sessionsDropped > 0) {
+            violations.add(sessionsDropped + " sessions dropped because max-in-flight was reached");
+        }
+        for (Map.Entry<String, EndpointReport> entry : endpoints.entrySet()) {
+            EndpointReport endpoint = entry.getValue();
+            if (endpoint.requests == 0) {
+                continue;
+            }
+            if (gate.getMaxP99Ms() > 0 && endpoint.latencyMs.get("p99") > gate.getMaxP99Ms()) {
+                violations.add(entry.getKey() + " p99 " + endpoint.latencyMs.get("p99") + " ms exceeds " + gate.getMaxP99Ms());
+            }
+            if (endpoint.errorRate > gate.getMaxErrorRate()) {
+                violations.add(entry.getKey() + " error rate " + endpoint.errorRate + " exceeds " + gate.getMaxErrorRate());
+            }
+        }
+        passed = violations.isEmpty();
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("mean", round(histogram.getMean() / 1000.0));
+        percentiles.put("p50", millis(histogram, 50.0));
+        percentiles.put("p90", millis(histogram, 90.0));
+        percentiles.put("p99", millis(histogram, 99.0));
+        percentiles.put("p999", millis(histogram, 99.9));
+        percentiles.put("max", round(histogram.getMaxValue() / 1000.0));
+        return percentiles;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    // Getters
+    public String getMode() { return mode; }
+    public double getTargetRate() { return targetRate; }
+    public int getConcurrency() { return concurrency; }
+    public double getMeasuredSeconds() { return measuredSeconds; }
+    public long getSessionsStarted() { return sessionsStarted; }
+    public long getSessionsDropped() { return sessionsDropped; }
+    public long getTotalRequests() { return totalRequests; }
+    public double getThroughput() { return throughput; }
+    public double getGoodput() { return goodput; }
+    public Map<String, EndpointReport> getEndpoints() { return endpoints; }
+    public boolean isPassed() { return passed; }
+    public List<String> getViolations() { return violations; }
+} 
\ No newline at end of file
@@ -0,0 +1,286 @@
+package com.airlineaggregator.loadtest.runner;
+
+import com.airlineaggregator.loadtest.client.ServiceClient;
+import com.airlineaggregator.loadtest.config.LoadTestProperties;
+import com.airlineaggregator.loadtest.metrics.EndpointStats;
+import com.airlineaggregator.loadtest.metrics.LoadReport;
+import com.airlineaggregator.loadtest.workload.FunnelWorkload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Drives search → book → pay sessions against the running services and writes a {@link LoadReport}.
+ *
+ * <p>Every session has an intended start time taken from the arrival schedule. In open-loop mode
+ * one scheduler thread releases sessions at exactly {@code rate} per second and never waits for
+ * responses; in closed-loop mode each virtual user waits for its previous session and, when a
+ * rate is set, follows its own fixed schedule. Search latency is measured from the intended start,
+ * so a run that falls behind reports the queueing delay instead of hiding it; booking and payment
+ * latencies start when the previous step completes. Samples whose session was scheduled during
+ * the warmup are discarded.
+ */
+@Component
+public class LoadRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+
+    private static final int MAX_PREFERRED_RANK = 3;
+
+    @Autowired
+    private LoadTestProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final EndpointStats searchStats = new EndpointStats("search");
+    private final EndpointStats bookingStats = new EndpointStats("booking");
+    private final EndpointStats paymentStats = new EndpointStats("payment");
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong sessionsStarted = new AtomicLong();
+    private final AtomicLong sessionsDropped = new AtomicLong();
+    private final AtomicLong sessionNumbers = new AtomicLong();
+
+    private ServiceClient client;
+    private FunnelWorkload workload;
+    private long measureStartNanos;
+
+    public LoadReport run() {
+        workload = new FunnelWorkload(properties, LocalDate.now());
+        ExecutorService callbackExecutor = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors() * 2), daemonThreads("load-http"));
+        client = new ServiceClient(properties, objectMapper, callbackExecutor);
+
+        long startNanos = System.nanoTime();
+        measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(properties.getWarmupSeconds());
+        long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(properties.getDurationSeconds());
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+
+        logger.info("Starting {} loop load test: rate {}/s, concurrency {}, warmup {}s, duration {}s",
+                   properties.getMode().name().toLowerCase(), properties.getRate(), properties.getConcurrency(),
+                   properties.getWarmupSeconds(), properties.getDurationSeconds());
+
+        try {
+            if (properties.getMode() == LoadTestProperties.Mode.OPEN) {
+                runOpenLoop(startNanos, endNanos, random);
+            } else {
+                runClosedLoop(startNanos, endNanos, random);
+            }
+            awaitInFlight();
+        } finally {
+            callbackExecutor.shutdownNow();
+        }
+
+        LoadReport report = LoadReport.build(properties, List.of(searchStats, bookingStats, paymentStats),
+                properties.getDurationSeconds(), sessionsStarted.get(), sessionsDropped.get());
+        writeReport(report);
+        return report;
+    }
+
+    private void runOpenLoop(long startNanos, long endNanos, SplittableRandom random) {
+        if (properties.getRate() <= 0) {
+            throw new IllegalArgumentException("Open-loop mode needs a positive rate");
+        }
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / properties.getRate();
+        for (long i = 0; ; i++) {
+            long intended = startNanos + (long) (i * intervalNanos);
+            if (intended >= endNanos) {
+                break;
+            }
+            sleepUntil(intended);
+            FunnelWorkload.Session session = workload.next(random);
+            int preferredRank = random.nextInt(MAX_PREFERRED_RANK);
+            if (inFlight.get() >= properties.getMaxInFlight()) {
+                if (intended >= measureStartNanos) {
+                    sessionsDropped.incrementAndGet();
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            runSession(session, preferredRank, intended).whenComplete((ignored, error) -> inFlight.decrementAndGet());
+        }
+    }
+
+    private void runClosedLoop(long startNanos, long endNanos, SplittableRandom random) {
+        int users = Math.max(1, properties.getConcurrency());
+        long userIntervalNanos = properties.getRate() > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) * users / properties.getRate()) : 0;
+        List<Thread> threads = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            SplittableRandom userRandom = random.split();
+            // Stagger paced users across one interval so they don't fire in lockstep
+            long userStart = startNanos + (userIntervalNanos * u) / users;
+            Thread thread = new Thread(() -> {
+                long intended = userStart;
+                while (intended < endNanos) {
+                    if (userIntervalNanos > 0) {
+                        sleepUntil(intended);
+                    } else {
+                        intended = System.nanoTime();
+                        if (intended >= endNanos) {
+                            break;
+                        }
+                    }
+                    FunnelWorkload.Session session = workload.next(userRandom);
+                    inFlight.incrementAndGet();
+                    try {
+                        runSession(session, userRandom.nextInt(MAX_PREFERRED_RANK), intended).join();
+                    } catch (RuntimeException e) {
+                        logger.debug("Session failed: {}", e.getMessage());
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    if (userIntervalNanos > 0) {
+                        intended += userIntervalNanos;
+                    }
+                }
+            }, "load-user-" + u);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<Void> runSession(FunnelWorkload.Session session, int preferredRank, long intendedStart) {
+        boolean measured = intendedStart >= measureStartNanos;
+        if (measured) {
+            sessionsStarted.incrementAndGet();
+        }
+        long sessionNumber = sessionNumbers.incrementAndGet();
+        String traceparent = newTraceparent();
+
+        return timed(searchStats, measured, intendedStart, () -> client.search(session, traceparent))
+                .thenCompose(searchResponse -> {
+                    if (searchResponse == null || !session.book()) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    String routineId = read(() -> client.pickRoutine(searchResponse, session.passengers(), preferredRank));
+                    if (routineId == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return timed(bookingStats, measured, System.nanoTime(),
+                            () -> client.book(routineId, session.passengers(), sessionNumber, traceparent));
+                })
+                .thenCompose(bookingResponse -> {
+                    if (bookingResponse == null || !session.pay()) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    String bookingId = read(() -> client.field(bookingResponse, "bookingId"));
+                    if (bookingId == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return timed(paymentStats, measured, System.nanoTime(), () -> client.pay(bookingId, traceparent));
+                })
+                .thenApply(ignored -> null);
+    }
+
+    /**
+     * Sends a request and records it; completes with the response when it was a 2xx, else null.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> timed(EndpointStats stats, boolean measured, long intendedStart,
+                                                          Supplier<CompletableFuture<HttpResponse<byte[]>>> request) {
+        long sendStart = System.nanoTime();
+        return request.get().handle((response, error) -> {
+            int status = error != null ? -1 : response.statusCode();
+            if (measured) {
+                stats.record(intendedStart, sendStart, System.nanoTime(), status);
+            }
+            return status >= 200 && status < 300 ? response : null;
+        });
+    }
+
+    /**
+     * A sampled W3C trace context shared by every call of one session, or null for untraced sessions.
+     */
+    private String newTraceparent() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (properties.getTraceSampleRate() <= 0 || random.nextDouble() >= properties.getTraceSampleRate()) {
+            return null;
+        }
+        return String.format("00-%016x%016x-%016x-01", random.nextLong(), random.nextLong(), random.nextLong() | 1);
+    }
+
+    private interface Reader {
+        String read() throws IOException;
+    }
+
+    private static String read(Reader reader) {
+        try {
+            return reader.read();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getRequestTimeoutMs() * 3L);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            logger.warn("{} sessions still in flight at shutdown", inFlight.get());
+        }
+    }
+
+    private void writeReport(LoadReport report) {
+        try {
+            Path path = Path.of(properties.getReportPath());
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+            logger.info("Load test {}: {} requests, {} req/s, report written to {}",
+                       report.isPassed() ? "passed" : "FAILED", report.getTotalRequests(), report.getThroughput(), path);
+            for (String violation : report.getViolations()) {
+                logger.warn("Gate violation: {}", violation);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write load report: " + e.getMessage(), e);
+        }
+    }
+
+    private static void sleepUntil(long nanos) {
+        long remaining;
+        while ((remaining = nanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+} 
\ No newline at end of file
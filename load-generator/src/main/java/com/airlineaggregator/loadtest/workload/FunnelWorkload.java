@@ -0,0 +1,66 @@
+package com.airlineaggregator.loadtest.workload;
+
+import com.airlineaggregator.loadtest.config.LoadTestProperties;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plans user sessions that follow the search → book → pay funnel. Every session searches; the
+ * booking and payment probabilities are derived from the configured mix so that, over many
+ * sessions, the request counts converge on it (100:5:4 books 5% of searches and pays 80% of
+ * bookings).
+ */
+public class FunnelWorkload {
+
+    public record Session(String source, String destination, LocalDate travelDate, int passengers,
+                          String sortBy, boolean book, boolean pay) {}
+
+    private final String[][] routes;
+    private final ZipfSampler routeSampler;
+    private final ZipfSampler dateSampler;
+    private final List<String> sortBy;
+    private final int maxPassengers;
+    private final double bookProbability;
+    private final double payProbability;
+    private final LocalDate today;
+
+    public FunnelWorkload(LoadTestProperties properties, LocalDate today) {
+        LoadTestProperties.Workload workload = properties.getWorkload();
+        LoadTestProperties.Mix mix = properties.getMix();
+        if (mix.getSearches() <= 0 || mix.getBookings() > mix.getSearches() || mix.getPayments() > mix.getBookings()) {
+            throw new IllegalArgumentException("Funnel mix must satisfy searches > 0 and searches >= bookings >= payments");
+        }
+
+        this.routes = new String[workload.getRoutes().size()][];
+        for (int i = 0; i < routes.length; i++) {
+            String[] pair = workload.getRoutes().get(i).split("-");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Route must look like DEL-BLR: " + workload.getRoutes().get(i));
+            }
+            routes[i] = pair;
+        }
+        this.routeSampler = new ZipfSampler(routes.length, workload.getRouteExponent());
+        this.dateSampler = new ZipfSampler(Math.max(1, workload.getDays()), workload.getDateExponent());
+        this.sortBy = workload.getSortBy();
+        this.maxPassengers = Math.max(1, workload.getMaxPassengers());
+        this.bookProbability = (double) mix.getBookings() / mix.getSearches();
+        this.payProbability = mix.getBookings() > 0 ? (double) mix.getPayments() / mix.getBookings() : 0;
+        this.today = today;
+    }
+
+    public Session next(SplittableRandom random) {
+        String[] route = routes[routeSampler.sample(random)];
+        LocalDate travelDate = today.plusDays(dateSampler.sample(random));
+        // Solo travellers dominate; larger parties get rarer
+        int passengers = 1;
+        while (passengers < maxPassengers && random.nextDouble() < 0.3) {
+            passengers++;
+        }
+        boolean book = random.nextDouble() < bookProbability;
+        boolean pay = book && random.nextDouble() < payProbability;
+        return new Session(route[0], route[1], travelDate, passengers,
+                sortBy.get(random.nextInt(sortBy.size())), book, pay);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.airlineaggregator.loadtest.workload;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples ranks 0..n-1 where rank r has weight 1/(r+1)^exponent. An exponent of 0 is uniform.
+ */
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Zipf sampler needs at least one rank");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int r = 0; r < size; r++) {
+            total += 1.0 / Math.pow(r + 1, exponent);
+            cumulative[r] = total;
+        }
+        for (int r = 0; r < size; r++) {
+            cumulative[r] /= total;
+        }
+    }
+
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+} 
\ No newline at end of file
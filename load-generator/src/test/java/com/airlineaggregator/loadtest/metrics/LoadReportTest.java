@@ -0,0 +1,70 @@
+package com.airlineaggregator.loadtest.metrics;
+
+import com.airlineaggregator.loadtest.config.LoadTestProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadReportTest {
+
+    @Test
+    void build_StalledResponse_ChargesQueueingDelayToCorrectedLatency() {
+        // Given - the request was due at t=0 but only sent at 900ms, answering in 100ms
+        EndpointStats search = new EndpointStats("search");
+        search.record(0, ms(900), ms(1000), 200);
+
+        // When
+        LoadReport report = LoadReport.build(new LoadTestProperties(), List.of(search), 1.0, 1, 0);
+
+        // Then
+        LoadReport.EndpointReport endpoint = report.getEndpoints().get("search");
+        assertEquals(1000.0, endpoint.getLatencyMs().get("max"), 1.0);
+        assertEquals(100.0, endpoint.getUncorrectedLatencyMs().get("max"), 1.0);
+    }
+
+    @Test
+    void build_GateThresholds_ReportViolations() {
+        // Given
+        LoadTestProperties properties = new LoadTestProperties();
+        properties.getGate().setMaxP99Ms(50);
+        properties.getGate().setMinThroughput(100);
+        EndpointStats booking = new EndpointStats("booking");
+        for (int i = 0; i < 99; i++) {
+            booking.record(0, 0, ms(10), 200);
+        }
+        booking.record(0, 0, ms(500), 503);
+
+        // When
+        LoadReport report = LoadReport.build(properties, List.of(booking), 10.0, 100, 0);
+
+        // Then - 10 req/s, p99 of 10ms passes, 1% errors is at the limit
+        assertFalse(report.isPassed());
+        assertEquals(1, report.getViolations().size());
+        assertTrue(report.getViolations().get(0).startsWith("throughput"));
+        assertEquals(1, report.getEndpoints().get("booking").getErrors());
+        assertEquals(9.9, report.getGoodput(), 0.001);
+    }
+
+    @Test
+    void build_RejectedBookings_AreNotErrors() {
+        // Given
+        EndpointStats booking = new EndpointStats("booking");
+        booking.record(0, 0, ms(10), 400);
+        booking.record(0, 0, ms(10), 200);
+
+        // When
+        LoadReport report = LoadReport.build(new LoadTestProperties(), List.of(booking), 1.0, 2, 0);
+
+        // Then
+        assertTrue(report.isPassed());
+        assertEquals(1, report.getEndpoints().get("booking").getRejected());
+        assertEquals(0, report.getEndpoints().get("booking").getErrors());
+    }
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.airlineaggregator.loadtest.workload;
+
+import com.airlineaggregator.loadtest.config.LoadTestProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FunnelWorkloadTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    @Test
+    void next_DefaultMix_ConvergesOnFunnelRatios() {
+        // Given
+        FunnelWorkload workload = new FunnelWorkload(new LoadTestProperties(), TODAY);
+        SplittableRandom random = new SplittableRandom(1);
+
+        // When
+        int sessions = 200_000;
+        int bookings = 0;
+        int payments = 0;
+        for (int i = 0; i < sessions; i++) {
+            FunnelWorkload.Session session = workload.next(random);
+            bookings += session.book() ? 1 : 0;
+            payments += session.pay() ? 1 : 0;
+        }
+
+        // Then - 100 searches : 5 bookings : 4 payments
+        assertEquals(0.05, (double) bookings / sessions, 0.002);
+        assertEquals(0.04, (double) payments / sessions, 0.002);
+    }
+
+    @Test
+    void next_ZipfRoutesAndDates_FavourPopularRoutesAndNearDates() {
+        // Given
+        LoadTestProperties properties = new LoadTestProperties();
+        FunnelWorkload workload = new FunnelWorkload(properties, TODAY);
+        SplittableRandom random = new SplittableRandom(2);
+
+        // When
+        int[] routeHits = new int[properties.getWorkload().getRoutes().size()];
+        int tomorrow = 0;
+        int lastDay = 0;
+        for (int i = 0; i < 100_000; i++) {
+            FunnelWorkload.Session session = workload.next(random);
+            routeHits[properties.getWorkload().getRoutes().indexOf(session.source() + "-" + session.destination())]++;
+            tomorrow += session.travelDate().equals(TODAY.plusDays(1)) ? 1 : 0;
+            lastDay += session.travelDate().equals(TODAY.plusDays(29)) ? 1 : 0;
+            assertFalse(session.travelDate().isAfter(TODAY.plusDays(29)));
+        }
+
+        // Then
+        assertTrue(routeHits[0] > 2 * routeHits[1] * 0.9);
+        assertTrue(routeHits[0] > 5 * routeHits[routeHits.length - 1]);
+        assertTrue(tomorrow > 5 * lastDay);
+    }
+
+    @Test
+    void constructor_MixWithMorePaymentsThanBookings_Throws() {
+        // Given
+        LoadTestProperties properties = new LoadTestProperties();
+        properties.getMix().setPayments(10);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new FunnelWorkload(properties, TODAY));
+    }
+} 
\ No newline at end of file
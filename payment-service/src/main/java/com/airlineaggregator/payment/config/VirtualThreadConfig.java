@@ -0,0 +1,51 @@
+package com.airlineaggregator.payment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Opt-in virtual-thread mode, active when {@code spring.threads.virtual.enabled=true} and the JVM is
+ * Java 21 or newer (the property is ignored on older runtimes). Spring Boot then serves Tomcat
+ * requests and runs its task executors on virtual threads; this adds a connection gate sized to the
+ * Hikari pool and a monitor that reports carrier pinning.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public static BeanPostProcessor connectionPermitGate(Environment environment) {
+        int maxWaiting = environment.getProperty("virtual-threads.connection-gate.max-waiting", Integer.class, 1000);
+        long acquireTimeoutMs = environment.getProperty("virtual-threads.connection-gate.acquire-timeout-ms", Long.class, 5000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    logger.info("Gating {} connections of {} for virtual threads (max {} waiting)",
+                               hikari.getMaximumPoolSize(), beanName, maxWaiting);
+                    return new ConnectionPermitDataSource(hikari, hikari.getMaximumPoolSize(), maxWaiting, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(Environment environment) {
+        long thresholdMs = environment.getProperty("virtual-threads.pinning-monitor.threshold-ms", Long.class, 20L);
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs));
+    }
+} 
\ No newline at end of file
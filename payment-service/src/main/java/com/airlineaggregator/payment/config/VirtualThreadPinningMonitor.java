@@ -0,0 +1,56 @@
+package com.airlineaggregator.payment.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events and logs where a virtual thread blocked while
+ * pinned to its carrier, typically I/O inside a {@code synchronized} block. Pinned carriers are not
+ * released for other virtual threads, so a hot pinned path caps throughput like a platform pool.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final int LOGGED_FRAMES = 8;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final AtomicLong pinnedEvents = new AtomicLong();
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+    }
+
+    public long getPinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        StringBuilder frames = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> stack = event.getStackTrace().getFrames();
+            for (int i = 0; i < Math.min(LOGGED_FRAMES, stack.size()); i++) {
+                RecordedFrame frame = stack.get(i);
+                frames.append("\n\tat ").append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        logger.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), frames);
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+} 
\ No newline at end of file
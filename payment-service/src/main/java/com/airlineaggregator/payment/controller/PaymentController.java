@@ -2,6 +2,9 @@ package com.airlineaggregator.payment.controller;
 
 import com.airlineaggregator.payment.dto.PaymentRequest;
 import com.airlineaggregator.payment.dto.PaymentResponse;
+import com.airlineaggregator.payment.metrics.LatencyMetrics;
+import com.airlineaggregator.payment.tracing.InMemorySpanExporter;
+import com.airlineaggregator.payment.tracing.Span;
 import com.airlineaggregator.payment.service.PaymentService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -11,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -24,15 +28,21 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Autowired(required = false)
+    private InMemorySpanExporter spanExporter;
+
     @PostMapping
     public ResponseEntity<PaymentResponse> processPayment(@Valid @RequestBody PaymentRequest request) {
         
-        logger.info("Received payment request for booking: {}", request.getBookingId());
+        logger.debug("Received payment request for booking: {}", request.getBookingId());
 
         try {
             PaymentResponse response = paymentService.processPayment(request);
             
-            logger.info("Payment processed successfully: {} - Status: {}", 
+            logger.debug("Payment processed successfully: {} - Status: {}", 
                        response.getPaymentId(), response.getStatus());
 
             return ResponseEntity.ok(response);
@@ -46,7 +56,7 @@ public class PaymentController {
     @GetMapping("/{paymentId}")
     public ResponseEntity<Map<String, Object>> getPaymentStatus(@PathVariable UUID paymentId) {
         
-        logger.info("Received payment status request for: {}", paymentId);
+        logger.debug("Received payment status request for: {}", paymentId);
 
         try {
             // For demo purposes, return a mock status response
@@ -68,6 +78,20 @@ public class PaymentController {
         return ResponseEntity.ok("Payment Service is running");
     }
 
+    @GetMapping("/metrics/latency")
+    public ResponseEntity<LatencyMetrics.LatencySnapshot> getLatencyMetrics() {
+        return ResponseEntity.ok(latencyMetrics.snapshot());
+    }
+
+    @GetMapping("/traces/{traceId}")
+    public ResponseEntity<List<Span>> getTrace(@PathVariable String traceId) {
+        List<Span> spans = spanExporter != null ? spanExporter.findByTraceId(traceId) : List.of();
+        if (spans.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(spans);
+    }
+
     @GetMapping("/info")
     public ResponseEntity<PaymentServiceInfo> getServiceInfo() {
         PaymentServiceInfo info = new PaymentServiceInfo();
@@ -80,7 +104,9 @@ public class PaymentController {
             "POST /api/v1/payments - Process payment",
             "GET /api/v1/payments/{id} - Get payment status", 
             "GET /api/v1/payments/health - Health check",
-            "GET /api/v1/payments/info - Service information"
+            "GET /api/v1/payments/info - Service information",
+            "GET /api/v1/payments/metrics/latency - Per-stage latency percentiles",
+            "GET /api/v1/payments/traces/{traceId} - Spans recorded for a trace"
         });
         return ResponseEntity.ok(info);
     }
@@ -0,0 +1,152 @@
+package com.airlineaggregator.payment.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage latency histograms for the payment path.
+ *
+ * <p>Each stage records into an HdrHistogram {@link Recorder}, which is wait-free and does not
+ * allocate, so timing a stage costs two {@code nanoTime()} calls and an array increment. Readers
+ * swap out the recorder's interval histogram, fold it into a cumulative one and report both the
+ * lifetime percentiles and the rate since the previous read.
+ */
+@Component
+public class LatencyMetrics {
+
+    public enum Stage {
+        BOOKING_LOOKUP("booking_lookup"),
+        GATEWAY("gateway"),
+        CONFIRM("confirm");
+
+        private final String metricName;
+
+        Stage(String metricName) { this.metricName = metricName; }
+
+        public String getMetricName() { return metricName; }
+    }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final Stage[] STAGES = Stage.values();
+
+    private final Recorder[] recorders = new Recorder[STAGES.length];
+    private final Histogram[] cumulative = new Histogram[STAGES.length];
+    private final Histogram[] recycled = new Histogram[STAGES.length];
+    private final long startedAtNanos = System.nanoTime();
+    private long lastSnapshotNanos = startedAtNanos;
+
+    public LatencyMetrics() {
+        for (int i = 0; i < STAGES.length; i++) {
+            recorders[i] = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+            cumulative[i] = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        }
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, a value taken from {@link System#nanoTime()}.
+     */
+    public void record(Stage stage, long startNanos) {
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        recorders[stage.ordinal()].recordValue(Math.max(0, Math.min(HIGHEST_TRACKABLE_MICROS, micros)));
+    }
+
+    public synchronized LatencySnapshot snapshot() {
+        long now = System.nanoTime();
+        double sinceLastSeconds = Math.max(1e-3, (now - lastSnapshotNanos) / 1e9);
+        lastSnapshotNanos = now;
+
+        List<StageLatency> stages = new ArrayList<>(STAGES.length);
+        for (int i = 0; i < STAGES.length; i++) {
+            Histogram interval = recorders[i].getIntervalHistogram(recycled[i]);
+            cumulative[i].add(interval);
+            recycled[i] = interval;
+
+            Histogram total = cumulative[i];
+            StageLatency stage = new StageLatency();
+            stage.setStage(STAGES[i].getMetricName());
+            stage.setCount(total.getTotalCount());
+            stage.setRatePerSecond(round(interval.getTotalCount() / sinceLastSeconds));
+            stage.setMeanMs(round(total.getMean() / 1000.0));
+            stage.setP50Ms(millis(total, 50.0));
+            stage.setP90Ms(millis(total, 90.0));
+            stage.setP99Ms(millis(total, 99.0));
+            stage.setP999Ms(millis(total, 99.9));
+            stage.setMaxMs(round(total.getMaxValue() / 1000.0));
+            stage.setRecentCount(interval.getTotalCount());
+            stage.setRecentP99Ms(millis(interval, 99.0));
+            stages.add(stage);
+        }
+        return new LatencySnapshot(round((now - startedAtNanos) / 1e9), round(sinceLastSeconds), stages);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    public static class LatencySnapshot {
+        private double uptimeSeconds;
+        private double windowSeconds;
+        private List<StageLatency> stages;
+
+        public LatencySnapshot(double uptimeSeconds, double windowSeconds, List<StageLatency> stages) {
+            this.uptimeSeconds = uptimeSeconds;
+            this.windowSeconds = windowSeconds;
+            this.stages = stages;
+        }
+
+        // Getters
+        public double getUptimeSeconds() { return uptimeSeconds; }
+        public double getWindowSeconds() { return windowSeconds; }
+        public List<StageLatency> getStages() { return stages; }
+    }
+
+    /**
+     * Lifetime percentiles of one stage plus its rate and p99 over the window since the previous read.
+     */
+    public static class StageLatency {
+        private String stage;
+        private long count;
+        private double ratePerSecond;
+        private double meanMs;
+        private double p50Ms;
+        private double p90Ms;
+        private double p99Ms;
+        private double p999Ms;
+        private double maxMs;
+        private long recentCount;
+        private double recentP99Ms;
+
+        // Getters and Setters
+        public String getStage() { return stage; }
+        public void setStage(String stage) { this.stage = stage; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+        public double getRatePerSecond() { return ratePerSecond; }
+        public void setRatePerSecond(double ratePerSecond) { this.ratePerSecond = ratePerSecond; }
+        public double getMeanMs() { return meanMs; }
+        public void setMeanMs(double meanMs) { this.meanMs = meanMs; }
+        public double getP50Ms() { return p50Ms; }
+        public void setP50Ms(double p50Ms) { this.p50Ms = p50Ms; }
+        public double getP90Ms() { return p90Ms; }
+        public void setP90Ms(double p90Ms) { this.p90Ms = p90Ms; }
+        public double getP99Ms() { return p99Ms; }
+        public void setP99Ms(double p99Ms) { this.p99Ms = p99Ms; }
+        public double getP999Ms() { return p999Ms; }
+        public void setP999Ms(double p999Ms) { this.p999Ms = p999Ms; }
+        public double getMaxMs() { return maxMs; }
+        public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+        public long getRecentCount() { return recentCount; }
+        public void setRecentCount(long recentCount) { this.recentCount = recentCount; }
+        public double getRecentP99Ms() { return recentP99Ms; }
+        public void setRecentP99Ms(double recentP99Ms) { this.recentP99Ms = recentP99Ms; }
+    }
+} 
\ No newline at end of file
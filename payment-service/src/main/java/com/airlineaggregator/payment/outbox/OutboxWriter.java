@@ -0,0 +1,39 @@
+package com.airlineaggregator.payment.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Appends events to {@code outbox_events} inside the caller's transaction, so an event exists if
+ * and only if the state change it describes committed. Calling it outside a transaction fails.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload) VALUES (?, ?, ?, ?::jsonb)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, UUID aggregateId, String eventType, Map<String, ?> payload) {
+        try {
+            jdbcTemplate.update(INSERT_EVENT, aggregateType, aggregateId, eventType,
+                    objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize outbox event " + eventType, e);
+        }
+    }
+} 
\ No newline at end of file
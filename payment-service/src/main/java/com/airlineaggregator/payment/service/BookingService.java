@@ -1,6 +1,7 @@
 package com.airlineaggregator.payment.service;
 
 import com.airlineaggregator.payment.dto.PaymentResponse;
+import com.airlineaggregator.payment.outbox.OutboxWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 
@@ -20,6 +22,9 @@ public class BookingService {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private OutboxWriter outboxWriter;
+
     private final Random random = new Random();
 
     public BookingInfo getBookingInfo(UUID bookingId) {
@@ -61,7 +66,8 @@ public class BookingService {
             int rowsUpdated = jdbcTemplate.update(updateSql, pnr, bookingId);
 
             if (rowsUpdated > 0) {
-                logger.info("Booking confirmed: {} with PNR: {}", bookingId, pnr);
+                logger.debug("Booking confirmed: {} with PNR: {}", bookingId, pnr);
+                outboxWriter.append("booking", bookingId, "booking.confirmed", Map.of("pnr", pnr));
                 
                 return new PaymentResponse.BookingUpdate(
                     bookingId,
@@ -3,7 +3,11 @@ package com.airlineaggregator.payment.service;
 import com.airlineaggregator.payment.dto.PaymentRequest;
 import com.airlineaggregator.payment.dto.PaymentResponse;
 import com.airlineaggregator.payment.entity.Payment;
+import com.airlineaggregator.payment.metrics.LatencyMetrics;
+import com.airlineaggregator.payment.outbox.OutboxWriter;
 import com.airlineaggregator.payment.repository.PaymentRepository;
+import com.airlineaggregator.payment.tracing.Span;
+import com.airlineaggregator.payment.tracing.Tracer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +18,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 
@@ -31,6 +37,15 @@ public class PaymentService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
     @Value("${payment.mock-mode:true}")
     private boolean mockMode;
 
@@ -44,11 +59,13 @@ public class PaymentService {
 
     @Transactional
     public PaymentResponse processPayment(PaymentRequest request) {
-        logger.info("Processing payment for booking: {}", request.getBookingId());
+        logger.debug("Processing payment for booking: {}", request.getBookingId());
 
         try {
             // Validate booking exists and get amount
+            long lookupStart = System.nanoTime();
             BookingService.BookingInfo bookingInfo = bookingService.getBookingInfo(request.getBookingId());
+            latencyMetrics.record(LatencyMetrics.Stage.BOOKING_LOOKUP, lookupStart);
             if (bookingInfo == null) {
                 throw new RuntimeException("Booking not found: " + request.getBookingId());
             }
@@ -64,17 +81,25 @@ public class PaymentService {
                     request.getPaymentMethod().getType()
             );
 
-            // Simulate payment processing delay
-            if (processingDelayMs > 0) {
-                try {
-                    Thread.sleep(processingDelayMs);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+            PaymentResult paymentResult;
+            long gatewayStart = System.nanoTime();
+            try (Span gatewaySpan = tracer.startSpan("PaymentGateway.charge")) {
+                gatewaySpan.setAttribute("payment.method", request.getPaymentMethod().getType());
+
+                // Simulate payment processing delay
+                if (processingDelayMs > 0) {
+                    try {
+                        Thread.sleep(processingDelayMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
                 }
-            }
 
-            // Mock payment processing
-            PaymentResult paymentResult = mockPaymentProcessing(request, payment);
+                // Mock payment processing
+                paymentResult = mockPaymentProcessing(request, payment);
+                gatewaySpan.setAttribute("payment.status", paymentResult.getStatus());
+            }
+            latencyMetrics.record(LatencyMetrics.Stage.GATEWAY, gatewayStart);
 
             // Update payment with result
             payment.setStatus(paymentResult.getStatus());
@@ -84,13 +109,28 @@ public class PaymentService {
 
             // Save payment
             payment = paymentRepository.save(payment);
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("bookingId", payment.getBookingId());
+            event.put("amount", payment.getAmount());
+            event.put("currency", payment.getCurrency());
+            event.put("method", payment.getPaymentMethod());
+            outboxWriter.append("payment", payment.getPaymentId(), "payment." + payment.getStatus(), event);
 
             // Update booking status if payment successful
             PaymentResponse.BookingUpdate bookingUpdate = null;
             if (payment.isSuccessful()) {
+                long confirmStart = System.nanoTime();
                 bookingUpdate = bookingService.confirmBooking(request.getBookingId());
-                logger.info("Booking confirmed: {} with PNR: {}", request.getBookingId(), 
+                latencyMetrics.record(LatencyMetrics.Stage.CONFIRM, confirmStart);
+                logger.debug("Booking confirmed: {} with PNR: {}", request.getBookingId(), 
                            bookingUpdate != null ? bookingUpdate.getPnr() : "N/A");
+                if (bookingUpdate == null) {
+                    // Charged, but the booking stopped being pending (hold expired, or the booking
+                    // service cancelled it after its payment timeout); the charge must be returned
+                    logger.warn("Payment {} taken for booking {} that is no longer pending; refund required",
+                            payment.getPaymentId(), payment.getBookingId());
+                    outboxWriter.append("payment", payment.getPaymentId(), "payment.refund_required", event);
+                }
             }
 
             // Create response
@@ -102,10 +142,12 @@ public class PaymentService {
                     payment.getCurrency()
             );
 
-            response.setMessage(paymentResult.getMessage());
+            response.setMessage(payment.isSuccessful() && bookingUpdate == null
+                    ? "Booking is no longer pending; the payment will be refunded"
+                    : paymentResult.getMessage());
             response.setBookingUpdate(bookingUpdate);
 
-            logger.info("Payment processed successfully: {} - Status: {}", 
+            logger.debug("Payment processed successfully: {} - Status: {}", 
                        payment.getPaymentId(), payment.getStatus());
 
             return response;
@@ -0,0 +1,57 @@
+package com.airlineaggregator.payment.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends spans as newline-delimited JSON to {@code tracing.file.path}, one span per line, for
+ * offline analysis.
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.exporter", havingValue = "file")
+public class FileSpanExporter implements SpanExporter {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public FileSpanExporter(ObjectMapper objectMapper,
+                            @Value("${tracing.file.path:traces/payment-service.ndjson}") String path) throws IOException {
+        this.objectMapper = objectMapper;
+        Path file = Path.of(path);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void export(List<Span> spans) {
+        try {
+            for (Span span : spans) {
+                writer.write(objectMapper.writeValueAsString(span));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+} 
\ No newline at end of file
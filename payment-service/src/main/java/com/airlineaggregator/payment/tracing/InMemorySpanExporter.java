@@ -0,0 +1,44 @@
+package com.airlineaggregator.payment.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the most recent {@code tracing.memory.max-spans} spans for lookup by trace id.
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.exporter", havingValue = "memory", matchIfMissing = true)
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final ArrayDeque<Span> spans = new ArrayDeque<>();
+    private final int maxSpans;
+
+    public InMemorySpanExporter(@Value("${tracing.memory.max-spans:10000}") int maxSpans) {
+        this.maxSpans = Math.max(1, maxSpans);
+    }
+
+    @Override
+    public synchronized void export(List<Span> batch) {
+        for (Span span : batch) {
+            if (spans.size() == maxSpans) {
+                spans.removeFirst();
+            }
+            spans.addLast(span);
+        }
+    }
+
+    public synchronized List<Span> findByTraceId(String traceId) {
+        List<Span> result = new ArrayList<>();
+        for (Span span : spans) {
+            if (span.getTraceId().equals(traceId)) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+} 
\ No newline at end of file
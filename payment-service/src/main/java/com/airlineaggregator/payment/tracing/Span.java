@@ -0,0 +1,104 @@
+package com.airlineaggregator.payment.tracing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One timed operation in a trace. Spans are opened by {@link Tracer} and closed with
+ * try-with-resources; closing restores the parent as the current span and hands the finished span
+ * to the exporter. {@link #NOOP} stands in for every span of an unsampled request, so untraced
+ * code paths allocate nothing.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Span implements AutoCloseable {
+
+    public static final Span NOOP = new Span(null, null, null, null, null, null);
+
+    private final Tracer tracer;
+    private final Span parent;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String service;
+    private String name;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private long durationMicros;
+    private String status = "ok";
+    private Map<String, String> attributes;
+
+    Span(Tracer tracer, Span parent, String traceId, String parentSpanId, String service, String name) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.traceId = traceId;
+        this.spanId = tracer != null ? Tracer.newSpanId() : null;
+        this.parentSpanId = parentSpanId;
+        this.service = service;
+        this.name = name;
+        this.startEpochMicros = tracer != null ? TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()) : 0;
+        this.startNanos = tracer != null ? System.nanoTime() : 0;
+    }
+
+    @JsonIgnore
+    public boolean isRecording() {
+        return tracer != null;
+    }
+
+    public Span setName(String name) {
+        if (tracer != null) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (tracer != null && value != null) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, value.toString());
+        }
+        return this;
+    }
+
+    public Span recordError(Throwable error) {
+        if (tracer != null) {
+            status = "error";
+            setAttribute("error", error.getClass().getSimpleName() + ": " + error.getMessage());
+        }
+        return this;
+    }
+
+    /**
+     * W3C {@code traceparent} header value naming this span as the parent of downstream calls.
+     */
+    @JsonIgnore
+    public String traceparent() {
+        return tracer != null ? "00-" + traceId + "-" + spanId + "-01" : null;
+    }
+
+    @Override
+    public void close() {
+        if (tracer != null) {
+            durationMicros = (System.nanoTime() - startNanos) / 1000;
+            tracer.finish(this);
+        }
+    }
+
+    Span parent() { return parent; }
+
+    // Getters
+    public String getTraceId() { return traceId; }
+    public String getSpanId() { return spanId; }
+    public String getParentSpanId() { return parentSpanId; }
+    public String getService() { return service; }
+    public String getName() { return name; }
+    public long getStartEpochMicros() { return startEpochMicros; }
+    public long getDurationMicros() { return durationMicros; }
+    public String getStatus() { return status; }
+    public Map<String, String> getAttributes() { return attributes; }
+} 
\ No newline at end of file
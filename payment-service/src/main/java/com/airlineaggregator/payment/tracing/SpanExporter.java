@@ -0,0 +1,13 @@
+package com.airlineaggregator.payment.tracing;
+
+import java.util.List;
+
+/**
+ * Destination for finished spans. Called from the tracer's export thread with batches of spans;
+ * select a built-in sink with {@code tracing.exporter} or register another implementation as a bean
+ * with {@code tracing.exporter=none}.
+ */
+public interface SpanExporter {
+
+    void export(List<Span> spans);
+} 
\ No newline at end of file
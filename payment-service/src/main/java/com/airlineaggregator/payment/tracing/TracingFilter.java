@@ -0,0 +1,56 @@
+package com.airlineaggregator.payment.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a server span per request from the incoming {@code traceparent} header and returns the
+ * trace context in the response, so callers can chain search, booking and payment calls into one
+ * trace.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingFilter extends OncePerRequestFilter {
+
+    static final String TRACEPARENT = "traceparent";
+
+    @Autowired
+    private Tracer tracer;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String traceparent = request.getHeader(TRACEPARENT);
+        try (Span span = tracer.startServerSpan(request.getMethod() + " " + request.getRequestURI(), traceparent)) {
+            if (span.isRecording()) {
+                response.setHeader(TRACEPARENT, span.traceparent());
+            } else if (traceparent != null) {
+                response.setHeader(TRACEPARENT, traceparent);
+            }
+            try {
+                filterChain.doFilter(request, response);
+            } catch (IOException | ServletException | RuntimeException e) {
+                span.recordError(e);
+                throw e;
+            } finally {
+                if (span.isRecording()) {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    if (pattern != null) {
+                        span.setName(request.getMethod() + " " + pattern);
+                    }
+                    span.setAttribute("http.status", response.getStatus());
+                }
+            }
+        }
+    }
+} 
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.airlineaggregator.payment.controller;
 import com.airlineaggregator.payment.dto.PaymentRequest;
 import com.airlineaggregator.payment.dto.PaymentResponse;
 import com.airlineaggregator.payment.entity.Payment;
+import com.airlineaggregator.payment.metrics.LatencyMetrics;
 import com.airlineaggregator.payment.service.PaymentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -30,6 +32,9 @@ class PaymentControllerTest {
     @Mock
     private PaymentService paymentService;
 
+    @Spy
+    private LatencyMetrics latencyMetrics = new LatencyMetrics();
+
     @InjectMocks
     private PaymentController paymentController;
 
@@ -3,12 +3,16 @@ package com.airlineaggregator.payment.service;
 import com.airlineaggregator.payment.dto.PaymentRequest;
 import com.airlineaggregator.payment.dto.PaymentResponse;
 import com.airlineaggregator.payment.entity.Payment;
+import com.airlineaggregator.payment.metrics.LatencyMetrics;
+import com.airlineaggregator.payment.outbox.OutboxWriter;
 import com.airlineaggregator.payment.repository.PaymentRepository;
+import com.airlineaggregator.payment.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -17,6 +21,9 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import java.lang.reflect.Field;
 
@@ -29,6 +36,15 @@ class PaymentServiceTest {
     @Mock
     private BookingService bookingService;
 
+    @Spy
+    private LatencyMetrics latencyMetrics = new LatencyMetrics();
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Spy
+    private Tracer tracer = new Tracer();
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -79,6 +95,9 @@ class PaymentServiceTest {
         verify(bookingService).getBookingInfo(validRequest.getBookingId());
         verify(paymentRepository).save(any(Payment.class));
         verify(bookingService).confirmBooking(validRequest.getBookingId());
+        verify(latencyMetrics).record(eq(LatencyMetrics.Stage.BOOKING_LOOKUP), anyLong());
+        verify(latencyMetrics).record(eq(LatencyMetrics.Stage.GATEWAY), anyLong());
+        verify(latencyMetrics).record(eq(LatencyMetrics.Stage.CONFIRM), anyLong());
     }
 
     @Test
@@ -142,6 +161,30 @@ class PaymentServiceTest {
         verify(bookingService, never()).confirmBooking(any(UUID.class));
     }
 
+    @Test
+    void processPayment_BookingNoLongerPending_RecordsRefundRequired() {
+        // Given
+        BookingService.BookingInfo mockBookingInfo = new BookingService.BookingInfo(
+            validRequest.getBookingId(), "pending", new BigDecimal("14258.16"), "INR");
+
+        when(bookingService.getBookingInfo(validRequest.getBookingId()))
+                .thenReturn(mockBookingInfo);
+        when(paymentRepository.save(any(Payment.class)))
+                .thenReturn(mockPayment);
+        when(bookingService.confirmBooking(any(UUID.class)))
+                .thenReturn(null);
+
+        // When
+        PaymentResponse response = paymentService.processPayment(validRequest);
+
+        // Then
+        assertEquals("success", response.getStatus());
+        assertNull(response.getBookingUpdate());
+        assertTrue(response.getMessage().contains("refunded"));
+        verify(outboxWriter).append(eq("payment"), eq(mockPayment.getPaymentId()), eq("payment.success"), anyMap());
+        verify(outboxWriter).append(eq("payment"), eq(mockPayment.getPaymentId()), eq("payment.refund_required"), anyMap());
+    }
+
     @Test
     void processPayment_BookingServiceFails_ThrowsRuntimeException() {
         // Given
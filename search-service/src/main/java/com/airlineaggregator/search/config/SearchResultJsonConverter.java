@@ -0,0 +1,103 @@
+package com.airlineaggregator.search.config;
+
+import com.airlineaggregator.search.dto.SearchResult;
+import com.airlineaggregator.search.metrics.LatencyMetrics;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes {@link SearchResult} as JSON by splicing the pre-rendered flight fragments straight
+ * into the output stream. Only the small metadata and facets objects are serialized per
+ * request. Falls back to plain Jackson serialization when any fragment is missing. Write time
+ * is recorded as the serialization stage when {@link LatencyMetrics} are supplied.
+ */
+public class SearchResultJsonConverter extends AbstractHttpMessageConverter<SearchResult> {
+
+    private static final byte[] FLIGHTS_START = "{\"flights\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] METADATA_START = "],\"searchMetadata\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FACETS_START = ",\"facets\":".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectWriter writer;
+    private final LatencyMetrics latencyMetrics;
+
+    public SearchResultJsonConverter(ObjectMapper objectMapper) {
+        this(objectMapper, null);
+    }
+
+    public SearchResultJsonConverter(ObjectMapper objectMapper, LatencyMetrics latencyMetrics) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.latencyMetrics = latencyMetrics;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SearchResult.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SearchResult readInternal(Class<? extends SearchResult> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("SearchResult is a response-only type", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(SearchResult result, HttpOutputMessage outputMessage) throws IOException {
+        long start = System.nanoTime();
+        write(result, outputMessage.getBody());
+        if (latencyMetrics != null) {
+            latencyMetrics.record(LatencyMetrics.Stage.SERIALIZATION, start);
+        }
+    }
+
+    private void write(SearchResult result, OutputStream out) throws IOException {
+        if (!hasAllFragments(result)) {
+            writer.writeValue(out, result);
+            return;
+        }
+
+        out.write(FLIGHTS_START);
+        List<byte[]> fragments = result.getFlightFragments();
+        for (int i = 0; i < fragments.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(fragments.get(i));
+        }
+        out.write(METADATA_START);
+        writer.writeValue(out, result.getSearchMetadata());
+        if (result.getFacets() != null) {
+            out.write(FACETS_START);
+            writer.writeValue(out, result.getFacets());
+        }
+        out.write('}');
+    }
+
+    private boolean hasAllFragments(SearchResult result) {
+        List<byte[]> fragments = result.getFlightFragments();
+        if (fragments == null || result.getFlights() == null || fragments.size() != result.getFlights().size()) {
+            return false;
+        }
+        for (byte[] fragment : fragments) {
+            if (fragment == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+} 
\ No newline at end of file
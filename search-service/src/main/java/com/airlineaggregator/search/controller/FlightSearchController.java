@@ -1,16 +1,32 @@
 package com.airlineaggregator.search.controller;
 
+import com.airlineaggregator.search.dto.FareChangePage;
+import com.airlineaggregator.search.dto.FareFeedRequest;
 import com.airlineaggregator.search.dto.FlightSearchRequest;
 import com.airlineaggregator.search.dto.SearchResult;
+import com.airlineaggregator.search.limit.AdaptiveConcurrencyLimiter;
+import com.airlineaggregator.search.limit.ConcurrencyLimited;
+import com.airlineaggregator.search.limit.ConcurrencyLimiterRegistry;
+import com.airlineaggregator.search.metrics.LatencyMetrics;
+import com.airlineaggregator.search.tracing.InMemorySpanExporter;
+import com.airlineaggregator.search.tracing.Span;
+import com.airlineaggregator.search.service.FareChangeFeed;
+import com.airlineaggregator.search.service.FareFeedExporter;
 import com.airlineaggregator.search.service.FlightSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/flights")
@@ -22,7 +38,23 @@ public class FlightSearchController {
     @Autowired
     private FlightSearchService flightSearchService;
 
+    @Autowired
+    private FareFeedExporter fareFeedExporter;
+
+    @Autowired
+    private FareChangeFeed fareChangeFeed;
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
+    @Autowired(required = false)
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private ConcurrencyLimiterRegistry concurrencyLimiterRegistry;
+
     @GetMapping("/search")
+    @ConcurrencyLimited("search")
     public ResponseEntity<SearchResult> searchFlights(
             @RequestParam String source,
             @RequestParam String destination,
@@ -31,9 +63,10 @@ public class FlightSearchController {
             @RequestParam String sortBy,
             @RequestParam(required = false) String airline,
             @RequestParam(required = false) Integer maxStops,
-            @RequestParam(required = false) Integer maxDuration) {
+            @RequestParam(required = false) Integer maxDuration,
+            @RequestParam(required = false) Boolean includeFacets) {
         
-        logger.info("Received flight search request: {} -> {}, Date: {}, Passengers: {}, Sort: {}", 
+        logger.debug("Received flight search request: {} -> {}, Date: {}, Passengers: {}, Sort: {}", 
                    source, destination, travelDate, passengers, sortBy);
 
         try {
@@ -53,11 +86,12 @@ public class FlightSearchController {
             request.setAirline(airline);
             request.setMaxStops(maxStops);
             request.setMaxDuration(maxDuration);
+            request.setIncludeFacets(includeFacets);
 
             // Execute search
             SearchResult result = flightSearchService.searchFlights(request);
             
-            logger.info("Flight search completed successfully. Found {} results", 
+            logger.debug("Flight search completed successfully. Found {} results", 
                        result.getFlights().size());
 
             return ResponseEntity.ok(result);
@@ -68,13 +102,99 @@ public class FlightSearchController {
         }
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<StreamingResponseBody> exportFareFeed(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String destination,
+            @RequestParam(required = false) String airline,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        FareFeedExporter.Format feedFormat;
+        FareFeedRequest request = new FareFeedRequest(fromDate, toDate);
+        request.setSource(source);
+        request.setDestination(destination);
+        request.setAirline(airline);
+        try {
+            feedFormat = FareFeedExporter.Format.valueOf(format.toUpperCase());
+            fareFeedExporter.resolveDates(request);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid fare feed request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (!fareFeedExporter.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build();
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                    fareFeedExporter.export(request, feedFormat, compressed);
+                    compressed.finish();
+                } else {
+                    fareFeedExporter.export(request, feedFormat, out);
+                }
+            } finally {
+                fareFeedExporter.release();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, feedFormat.getContentType() + ";charset=UTF-8")
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"fares-" + request.getFromDate()
+                    + "-" + request.getToDate() + "." + feedFormat.getExtension() + "\"")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
 
+    @GetMapping("/changes")
+    @ConcurrencyLimited("changes")
+    public ResponseEntity<FareChangePage> getFareChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(fareChangeFeed.getChanges(since, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid fare change request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Search Service is running");
     }
 
+    @GetMapping("/metrics/latency")
+    public ResponseEntity<LatencyMetrics.LatencySnapshot> getLatencyMetrics() {
+        return ResponseEntity.ok(latencyMetrics.snapshot());
+    }
+
+    @GetMapping("/metrics/concurrency")
+    public ResponseEntity<List<AdaptiveConcurrencyLimiter.LimiterSnapshot>> getConcurrencyLimits() {
+        return ResponseEntity.ok(concurrencyLimiterRegistry.snapshot());
+    }
+
+    @GetMapping("/traces/{traceId}")
+    public ResponseEntity<List<Span>> getTrace(@PathVariable String traceId) {
+        List<Span> spans = spanExporter != null ? spanExporter.findByTraceId(traceId) : List.of();
+        if (spans.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(spans);
+    }
+
     @GetMapping("/info")
     public ResponseEntity<SearchServiceInfo> getServiceInfo() {
         SearchServiceInfo info = new SearchServiceInfo();
@@ -84,7 +204,12 @@ public class FlightSearchController {
         info.setEndpoints(new String[]{
             "GET /api/v1/flights/search - Search flights",
             "GET /api/v1/flights/health - Health check",
-            "GET /api/v1/flights/info - Service information"
+            "GET /api/v1/flights/info - Service information",
+            "GET /api/v1/flights/metrics/latency - Per-stage latency percentiles",
+            "GET /api/v1/flights/traces/{traceId} - Spans recorded for a trace",
+            "GET /api/v1/flights/metrics/concurrency - Adaptive concurrency limits",
+            "GET /api/v1/flights/feed - Export all fares in a date range (NDJSON or CSV, gzip)",
+            "GET /api/v1/flights/changes - Routines whose price or seats changed since a watermark"
         });
         return ResponseEntity.ok(info);
     }
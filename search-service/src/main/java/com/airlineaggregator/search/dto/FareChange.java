@@ -0,0 +1,59 @@
+package com.airlineaggregator.search.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Current price and seats of a flight routine whose price or availability changed after the
+ * requested watermark.
+ */
+public class FareChange {
+
+    private UUID flightRoutineId;
+    private UUID flightId;
+    private String flightNumber;
+    private String source;
+    private String destination;
+    private LocalDate travelDate;
+    private LocalTime departureTime;
+    private String status;
+    private BigDecimal currentPrice;
+    private String currency;
+    private Integer availableSeats;
+    private LocalDateTime priceUpdatedAt;
+    private LocalDateTime availabilityUpdatedAt;
+
+    // Constructors
+    public FareChange() {}
+
+    // Getters and Setters
+    public UUID getFlightRoutineId() { return flightRoutineId; }
+    public void setFlightRoutineId(UUID flightRoutineId) { this.flightRoutineId = flightRoutineId; }
+    public UUID getFlightId() { return flightId; }
+    public void setFlightId(UUID flightId) { this.flightId = flightId; }
+    public String getFlightNumber() { return flightNumber; }
+    public void setFlightNumber(String flightNumber) { this.flightNumber = flightNumber; }
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+    public LocalDate getTravelDate() { return travelDate; }
+    public void setTravelDate(LocalDate travelDate) { this.travelDate = travelDate; }
+    public LocalTime getDepartureTime() { return departureTime; }
+    public void setDepartureTime(LocalTime departureTime) { this.departureTime = departureTime; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public BigDecimal getCurrentPrice() { return currentPrice; }
+    public void setCurrentPrice(BigDecimal currentPrice) { this.currentPrice = currentPrice; }
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+    public Integer getAvailableSeats() { return availableSeats; }
+    public void setAvailableSeats(Integer availableSeats) { this.availableSeats = availableSeats; }
+    public LocalDateTime getPriceUpdatedAt() { return priceUpdatedAt; }
+    public void setPriceUpdatedAt(LocalDateTime priceUpdatedAt) { this.priceUpdatedAt = priceUpdatedAt; }
+    public LocalDateTime getAvailabilityUpdatedAt() { return availabilityUpdatedAt; }
+    public void setAvailabilityUpdatedAt(LocalDateTime availabilityUpdatedAt) { this.availabilityUpdatedAt = availabilityUpdatedAt; }
+} 
\ No newline at end of file
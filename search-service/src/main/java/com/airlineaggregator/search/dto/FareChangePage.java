@@ -0,0 +1,32 @@
+package com.airlineaggregator.search.dto;
+
+import java.util.List;
+
+/**
+ * One page of the fare change feed. {@code nextCursor} is the watermark to pass on the next call;
+ * it is returned even when the page is empty, and {@code hasMore} tells whether to call again at
+ * once or wait.
+ */
+public class FareChangePage {
+
+    private List<FareChange> changes;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Constructors
+    public FareChangePage() {}
+
+    public FareChangePage(List<FareChange> changes, String nextCursor, boolean hasMore) {
+        this.changes = changes;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<FareChange> getChanges() { return changes; }
+    public void setChanges(List<FareChange> changes) { this.changes = changes; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+} 
\ No newline at end of file
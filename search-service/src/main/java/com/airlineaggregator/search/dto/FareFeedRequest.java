@@ -0,0 +1,46 @@
+package com.airlineaggregator.search.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a fare feed export: a travel date range and, optionally, one route and one airline.
+ */
+public class FareFeedRequest {
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String source;
+    private String destination;
+    private String airline;
+
+    // Constructors
+    public FareFeedRequest() {}
+
+    public FareFeedRequest(LocalDate fromDate, LocalDate toDate) {
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    // Getters and Setters
+    public LocalDate getFromDate() { return fromDate; }
+    public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+    public LocalDate getToDate() { return toDate; }
+    public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+    public String getAirline() { return airline; }
+    public void setAirline(String airline) { this.airline = airline; }
+
+    @Override
+    public String toString() {
+        return "FareFeedRequest{" +
+                "fromDate=" + fromDate +
+                ", toDate=" + toDate +
+                ", source='" + source + '\'' +
+                ", destination='" + destination + '\'' +
+                ", airline='" + airline + '\'' +
+                '}';
+    }
+} 
\ No newline at end of file
@@ -30,6 +30,8 @@ public class FlightSearchRequest {
 
     private Integer maxDuration; // Optional max duration in minutes
 
+    private Boolean includeFacets; // Optional, computes facets over all matching flights
+
     // Constructors
     public FlightSearchRequest() {}
 
@@ -107,6 +109,14 @@ public class FlightSearchRequest {
         this.maxDuration = maxDuration;
     }
 
+    public Boolean getIncludeFacets() {
+        return includeFacets;
+    }
+
+    public void setIncludeFacets(Boolean includeFacets) {
+        this.includeFacets = includeFacets;
+    }
+
     @Override
     public String toString() {
         return "FlightSearchRequest{" +
@@ -118,6 +128,7 @@ public class FlightSearchRequest {
                 ", airline='" + airline + '\'' +
                 ", maxStops=" + maxStops +
                 ", maxDuration=" + maxDuration +
+                ", includeFacets=" + includeFacets +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.airlineaggregator.search.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class SearchFacets {
+
+    private List<AirlineFacet> airlines;
+    private List<PriceBucket> priceHistogram;
+    private DepartureTimeBuckets departureTimes;
+    private StopsBuckets stops;
+
+    // Constructors
+    public SearchFacets() {}
+
+    public SearchFacets(List<AirlineFacet> airlines, List<PriceBucket> priceHistogram,
+                        DepartureTimeBuckets departureTimes, StopsBuckets stops) {
+        this.airlines = airlines;
+        this.priceHistogram = priceHistogram;
+        this.departureTimes = departureTimes;
+        this.stops = stops;
+    }
+
+    // Nested classes for structured facets
+    public static class AirlineFacet {
+        private String code;
+        private String name;
+        private Integer count;
+        private BigDecimal minPrice;
+
+        public AirlineFacet() {}
+
+        public AirlineFacet(String code, String name, Integer count, BigDecimal minPrice) {
+            this.code = code;
+            this.name = name;
+            this.count = count;
+            this.minPrice = minPrice;
+        }
+
+        // Getters and Setters
+        public String getCode() { return code; }
+        public void setCode(String code) { this.code = code; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public Integer getCount() { return count; }
+        public void setCount(Integer count) { this.count = count; }
+        public BigDecimal getMinPrice() { return minPrice; }
+        public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    }
+
+    public static class PriceBucket {
+        private BigDecimal from;
+        private BigDecimal to;
+        private Integer count;
+
+        public PriceBucket() {}
+
+        public PriceBucket(BigDecimal from, BigDecimal to, Integer count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        // Getters and Setters
+        public BigDecimal getFrom() { return from; }
+        public void setFrom(BigDecimal from) { this.from = from; }
+        public BigDecimal getTo() { return to; }
+        public void setTo(BigDecimal to) { this.to = to; }
+        public Integer getCount() { return count; }
+        public void setCount(Integer count) { this.count = count; }
+    }
+
+    public static class DepartureTimeBuckets {
+        private Integer earlyMorning; // 00:00 - 05:59
+        private Integer morning;      // 06:00 - 11:59
+        private Integer afternoon;    // 12:00 - 17:59
+        private Integer evening;      // 18:00 - 23:59
+
+        public DepartureTimeBuckets() {}
+
+        public DepartureTimeBuckets(Integer earlyMorning, Integer morning, Integer afternoon, Integer evening) {
+            this.earlyMorning = earlyMorning;
+            this.morning = morning;
+            this.afternoon = afternoon;
+            this.evening = evening;
+        }
+
+        // Getters and Setters
+        public Integer getEarlyMorning() { return earlyMorning; }
+        public void setEarlyMorning(Integer earlyMorning) { this.earlyMorning = earlyMorning; }
+        public Integer getMorning() { return morning; }
+        public void setMorning(Integer morning) { this.morning = morning; }
+        public Integer getAfternoon() { return afternoon; }
+        public void setAfternoon(Integer afternoon) { this.afternoon = afternoon; }
+        public Integer getEvening() { return evening; }
+        public void setEvening(Integer evening) { this.evening = evening; }
+    }
+
+    public static class StopsBuckets {
+        private Integer nonStop;
+        private Integer oneStop;
+        private Integer twoPlusStops;
+
+        public StopsBuckets() {}
+
+        public StopsBuckets(Integer nonStop, Integer oneStop, Integer twoPlusStops) {
+            this.nonStop = nonStop;
+            this.oneStop = oneStop;
+            this.twoPlusStops = twoPlusStops;
+        }
+
+        // Getters and Setters
+        public Integer getNonStop() { return nonStop; }
+        public void setNonStop(Integer nonStop) { this.nonStop = nonStop; }
+        public Integer getOneStop() { return oneStop; }
+        public void setOneStop(Integer oneStop) { this.oneStop = oneStop; }
+        public Integer getTwoPlusStops() { return twoPlusStops; }
+        public void setTwoPlusStops(Integer twoPlusStops) { this.twoPlusStops = twoPlusStops; }
+    }
+
+    // Main class getters and setters
+    public List<AirlineFacet> getAirlines() { return airlines; }
+    public void setAirlines(List<AirlineFacet> airlines) { this.airlines = airlines; }
+    public List<PriceBucket> getPriceHistogram() { return priceHistogram; }
+    public void setPriceHistogram(List<PriceBucket> priceHistogram) { this.priceHistogram = priceHistogram; }
+    public DepartureTimeBuckets getDepartureTimes() { return departureTimes; }
+    public void setDepartureTimes(DepartureTimeBuckets departureTimes) { this.departureTimes = departureTimes; }
+    public StopsBuckets getStops() { return stops; }
+    public void setStops(StopsBuckets stops) { this.stops = stops; }
+} 
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.airlineaggregator.search.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 public class SearchResult {
@@ -7,6 +10,13 @@ public class SearchResult {
     private List<FlightSearchResponse> flights;
     private SearchMetadata searchMetadata;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SearchFacets facets;
+
+    // Pre-rendered JSON of each entry in flights, spliced into JSON responses when complete
+    @JsonIgnore
+    private List<byte[]> flightFragments;
+
     // Constructors
     public SearchResult() {}
 
@@ -63,4 +73,21 @@ public class SearchResult {
     public void setSearchMetadata(SearchMetadata searchMetadata) {
         this.searchMetadata = searchMetadata;
     }
+
+    public SearchFacets getFacets() {
+        return facets;
+    }
+
+    public void setFacets(SearchFacets facets) {
+        this.facets = facets;
+    }
+
+    @JsonIgnore
+    public List<byte[]> getFlightFragments() {
+        return flightFragments;
+    }
+
+    public void setFlightFragments(List<byte[]> flightFragments) {
+        this.flightFragments = flightFragments;
+    }
 } 
\ No newline at end of file
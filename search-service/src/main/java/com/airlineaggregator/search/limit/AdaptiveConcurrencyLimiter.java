@@ -0,0 +1,144 @@
+package com.airlineaggregator.search.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gradient concurrency limit for one endpoint. The limit follows the ratio between the long-term
+ * (no-load) latency and the recent latency: while recent requests are no slower than
+ * {@code tolerance} times the baseline the limit grows by about {@code sqrt(limit)} per sample,
+ * and as the database slows down it shrinks proportionally. Failed requests (5xx or exceptions)
+ * cut the limit by 10%. Requests over the limit are rejected up front, so in-flight work stays
+ * small enough to finish within its deadline instead of everything timing out together.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_RTT_WEIGHT = 0.1;
+    private static final double LONG_RTT_WEIGHT = 1.0 / 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final String name;
+    private final ConcurrencyLimited.Priority priority;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, ConcurrencyLimited.Priority priority,
+                                      int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.name = name;
+        this.priority = priority;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if one is free under the current limit; returns false when the request should be shed.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Counts a request turned away for another reason (e.g. priority) as rejected here.
+     */
+    public void reject() {
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * Frees the slot taken by {@link #tryAcquire()} and feeds the request's latency into the limit.
+     */
+    public void release(long rttNanos, boolean failed) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        onSample(rttNanos, inFlightAtCompletion, failed);
+    }
+
+    public boolean isSaturated() {
+        return inFlight.get() >= (int) limit;
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion, boolean failed) {
+        if (failed) {
+            limit = Math.max(minLimit, limit * DROP_BACKOFF);
+            return;
+        }
+
+        shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos + (rttNanos - shortRttNanos) * SHORT_RTT_WEIGHT;
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) * LONG_RTT_WEIGHT;
+        // Let the baseline recover quickly once an earlier slowdown has passed
+        if (longRttNanos > shortRttNanos * 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Far below the limit the latency says nothing about how much more the backend could take
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public LimiterSnapshot snapshot() {
+        LimiterSnapshot snapshot = new LimiterSnapshot();
+        snapshot.name = name;
+        snapshot.priority = priority.name().toLowerCase();
+        snapshot.limit = (int) limit;
+        snapshot.inFlight = inFlight.get();
+        snapshot.accepted = accepted.get();
+        snapshot.rejected = rejected.get();
+        synchronized (this) {
+            snapshot.recentLatencyMs = shortRttNanos / 1_000_000.0;
+            snapshot.baselineLatencyMs = longRttNanos / 1_000_000.0;
+        }
+        return snapshot;
+    }
+
+    public String getName() { return name; }
+    public ConcurrencyLimited.Priority getPriority() { return priority; }
+    public int getLimit() { return (int) limit; }
+    public int getInFlight() { return inFlight.get(); }
+
+    public static class LimiterSnapshot {
+        private String name;
+        private String priority;
+        private int limit;
+        private int inFlight;
+        private long accepted;
+        private long rejected;
+        private double recentLatencyMs;
+        private double baselineLatencyMs;
+
+        // Getters
+        public String getName() { return name; }
+        public String getPriority() { return priority; }
+        public int getLimit() { return limit; }
+        public int getInFlight() { return inFlight; }
+        public long getAccepted() { return accepted; }
+        public long getRejected() { return rejected; }
+        public double getRecentLatencyMs() { return recentLatencyMs; }
+        public double getBaselineLatencyMs() { return baselineLatencyMs; }
+    }
+} 
\ No newline at end of file
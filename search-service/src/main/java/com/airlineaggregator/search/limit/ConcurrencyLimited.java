@@ -0,0 +1,29 @@
+package com.airlineaggregator.search.limit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller method behind an adaptive concurrency limit; requests over the limit are
+ * answered immediately with 503 and {@code Retry-After}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+
+    enum Priority {
+        /** Revenue paths; only limited by their own adaptive limit. */
+        CRITICAL,
+        /** Also shed while any critical endpoint of the service is at its limit. */
+        SHEDDABLE
+    }
+
+    /**
+     * Limiter name; endpoints with the same name share one limit.
+     */
+    String value();
+
+    Priority priority() default Priority.SHEDDABLE;
+} 
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.airlineaggregator.search.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one access-log line per request in place of per-step INFO logging. Failed (4xx/5xx or
+ * thrown) and slow requests are always logged; successful ones only for a random
+ * {@code logging.requests.sample-rate} fraction, so log volume stays flat as traffic grows. Shed
+ * requests (503 with {@code Retry-After}) are sampled like successes, so load shedding does not
+ * turn into a logging storm.
+ */
+@Component
+public class SampledRequestLogFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SampledRequestLogFilter.class);
+
+    private final double sampleRate;
+    private final long slowThresholdMs;
+
+    public SampledRequestLogFilter(@Value("${logging.requests.sample-rate:0.01}") double sampleRate,
+                                   @Value("${logging.requests.slow-threshold-ms:500}") long slowThresholdMs) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            logger.error("{} {} failed after {} ms: {}", request.getMethod(), describe(request),
+                    elapsedMs(start), e.getMessage());
+            throw e;
+        }
+
+        long durationMs = elapsedMs(start);
+        int status = response.getStatus();
+        boolean shed = status == 503 && response.getHeader(HttpHeaders.RETRY_AFTER) != null;
+        if (status >= 500 && !shed) {
+            logger.warn("{} {} -> {} in {} ms", request.getMethod(), describe(request), status, durationMs);
+        } else if (durationMs >= slowThresholdMs) {
+            logger.warn("{} {} -> {} in {} ms (slow)", request.getMethod(), describe(request), status, durationMs);
+        } else if ((status >= 400 && !shed) || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("{} {} -> {} in {} ms", request.getMethod(), describe(request), status, durationMs);
+        }
+    }
+
+    private static String describe(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+} 
\ No newline at end of file
@@ -13,20 +13,28 @@ import java.util.UUID;
 @Repository
 public interface FlightRoutineRepository extends JpaRepository<FlightRoutine, UUID>, JpaSpecificationExecutor<FlightRoutine> {
 
+    // Counts the same set as FlightRoutineSpecification.buildSearchSpecification; a null airline or
+    // maxDuration disables that filter
     @Query("""
         SELECT COUNT(fr) FROM FlightRoutine fr
         JOIN fr.flight f
+        JOIN f.airline a
         WHERE f.sourceAirport = :source
         AND f.destinationAirport = :destination
         AND fr.travelDate = :travelDate
         AND fr.availableSeats >= :minSeats
         AND fr.status = 'scheduled'
         AND f.isActive = true
+        AND a.isActive = true
+        AND (:airline IS NULL OR UPPER(a.code) = :airline)
+        AND (:maxDuration IS NULL OR f.totalDurationMinutes <= :maxDuration)
         """)
     Long countAvailableFlights(
             @Param("source") String source,
             @Param("destination") String destination,
             @Param("travelDate") LocalDate travelDate,
-            @Param("minSeats") Integer minSeats
+            @Param("minSeats") Integer minSeats,
+            @Param("airline") String airline,
+            @Param("maxDuration") Integer maxDuration
     );
 } 
\ No newline at end of file
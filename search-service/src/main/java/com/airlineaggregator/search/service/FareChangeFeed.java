@@ -0,0 +1,135 @@
+package com.airlineaggregator.search.service;
+
+import com.airlineaggregator.search.dto.FareChange;
+import com.airlineaggregator.search.dto.FareChangePage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Returns the flight routines whose price or seat count changed after a watermark, oldest change
+ * first. A routine's change time is {@code GREATEST(price_updated_at, availability_updated_at)};
+ * pages are keyed on that and the routine id, which {@code idx_flight_routines_changed} serves as
+ * one index range scan.
+ *
+ * <p>Updates stamp both columns with {@code clock_timestamp()} once they hold the routine's row
+ * lock, so the stamp never includes a wait for that lock. Inserts stamp them per row as the row
+ * is written: schedule expansion sets them in its merge, and the column defaults do the same for
+ * COPY loads. A transaction that is still open can nevertheless commit a change older than rows
+ * already returned, so pages stop {@code settle-ms} short of the database clock; a change is
+ * returned once that much time has passed since it was written, which covers the rest of the
+ * writing transaction. A routine that changes again is returned again with its latest state.
+ */
+@Service
+public class FareChangeFeed {
+
+    private static final String CHANGED_AT = "GREATEST(fr.price_updated_at, fr.availability_updated_at)";
+
+    private static final String SELECT_CHANGES =
+            "SELECT fr.id, fr.flight_id, f.flight_number, f.source_airport, f.destination_airport, " +
+            "fr.travel_date, fr.departure_time, fr.status, fr.current_price, fr.currency, fr.available_seats, " +
+            "fr.price_updated_at, fr.availability_updated_at, " + CHANGED_AT + " AS changed_at " +
+            "FROM flight_routines fr JOIN flights f ON f.id = fr.flight_id " +
+            "WHERE (" + CHANGED_AT + ", fr.id) > (?, ?) " +
+            "AND " + CHANGED_AT + " <= LOCALTIMESTAMP - ? * INTERVAL '1 millisecond' " +
+            "ORDER BY " + CHANGED_AT + ", fr.id LIMIT ?";
+
+    // Sorts before every routine id, so a plain timestamp watermark includes all routines changed at it
+    private static final UUID LOWEST_ID = new UUID(0L, 0L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${search.changes.default-page-size:500}")
+    private int defaultPageSize = 500;
+
+    @Value("${search.changes.max-page-size:5000}")
+    private int maxPageSize = 5000;
+
+    @Value("${search.changes.settle-ms:5000}")
+    private long settleMs = 5000;
+
+    /**
+     * Returns the changes after {@code cursor}, or after {@code since} when there is no cursor.
+     * Throws {@link IllegalArgumentException} when neither is given or the cursor is malformed.
+     */
+    public FareChangePage getChanges(LocalDateTime since, String cursor, Integer limit) {
+        Watermark from;
+        if (cursor != null && !cursor.isBlank()) {
+            from = decodeCursor(cursor);
+        } else if (since != null) {
+            from = new Watermark(since, LOWEST_ID);
+        } else {
+            throw new IllegalArgumentException("Either since or cursor is required");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+
+        List<Row> rows = jdbcTemplate.query(SELECT_CHANGES, (rs, rowNum) -> mapRow(rs),
+                from.changedAt(), from.flightRoutineId(), settleMs, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Row> page = hasMore ? rows.subList(0, pageSize) : rows;
+        List<FareChange> changes = new ArrayList<>(page.size());
+        for (Row row : page) {
+            changes.add(row.change());
+        }
+        Watermark next = page.isEmpty()
+                ? from
+                : new Watermark(page.get(page.size() - 1).changedAt(), page.get(page.size() - 1).change().getFlightRoutineId());
+        return new FareChangePage(changes, encodeCursor(next), hasMore);
+    }
+
+    static String encodeCursor(Watermark watermark) {
+        String position = watermark.changedAt() + "|" + watermark.flightRoutineId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Watermark decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid change feed cursor");
+            }
+            return new Watermark(LocalDateTime.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid change feed cursor", e);
+        }
+    }
+
+    private Row mapRow(ResultSet rs) throws SQLException {
+        FareChange change = new FareChange();
+        change.setFlightRoutineId(rs.getObject("id", UUID.class));
+        change.setFlightId(rs.getObject("flight_id", UUID.class));
+        change.setFlightNumber(rs.getString("flight_number"));
+        change.setSource(rs.getString("source_airport"));
+        change.setDestination(rs.getString("destination_airport"));
+        change.setTravelDate(rs.getObject("travel_date", LocalDate.class));
+        change.setDepartureTime(rs.getObject("departure_time", LocalTime.class));
+        change.setStatus(rs.getString("status"));
+        change.setCurrentPrice(rs.getBigDecimal("current_price"));
+        change.setCurrency(rs.getString("currency"));
+        change.setAvailableSeats(rs.getInt("available_seats"));
+        change.setPriceUpdatedAt(rs.getObject("price_updated_at", LocalDateTime.class));
+        change.setAvailabilityUpdatedAt(rs.getObject("availability_updated_at", LocalDateTime.class));
+        return new Row(change, rs.getObject("changed_at", LocalDateTime.class));
+    }
+
+    record Watermark(LocalDateTime changedAt, UUID flightRoutineId) {}
+
+    private record Row(FareChange change, LocalDateTime changedAt) {}
+} 
\ No newline at end of file
@@ -0,0 +1,289 @@
+package com.airlineaggregator.search.service;
+
+import com.airlineaggregator.search.dto.FareFeedRequest;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Exports every bookable fare in a travel date range for metasearch partners. The rows of
+ * {@code flight_routines ⋈ flights ⋈ airlines} are read through a server-side cursor
+ * ({@code fetch-size} rows per round trip, inside a read-only transaction so the Postgres driver
+ * does not buffer the whole result) and each row is written to the output as soon as it is read, so
+ * memory stays constant however many fares match.
+ *
+ * <p>An export holds one connection for as long as the client takes to read it, so at most
+ * {@code max-concurrent} run at a time: callers reserve a slot with {@link #tryAcquire()} before
+ * committing to a response and give it back with {@link #release()} once the export has ended.
+ */
+@Service
+public class FareFeedExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(FareFeedExporter.class);
+
+    private static final String SELECT_FARES =
+            "SELECT fr.id, a.code AS airline_code, f.flight_number, f.source_airport, f.destination_airport, " +
+            "fr.travel_date, fr.departure_time, fr.arrival_time, f.total_duration_minutes, " +
+            "fr.current_price, fr.currency, fr.available_seats " +
+            "FROM flight_routines fr JOIN flights f ON f.id = fr.flight_id JOIN airlines a ON a.id = f.airline_id " +
+            "WHERE fr.travel_date BETWEEN ? AND ? AND fr.status = 'scheduled' AND fr.available_seats > 0 " +
+            "AND f.is_active = true AND a.is_active = true";
+
+    static final String[] COLUMNS = {
+            "flightRoutineId", "airline", "flightNumber", "source", "destination", "travelDate",
+            "departureTime", "arrivalTime", "durationMinutes", "price", "currency", "availableSeats"
+    };
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${search.feed.fetch-size:1000}")
+    private int fetchSize = 1000;
+
+    @Value("${search.feed.max-concurrent:2}")
+    private int maxConcurrent = 2;
+
+    @Value("${search.feed.max-days:90}")
+    private int maxDays = 90;
+
+    private Semaphore exportSlots;
+
+    @PostConstruct
+    public void init() {
+        exportSlots = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Fills in a missing date range (from today, {@code max-days} long) and rejects a range that is
+     * reversed or longer than {@code max-days} with {@link IllegalArgumentException}.
+     */
+    public void resolveDates(FareFeedRequest request) {
+        if (request.getFromDate() == null) {
+            request.setFromDate(LocalDate.now());
+        }
+        if (request.getToDate() == null) {
+            request.setToDate(request.getFromDate().plusDays(maxDays - 1));
+        }
+        if (request.getToDate().isBefore(request.getFromDate())) {
+            throw new IllegalArgumentException("toDate must not be before fromDate");
+        }
+        if (ChronoUnit.DAYS.between(request.getFromDate(), request.getToDate()) >= maxDays) {
+            throw new IllegalArgumentException("A fare feed covers at most " + maxDays + " travel dates");
+        }
+    }
+
+    /**
+     * Reserves one of the {@code max-concurrent} export slots; false when all are taken.
+     */
+    public boolean tryAcquire() {
+        return exportSlots.tryAcquire();
+    }
+
+    public void release() {
+        exportSlots.release();
+    }
+
+    /**
+     * Writes all fares matching the request to {@code out} in the given format and returns how many
+     * were written. Does not close {@code out}.
+     */
+    @Transactional(readOnly = true)
+    public long export(FareFeedRequest request, Format format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        FareWriter writer = format == Format.CSV ? new CsvFareWriter(out) : new NdjsonFareWriter(out);
+        long rows;
+        try {
+            rows = streamFares(request, writer);
+        } catch (UncheckedIOException e) {
+            // The client went away or the write failed; the cursor is closed with the transaction
+            throw e.getCause();
+        }
+        writer.finish();
+        logger.info("Fare feed export {} wrote {} fares as {} in {} ms",
+                   request, rows, format, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private long streamFares(FareFeedRequest request, FareWriter writer) {
+        StringBuilder sql = new StringBuilder(SELECT_FARES);
+        List<Object> args = new ArrayList<>();
+        args.add(request.getFromDate());
+        args.add(request.getToDate());
+        if (hasText(request.getSource())) {
+            sql.append(" AND f.source_airport = ?");
+            args.add(request.getSource().toUpperCase());
+        }
+        if (hasText(request.getDestination())) {
+            sql.append(" AND f.destination_airport = ?");
+            args.add(request.getDestination().toUpperCase());
+        }
+        if (hasText(request.getAirline())) {
+            sql.append(" AND a.code = ?");
+            args.add(request.getAirline().toUpperCase());
+        }
+        sql.append(" ORDER BY fr.travel_date");
+
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, rs -> {
+            try {
+                writer.write(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private interface FareWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per line, written through a single generator.
+     */
+    private final class NdjsonFareWriter implements FareWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonFareWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeStringField(COLUMNS[0], rs.getString("id"));
+            generator.writeStringField(COLUMNS[1], rs.getString("airline_code"));
+            generator.writeStringField(COLUMNS[2], rs.getString("flight_number"));
+            generator.writeStringField(COLUMNS[3], rs.getString("source_airport"));
+            generator.writeStringField(COLUMNS[4], rs.getString("destination_airport"));
+            generator.writeStringField(COLUMNS[5], rs.getString("travel_date"));
+            generator.writeStringField(COLUMNS[6], rs.getString("departure_time"));
+            generator.writeStringField(COLUMNS[7], rs.getString("arrival_time"));
+            int duration = rs.getInt("total_duration_minutes");
+            if (rs.wasNull()) {
+                generator.writeNullField(COLUMNS[8]);
+            } else {
+                generator.writeNumberField(COLUMNS[8], duration);
+            }
+            generator.writeNumberField(COLUMNS[9], rs.getBigDecimal("current_price"));
+            generator.writeStringField(COLUMNS[10], rs.getString("currency"));
+            generator.writeNumberField(COLUMNS[11], rs.getInt("available_seats"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row.
+     */
+    private static final class CsvFareWriter implements FareWriter {
+        private final Writer writer;
+
+        private CsvFareWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            field(rs.getString("id"));
+            field(rs.getString("airline_code"));
+            field(rs.getString("flight_number"));
+            field(rs.getString("source_airport"));
+            field(rs.getString("destination_airport"));
+            field(rs.getString("travel_date"));
+            field(rs.getString("departure_time"));
+            field(rs.getString("arrival_time"));
+            field(rs.getString("total_duration_minutes"));
+            BigDecimal price = rs.getBigDecimal("current_price");
+            field(price != null ? price.toPlainString() : null);
+            field(rs.getString("currency"));
+            writer.write(rs.getString("available_seats"));
+            writer.write("\r\n");
+        }
+
+        private void field(String value) throws IOException {
+            if (value != null) {
+                if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                    writer.write('"');
+                    writer.write(value.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(value);
+                }
+            }
+            writer.write(',');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+} 
\ No newline at end of file
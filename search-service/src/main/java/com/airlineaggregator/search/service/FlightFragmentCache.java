@@ -0,0 +1,157 @@
+package com.airlineaggregator.search.service;
+
+import com.airlineaggregator.search.dto.FlightSearchResponse;
+import com.airlineaggregator.search.entity.Flight;
+import com.airlineaggregator.search.entity.FlightRoutine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Caches the rendered DTO and JSON bytes of each flight routine. An entry is reused while the
+ * routine's version stamp is unchanged: {@code price_updated_at}, {@code availability_updated_at}
+ * and, because not every writer bumps those columns, the seat count and current price themselves.
+ * The stamp also carries the flight's and airline's {@code updated_at}, so once
+ * {@link ReferenceDataCacheInvalidator} evicts a changed flight or airline the fragments built
+ * from it are rendered again; the TTL only bounds how long an entry is kept.
+ */
+@Component
+public class FlightFragmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightFragmentCache.class);
+
+    private final ConcurrentMap<UUID, RenderedFlight> fragments = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${search.fragment-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${search.fragment-cache.max-entries:50000}")
+    private int maxEntries = 50_000;
+
+    @Value("${search.fragment-cache.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    public FlightFragmentCache() {}
+
+    public FlightFragmentCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public RenderedFlight render(FlightRoutine flightRoutine, Function<FlightRoutine, FlightSearchResponse> converter) {
+        if (!enabled) {
+            return new RenderedFlight(null, converter.apply(flightRoutine), null, 0L);
+        }
+
+        long now = System.currentTimeMillis();
+        VersionStamp stamp = new VersionStamp(flightRoutine);
+        RenderedFlight cached = fragments.get(flightRoutine.getId());
+        if (cached != null && cached.stamp.equals(stamp) && now - cached.renderedAtMillis < ttlSeconds * 1000) {
+            return cached;
+        }
+
+        FlightSearchResponse response = converter.apply(flightRoutine);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to pre-render flight routine {}", flightRoutine.getId(), e);
+            return new RenderedFlight(stamp, response, null, now);
+        }
+
+        RenderedFlight rendered = new RenderedFlight(stamp, response, json, now);
+        if (fragments.size() >= maxEntries) {
+            evict();
+        }
+        fragments.put(flightRoutine.getId(), rendered);
+        return rendered;
+    }
+
+    public void invalidate(UUID flightRoutineId) {
+        fragments.remove(flightRoutineId);
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+
+    private void evict() {
+        // Drop roughly a tenth of the entries; iteration order is arbitrary, which is good enough here
+        int toRemove = Math.max(1, maxEntries / 10);
+        Iterator<UUID> iterator = fragments.keySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public static class RenderedFlight {
+        private final VersionStamp stamp;
+        private final FlightSearchResponse response;
+        private final byte[] json;
+        private final long renderedAtMillis;
+
+        private RenderedFlight(VersionStamp stamp, FlightSearchResponse response, byte[] json, long renderedAtMillis) {
+            this.stamp = stamp;
+            this.response = response;
+            this.json = json;
+            this.renderedAtMillis = renderedAtMillis;
+        }
+
+        public FlightSearchResponse getResponse() { return response; }
+        public byte[] getJson() { return json; }
+    }
+
+    private static final class VersionStamp {
+        private final LocalDateTime priceUpdatedAt;
+        private final LocalDateTime availabilityUpdatedAt;
+        private final LocalDateTime flightUpdatedAt;
+        private final LocalDateTime airlineUpdatedAt;
+        private final Integer availableSeats;
+        private final BigDecimal currentPrice;
+
+        private VersionStamp(FlightRoutine flightRoutine) {
+            this.priceUpdatedAt = flightRoutine.getPriceUpdatedAt();
+            this.availabilityUpdatedAt = flightRoutine.getAvailabilityUpdatedAt();
+            Flight flight = flightRoutine.getFlight();
+            this.flightUpdatedAt = flight != null ? flight.getUpdatedAt() : null;
+            this.airlineUpdatedAt = flight != null && flight.getAirline() != null ? flight.getAirline().getUpdatedAt() : null;
+            this.availableSeats = flightRoutine.getAvailableSeats();
+            this.currentPrice = flightRoutine.getCurrentPrice();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof VersionStamp)) return false;
+            VersionStamp that = (VersionStamp) o;
+            return Objects.equals(priceUpdatedAt, that.priceUpdatedAt)
+                    && Objects.equals(availabilityUpdatedAt, that.availabilityUpdatedAt)
+                    && Objects.equals(flightUpdatedAt, that.flightUpdatedAt)
+                    && Objects.equals(airlineUpdatedAt, that.airlineUpdatedAt)
+                    && Objects.equals(availableSeats, that.availableSeats)
+                    && (currentPrice == null ? that.currentPrice == null
+                        : that.currentPrice != null && currentPrice.compareTo(that.currentPrice) == 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(priceUpdatedAt, availabilityUpdatedAt, availableSeats);
+        }
+    }
+} 
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.airlineaggregator.search.service;
 
 import com.airlineaggregator.search.dto.*;
+import com.airlineaggregator.search.entity.Flight;
 import com.airlineaggregator.search.entity.FlightRoutine;
+import com.airlineaggregator.search.metrics.LatencyMetrics;
 import com.airlineaggregator.search.repository.FlightRoutineRepository;
 import com.airlineaggregator.search.specification.FlightRoutineSpecification;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -16,9 +18,9 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class FlightSearchService {
@@ -32,48 +34,86 @@ public class FlightSearchService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private FlightFragmentCache flightFragmentCache;
+
+    @Autowired
+    private LatencyMetrics latencyMetrics;
+
     @Transactional(readOnly = true)
     public SearchResult searchFlights(FlightSearchRequest request) {
-        logger.info("Searching flights for request: {}", request);
+        logger.debug("Searching flights for request: {}", request);
         
         long startTime = System.currentTimeMillis();
         
         try {
-            // Build dynamic query specification
-            Specification<FlightRoutine> searchSpec = buildSearchSpecification(request);
-            
-            // Execute search with pagination (limit to top 10)
-            Pageable pageable = PageRequest.of(0, MAX_RESULTS);
-            List<FlightRoutine> flightRoutines = flightRoutineRepository.findAll(searchSpec, pageable).getContent();
-            
-            // Convert to DTOs
-            List<FlightSearchResponse> flightResponses = flightRoutines.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-            
-            // Calculate total available flights for metadata
-            Long totalCount = flightRoutineRepository.countAvailableFlights(
-                    request.getSource(), 
-                    request.getDestination(), 
-                    request.getTravelDate(), 
-                    request.getPassengers()
-            );
+            List<FlightSearchResponse> flightResponses;
+            List<byte[]> flightFragments;
+            long totalCount;
+            SearchFacets facets = null;
+
+            if (Boolean.TRUE.equals(request.getIncludeFacets())) {
+                // Single scan builds the result page, the total count and the facets together
+                // Counted as one query stage: the count comes from the same scan
+                long queryStart = System.nanoTime();
+                SearchFacetCollector facetCollector = new SearchFacetCollector();
+                flightResponses = new ArrayList<>(MAX_RESULTS);
+                flightFragments = new ArrayList<>(MAX_RESULTS);
+                totalCount = scanWithFacets(request, facetCollector, flightResponses, flightFragments);
+                facets = facetCollector.build();
+                latencyMetrics.record(LatencyMetrics.Stage.QUERY, queryStart);
+            } else {
+                // Build dynamic query specification
+                Specification<FlightRoutine> searchSpec = buildSearchSpecification(request);
+                
+                // Execute search with pagination (limit to top 10)
+                Pageable pageable = PageRequest.of(0, MAX_RESULTS);
+                long queryStart = System.nanoTime();
+                List<FlightRoutine> flightRoutines = flightRoutineRepository.findAll(searchSpec, pageable).getContent();
+                latencyMetrics.record(LatencyMetrics.Stage.QUERY, queryStart);
+                
+                // Convert to DTOs, reusing pre-rendered routines whose version stamp is unchanged
+                long conversionStart = System.nanoTime();
+                flightResponses = new ArrayList<>(flightRoutines.size());
+                flightFragments = new ArrayList<>(flightRoutines.size());
+                for (FlightRoutine flightRoutine : flightRoutines) {
+                    addRenderedFlight(flightRoutine, flightResponses, flightFragments);
+                }
+                latencyMetrics.record(LatencyMetrics.Stage.CONVERSION, conversionStart);
+                
+                // Calculate total available flights for metadata, with the same filters as the page
+                long countStart = System.nanoTime();
+                String airline = request.getAirline();
+                Integer maxDuration = request.getMaxDuration();
+                totalCount = flightRoutineRepository.countAvailableFlights(
+                        request.getSource(), 
+                        request.getDestination(), 
+                        request.getTravelDate(), 
+                        request.getPassengers(),
+                        airline == null || airline.isEmpty() ? null : airline.toUpperCase(),
+                        maxDuration == null || maxDuration <= 0 ? null : maxDuration
+                );
+                latencyMetrics.record(LatencyMetrics.Stage.COUNT, countStart);
+            }
             
             long searchTime = System.currentTimeMillis() - startTime;
             
             // Create search metadata
             SearchResult.SearchMetadata metadata = new SearchResult.SearchMetadata(
-                    totalCount.intValue(),
+                    (int) totalCount,
                     UUID.randomUUID().toString(),
                     false, // TODO: Implement caching
                     searchTime,
                     request
             );
             
-            logger.info("Search completed in {}ms, found {} results (total available: {})", 
+            logger.debug("Search completed in {}ms, found {} results (total available: {})", 
                        searchTime, flightResponses.size(), totalCount);
             
-            return new SearchResult(flightResponses, metadata);
+            SearchResult result = new SearchResult(flightResponses, metadata);
+            result.setFacets(facets);
+            result.setFlightFragments(flightFragments);
+            return result;
             
         } catch (Exception e) {
             logger.error("Error during flight search", e);
@@ -81,10 +121,66 @@ public class FlightSearchService {
         }
     }
 
+    /**
+     * Scans every routine for the route, date and passenger count exactly once. Facets are
+     * collected over all of them, while the airline and maxDuration filters are applied in
+     * memory so the facets still show the counts for the alternatives a UI would offer.
+     */
+    private long scanWithFacets(FlightSearchRequest request, SearchFacetCollector facetCollector,
+                                List<FlightSearchResponse> flightResponses, List<byte[]> flightFragments) {
+        Specification<FlightRoutine> scanSpec = FlightRoutineSpecification.buildSearchSpecification(
+                request.getSource(),
+                request.getDestination(),
+                request.getTravelDate(),
+                request.getPassengers(),
+                null,
+                null,
+                request.getSortBy()
+        );
+
+        long matched = 0;
+        for (FlightRoutine flightRoutine : flightRoutineRepository.findAll(scanSpec)) {
+            Flight flight = flightRoutine.getFlight();
+            facetCollector.accept(flightRoutine, calculateStops(flight.getRouteDisplay()));
+
+            if (!matchesFacetFilters(flight, request)) {
+                continue;
+            }
+            matched++;
+            if (flightResponses.size() < MAX_RESULTS) {
+                addRenderedFlight(flightRoutine, flightResponses, flightFragments);
+            }
+        }
+        return matched;
+    }
+
+    private void addRenderedFlight(FlightRoutine flightRoutine, List<FlightSearchResponse> flightResponses,
+                                   List<byte[]> flightFragments) {
+        FlightFragmentCache.RenderedFlight rendered = flightFragmentCache.render(flightRoutine, this::convertToDTO);
+        flightResponses.add(rendered.getResponse());
+        flightFragments.add(rendered.getJson());
+    }
+
+    private boolean matchesFacetFilters(Flight flight, FlightSearchRequest request) {
+        String airline = request.getAirline();
+        if (airline != null && !airline.isEmpty() && !airline.equalsIgnoreCase(flight.getAirline().getCode())) {
+            return false;
+        }
+        Integer maxDuration = request.getMaxDuration();
+        if (maxDuration != null && maxDuration > 0) {
+            Integer duration = flight.getTotalDurationMinutes();
+            return duration != null && duration <= maxDuration;
+        }
+        return true;
+    }
+
     private Specification<FlightRoutine> buildSearchSpecification(FlightSearchRequest request) {
-        logger.debug("Building search specification for: source={}, destination={}, date={}, passengers={}, sortBy={}, airline={}, maxDuration={}", 
-                    request.getSource(), request.getDestination(), request.getTravelDate(), 
-                    request.getPassengers(), request.getSortBy(), request.getAirline(), request.getMaxDuration());
+        // Guarded: a 7-argument call allocates its varargs array even when DEBUG is off
+        if (logger.isDebugEnabled()) {
+            logger.debug("Building search specification for: source={}, destination={}, date={}, passengers={}, sortBy={}, airline={}, maxDuration={}", 
+                        request.getSource(), request.getDestination(), request.getTravelDate(), 
+                        request.getPassengers(), request.getSortBy(), request.getAirline(), request.getMaxDuration());
+        }
 
         return FlightRoutineSpecification.buildSearchSpecification(
                 request.getSource(),
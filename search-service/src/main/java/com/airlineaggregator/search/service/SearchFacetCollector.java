@@ -0,0 +1,126 @@
+package com.airlineaggregator.search.service;
+
+import com.airlineaggregator.search.dto.SearchFacets;
+import com.airlineaggregator.search.entity.Airline;
+import com.airlineaggregator.search.entity.FlightRoutine;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates search facets while the search result rows are being scanned.
+ * All counters are primitives; prices are tracked in minor units (paise) so the
+ * histogram can be bucketed once the scan is complete without a second query.
+ */
+public class SearchFacetCollector {
+
+    private static final int PRICE_BUCKETS = 8;
+    private static final long PRICE_BUCKET_ROUNDING = 100_00L; // round bucket widths to 100 in minor units
+
+    private final Map<String, AirlineCounter> airlineCounters = new LinkedHashMap<>();
+    private final int[] departureCounts = new int[4];
+    private final int[] stopsCounts = new int[3];
+
+    private long[] prices = new long[64];
+    private int priceCount;
+    private long minPrice = Long.MAX_VALUE;
+    private long maxPrice = Long.MIN_VALUE;
+
+    public void accept(FlightRoutine flightRoutine, int stops) {
+        Airline airline = flightRoutine.getFlight().getAirline();
+        long price = toMinorUnits(flightRoutine.getCurrentPrice());
+
+        AirlineCounter counter = airlineCounters.get(airline.getCode());
+        if (counter == null) {
+            counter = new AirlineCounter(airline.getName());
+            airlineCounters.put(airline.getCode(), counter);
+        }
+        counter.count++;
+        if (price < counter.minPrice) {
+            counter.minPrice = price;
+        }
+
+        if (priceCount == prices.length) {
+            prices = Arrays.copyOf(prices, prices.length * 2);
+        }
+        prices[priceCount++] = price;
+        if (price < minPrice) {
+            minPrice = price;
+        }
+        if (price > maxPrice) {
+            maxPrice = price;
+        }
+
+        LocalTime departure = flightRoutine.getDepartureTime();
+        if (departure != null) {
+            departureCounts[departure.getHour() / 6]++;
+        }
+
+        stopsCounts[Math.min(stops, 2)]++;
+    }
+
+    public SearchFacets build() {
+        List<SearchFacets.AirlineFacet> airlines = new ArrayList<>(airlineCounters.size());
+        for (Map.Entry<String, AirlineCounter> entry : airlineCounters.entrySet()) {
+            AirlineCounter counter = entry.getValue();
+            airlines.add(new SearchFacets.AirlineFacet(
+                    entry.getKey(), counter.name, counter.count, fromMinorUnits(counter.minPrice)));
+        }
+        airlines.sort((a, b) -> Integer.compare(b.getCount(), a.getCount()));
+
+        SearchFacets.DepartureTimeBuckets departureTimes = new SearchFacets.DepartureTimeBuckets(
+                departureCounts[0], departureCounts[1], departureCounts[2], departureCounts[3]);
+        SearchFacets.StopsBuckets stops = new SearchFacets.StopsBuckets(
+                stopsCounts[0], stopsCounts[1], stopsCounts[2]);
+
+        return new SearchFacets(airlines, buildPriceHistogram(), departureTimes, stops);
+    }
+
+    private List<SearchFacets.PriceBucket> buildPriceHistogram() {
+        if (priceCount == 0) {
+            return new ArrayList<>();
+        }
+
+        long lower = (minPrice / PRICE_BUCKET_ROUNDING) * PRICE_BUCKET_ROUNDING;
+        long span = maxPrice - lower + 1;
+        long width = (span + PRICE_BUCKETS - 1) / PRICE_BUCKETS;
+        width = ((width + PRICE_BUCKET_ROUNDING - 1) / PRICE_BUCKET_ROUNDING) * PRICE_BUCKET_ROUNDING;
+        int bucketCount = (int) Math.min(PRICE_BUCKETS, (span + width - 1) / width);
+
+        int[] counts = new int[bucketCount];
+        for (int i = 0; i < priceCount; i++) {
+            int bucket = (int) ((prices[i] - lower) / width);
+            counts[Math.min(bucket, bucketCount - 1)]++;
+        }
+
+        List<SearchFacets.PriceBucket> histogram = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            long from = lower + i * width;
+            histogram.add(new SearchFacets.PriceBucket(fromMinorUnits(from), fromMinorUnits(from + width), counts[i]));
+        }
+        return histogram;
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return amount == null ? 0L : amount.movePointRight(2).longValue();
+    }
+
+    private static BigDecimal fromMinorUnits(long amount) {
+        return BigDecimal.valueOf(amount, 2);
+    }
+
+    private static class AirlineCounter {
+        private final String name;
+        private int count;
+        private long minPrice = Long.MAX_VALUE;
+
+        private AirlineCounter(String name) {
+            this.name = name;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.airlineaggregator.search.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps every Spring Data repository call and every {@code JdbcTemplate} call made inside a traced
+ * request in a span named after the repository and method.
+ */
+@Aspect
+@Component
+public class RepositoryTracingAspect {
+
+    private static final int MAX_STATEMENT_LENGTH = 200;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) || " +
+            "execution(* org.springframework.jdbc.core.JdbcOperations+.*(..))")
+    public Object traceQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!tracer.isRecording()) {
+            return joinPoint.proceed();
+        }
+        try (Span span = tracer.startSpan(componentName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName())) {
+            Object[] args = joinPoint.getArgs();
+            if (args.length > 0 && args[0] instanceof String sql) {
+                span.setAttribute("db.statement", sql.length() > MAX_STATEMENT_LENGTH
+                        ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql);
+            }
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                span.recordError(e);
+                throw e;
+            }
+        }
+    }
+
+    private static String componentName(Object target) {
+        // Spring Data repositories are JDK proxies whose first interface is the repository itself
+        Class<?> type = target.getClass();
+        if (Proxy.isProxyClass(type) && type.getInterfaces().length > 0) {
+            return type.getInterfaces()[0].getSimpleName();
+        }
+        return type.getSimpleName();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,218 @@
+package com.airlineaggregator.search.tracing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal W3C trace-context tracer. A request is traced when its {@code traceparent} header has
+ * the sampled flag set, or, for requests without one, with probability {@code tracing.sample-rate}.
+ * Child spans are only created under a recording span, so an unsampled request costs one
+ * thread-local read per instrumented call.
+ *
+ * <p>Finished spans go into a bounded queue and are exported in batches by a background thread;
+ * when the queue is full spans are dropped rather than slowing the request down.
+ */
+@Component
+public class Tracer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Tracer.class);
+
+    private static final int EXPORT_BATCH_SIZE = 512;
+
+    private final SpanExporter exporter;
+    private final double sampleRate;
+    private final String serviceName;
+    private final BlockingQueue<Span> queue;
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+    private Thread exportThread;
+
+    /**
+     * A tracer without an exporter; it never samples.
+     */
+    public Tracer() {
+        this((SpanExporter) null, 0.0, 1, "search-service");
+    }
+
+    @Autowired
+    public Tracer(ObjectProvider<SpanExporter> exporter,
+                  @Value("${tracing.sample-rate:0.0}") double sampleRate,
+                  @Value("${tracing.queue-size:8192}") int queueSize,
+                  @Value("${spring.application.name:search-service}") String serviceName) {
+        this(exporter.getIfAvailable(), sampleRate, queueSize, serviceName);
+    }
+
+    public Tracer(SpanExporter exporter, double sampleRate, int queueSize, String serviceName) {
+        this.exporter = exporter;
+        this.sampleRate = sampleRate;
+        this.serviceName = serviceName;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (exporter == null) {
+            return;
+        }
+        running = true;
+        exportThread = new Thread(this::exportLoop, "span-exporter");
+        exportThread.setDaemon(true);
+        exportThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (exportThread != null) {
+            exportThread.interrupt();
+            try {
+                exportThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Opens the root span of an incoming request and makes it current. Returns {@link Span#NOOP}
+     * when the request is not sampled.
+     */
+    public Span startServerSpan(String name, String traceparent) {
+        if (exporter == null) {
+            return Span.NOOP;
+        }
+        String traceId;
+        String parentSpanId;
+        boolean sampled;
+        if (isValidTraceparent(traceparent)) {
+            traceId = traceparent.substring(3, 35);
+            parentSpanId = traceparent.substring(36, 52);
+            sampled = (Character.digit(traceparent.charAt(54), 16) & 1) == 1;
+        } else {
+            traceId = null;
+            parentSpanId = null;
+            sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        }
+        if (!sampled) {
+            return Span.NOOP;
+        }
+        if (traceId == null) {
+            traceId = newSpanId() + newSpanId();
+        }
+        Span span = new Span(this, current.get(), traceId, parentSpanId, serviceName, name);
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * Opens a child of the current span, or returns {@link Span#NOOP} when nothing is being traced.
+     */
+    public Span startSpan(String name) {
+        Span parent = current.get();
+        if (parent == null) {
+            return Span.NOOP;
+        }
+        Span span = new Span(this, parent, parent.getTraceId(), parent.getSpanId(), serviceName, name);
+        current.set(span);
+        return span;
+    }
+
+    public boolean isRecording() {
+        return current.get() != null;
+    }
+
+    /**
+     * The current span, or {@link Span#NOOP}.
+     */
+    public Span currentSpan() {
+        Span span = current.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    public long getDroppedSpans() {
+        return dropped.get();
+    }
+
+    void finish(Span span) {
+        if (span.parent() != null) {
+            current.set(span.parent());
+        } else {
+            current.remove();
+        }
+        if (!queue.offer(span)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Exports everything queued so far on the calling thread.
+     */
+    public void flush() {
+        if (exporter == null) {
+            return;
+        }
+        List<Span> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        while (queue.drainTo(batch, EXPORT_BATCH_SIZE) > 0) {
+            export(batch);
+            batch.clear();
+        }
+    }
+
+    private void exportLoop() {
+        List<Span> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        while (running) {
+            try {
+                Span first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, EXPORT_BATCH_SIZE - 1);
+                export(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void export(List<Span> batch) {
+        try {
+            exporter.export(batch);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to export {} spans: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static boolean isValidTraceparent(String header) {
+        // version "00" - 32 hex trace id - 16 hex parent id - 2 hex flags
+        return header != null && header.length() == 55 && header.startsWith("00-")
+                && header.charAt(35) == '-' && header.charAt(52) == '-'
+                && !header.startsWith("00000000000000000000000000000000", 3);
+    }
+
+    static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        String hex = Long.toHexString(id);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+} 
\ No newline at end of file
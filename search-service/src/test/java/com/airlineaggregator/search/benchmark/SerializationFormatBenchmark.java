@@ -0,0 +1,113 @@
+package com.airlineaggregator.search.benchmark;
+
+import com.airlineaggregator.search.config.SearchResultJsonConverter;
+import com.airlineaggregator.search.dto.FlightSearchRequest;
+import com.airlineaggregator.search.dto.FlightSearchResponse;
+import com.airlineaggregator.search.dto.SearchResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reports encoded size and serialization cost of a full search response page for each
+ * negotiable format. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SerializationFormatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 50_000;
+
+    @Test
+    void searchResult_SerializationCostPerFormat() throws Exception {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("application/json", json);
+        formats.put("application/cbor", json.copyWith(new CBORFactory()));
+        formats.put("application/x-jackson-smile", json.copyWith(new SmileFactory()));
+
+        SearchResult result = createSearchResult(10);
+
+        System.out.printf("%-30s %10s %12s%n", "format", "bytes", "ns/response");
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            ObjectMapper mapper = format.getValue();
+            int size = 0;
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                size = mapper.writeValueAsBytes(result).length;
+            }
+
+            long start = System.nanoTime();
+            long sink = 0;
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                sink += mapper.writeValueAsBytes(result).length;
+            }
+            long nsPerResponse = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+            assertTrue(sink > 0);
+            System.out.printf("%-30s %10d %12d%n", format.getKey(), size, nsPerResponse);
+        }
+
+        // JSON with pre-rendered flight fragments spliced in, as served for cached routines
+        List<byte[]> fragments = new ArrayList<>();
+        for (FlightSearchResponse flight : result.getFlights()) {
+            fragments.add(json.writeValueAsBytes(flight));
+        }
+        result.setFlightFragments(fragments);
+        SearchResultJsonConverter converter = new SearchResultJsonConverter(json);
+        int size = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            MockHttpOutputMessage message = new MockHttpOutputMessage();
+            converter.write(result, MediaType.APPLICATION_JSON, message);
+            size = message.getBodyAsBytes().length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            converter.write(result, MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+        }
+        long nsPerResponse = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+        System.out.printf("%-30s %10d %12d%n", "application/json (fragments)", size, nsPerResponse);
+    }
+
+    private SearchResult createSearchResult(int flights) {
+        List<FlightSearchResponse> responses = new ArrayList<>(flights);
+        for (int i = 0; i < flights; i++) {
+            FlightSearchResponse response = new FlightSearchResponse();
+            response.setFlightRoutineId(UUID.randomUUID());
+            response.setFlightId(UUID.randomUUID());
+            response.setFlightNumber("6E-" + (100 + i));
+            response.setAirline(new FlightSearchResponse.AirlineInfo("6E", "IndiGo",
+                    "https://logos.textgiraffe.com/logos/logo-name/Indigo-designstyle-wings-m.png"));
+            response.setRoute(new FlightSearchResponse.RouteInfo("DEL", "BLR", "DEL -> BLR", 0));
+            response.setSchedule(new FlightSearchResponse.ScheduleInfo(
+                    LocalTime.of(6 + i, 30), LocalTime.of(9 + i, 30), LocalDate.of(2025, 7, 26), 180));
+            response.setPricing(new FlightSearchResponse.PricingInfo(
+                    BigDecimal.valueOf(5000 + i * 137.25), BigDecimal.valueOf(3772.00), "INR",
+                    "{\"first\": 29942, \"economy\": 7129, \"business\": 17823}"));
+            response.setAvailability(new FlightSearchResponse.AvailabilityInfo(186, 10 + i));
+            response.setAircraft(new FlightSearchResponse.AircraftInfo("Airbus A320neo", "[\"WiFi\",\"Entertainment\"]"));
+            responses.add(response);
+        }
+
+        FlightSearchRequest request = new FlightSearchRequest("DEL", "BLR", LocalDate.of(2025, 7, 26), 2, "price");
+        SearchResult.SearchMetadata metadata = new SearchResult.SearchMetadata(
+                flights, UUID.randomUUID().toString(), false, 12L, request);
+        return new SearchResult(responses, metadata);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.airlineaggregator.search.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPermitDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void getConnection_ClosedConnection_ReleasesPermit() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, 10, 50);
+
+        // When
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        // Then
+        assertNotNull(second);
+        assertEquals(0, dataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_AllPermitsTaken_TimesOut() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, 10, 50);
+        dataSource.getConnection();
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_WaitQueueFull_FailsWithoutWaiting() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, 0, 60_000);
+        dataSource.getConnection();
+
+        // When
+        long start = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        // Then
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    }
+
+    @Test
+    void getConnection_PoolFails_ReturnsPermit() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, 10, 50);
+
+        // When
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        // Then
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+} 
\ No newline at end of file
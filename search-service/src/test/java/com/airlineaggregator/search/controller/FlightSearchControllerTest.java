@@ -1,29 +1,50 @@
 package com.airlineaggregator.search.controller;
 
+import com.airlineaggregator.search.config.BinaryFormatConfig;
+import com.airlineaggregator.search.config.SearchResultJsonConverter;
+import com.airlineaggregator.search.dto.FareFeedRequest;
 import com.airlineaggregator.search.dto.FlightSearchRequest;
 import com.airlineaggregator.search.dto.FlightSearchResponse;
 import com.airlineaggregator.search.dto.SearchResult;
+import com.airlineaggregator.search.limit.ConcurrencyLimiterRegistry;
+import com.airlineaggregator.search.metrics.LatencyMetrics;
+import com.airlineaggregator.search.service.FareChangeFeed;
+import com.airlineaggregator.search.service.FareFeedExporter;
 import com.airlineaggregator.search.service.FlightSearchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +54,18 @@ class FlightSearchControllerTest {
     @Mock
     private FlightSearchService flightSearchService;
 
+    @Mock
+    private FareFeedExporter fareFeedExporter;
+
+    @Mock
+    private FareChangeFeed fareChangeFeed;
+
+    @Spy
+    private LatencyMetrics latencyMetrics = new LatencyMetrics();
+
+    @Spy
+    private ConcurrencyLimiterRegistry concurrencyLimiterRegistry = new ConcurrencyLimiterRegistry();
+
     @InjectMocks
     private FlightSearchController flightSearchController;
 
@@ -45,6 +78,61 @@ class FlightSearchControllerTest {
         objectMapper = new ObjectMapper();
     }
 
+    @Test
+    void getFareChanges_NoWatermark_ReturnsBadRequest() throws Exception {
+        // Given
+        when(fareChangeFeed.getChanges(null, null, null))
+                .thenThrow(new IllegalArgumentException("Either since or cursor is required"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/flights/changes"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportFareFeed_AcceptsGzip_StreamsCompressedFeed() throws Exception {
+        // Given
+        when(fareFeedExporter.tryAcquire()).thenReturn(true);
+        when(fareFeedExporter.export(any(FareFeedRequest.class), eq(FareFeedExporter.Format.CSV), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<OutputStream>getArgument(2).write("flightRoutineId\r\n".getBytes(StandardCharsets.UTF_8));
+                    return 0L;
+                });
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/v1/flights/feed")
+                .param("fromDate", "2025-08-01")
+                .param("toDate", "2025-08-31")
+                .param("format", "csv")
+                .header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andReturn();
+
+        // Then
+        try (GZIPInputStream feed = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals("flightRoutineId\r\n", new String(feed.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        verify(fareFeedExporter).release();
+    }
+
+    @Test
+    void exportFareFeed_AllExportSlotsBusy_ReturnsServiceUnavailable() throws Exception {
+        // Given
+        when(fareFeedExporter.tryAcquire()).thenReturn(false);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/flights/feed"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+
+        verify(fareFeedExporter, never()).export(any(), any(), any());
+    }
+
     @Test
     void searchFlights_ValidRequest_ReturnsSearchResults() throws Exception {
         // Given
@@ -268,6 +356,103 @@ class FlightSearchControllerTest {
         assertEquals(60, capturedRequest.getMaxDuration());
     }
 
+    @Test
+    void searchFlights_BinaryAcceptHeaders_NegotiateCborAndSmile() throws Exception {
+        // Given
+        ObjectMapper applicationMapper = new ObjectMapper().findAndRegisterModules();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter(applicationMapper));
+        new BinaryFormatConfig(applicationMapper).extendMessageConverters(converters);
+        MockMvc binaryMockMvc = MockMvcBuilders.standaloneSetup(flightSearchController)
+                .setMessageConverters(converters.toArray(new HttpMessageConverter<?>[0]))
+                .build();
+
+        when(flightSearchService.searchFlights(any(FlightSearchRequest.class)))
+                .thenReturn(createMockSearchResult());
+
+        for (MediaType mediaType : List.of(BinaryFormatConfig.APPLICATION_CBOR, BinaryFormatConfig.APPLICATION_SMILE)) {
+            // When
+            byte[] body = binaryMockMvc.perform(get("/api/v1/flights/search")
+                    .accept(mediaType)
+                    .param("source", "DEL")
+                    .param("destination", "BLR")
+                    .param("travelDate", "2025-07-26")
+                    .param("passengers", "2")
+                    .param("sortBy", "price"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(mediaType))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            // Then
+            ObjectMapper decoder = mediaType.equals(BinaryFormatConfig.APPLICATION_CBOR)
+                    ? applicationMapper.copyWith(new CBORFactory())
+                    : applicationMapper.copyWith(new SmileFactory());
+            SearchResult decoded = decoder.readValue(body, SearchResult.class);
+            assertEquals("6E-112", decoded.getFlights().get(0).getFlightNumber());
+            assertEquals(java.time.LocalTime.of(14, 30), decoded.getFlights().get(0).getSchedule().getDepartureTime());
+            assertEquals(1, decoded.getSearchMetadata().getTotalResults());
+        }
+    }
+
+    @Test
+    void searchFlights_WithFlightFragments_SplicesSameJsonAsJackson() throws Exception {
+        // Given
+        ObjectMapper applicationMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        MockMvc fragmentMockMvc = MockMvcBuilders.standaloneSetup(flightSearchController)
+                .setMessageConverters(new SearchResultJsonConverter(applicationMapper),
+                        new MappingJackson2HttpMessageConverter(applicationMapper))
+                .build();
+
+        SearchResult mockResult = createMockSearchResult();
+        String expectedJson = applicationMapper.writeValueAsString(mockResult);
+        mockResult.setFlightFragments(List.of(applicationMapper.writeValueAsBytes(mockResult.getFlights().get(0))));
+        when(flightSearchService.searchFlights(any(FlightSearchRequest.class)))
+                .thenReturn(mockResult);
+
+        // When & Then
+        String body = fragmentMockMvc.perform(get("/api/v1/flights/search")
+                .param("source", "DEL")
+                .param("destination", "BLR")
+                .param("travelDate", "2025-07-26")
+                .param("passengers", "2")
+                .param("sortBy", "price"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(expectedJson, body);
+    }
+
+    @Test
+    void getLatencyMetrics_AfterSearch_ReportsSerializationStage() throws Exception {
+        // Given
+        ObjectMapper applicationMapper = new ObjectMapper().findAndRegisterModules();
+        MockMvc metricsMockMvc = MockMvcBuilders.standaloneSetup(flightSearchController)
+                .setMessageConverters(new SearchResultJsonConverter(applicationMapper, latencyMetrics),
+                        new MappingJackson2HttpMessageConverter(applicationMapper))
+                .build();
+        when(flightSearchService.searchFlights(any(FlightSearchRequest.class)))
+                .thenReturn(createMockSearchResult());
+
+        metricsMockMvc.perform(get("/api/v1/flights/search")
+                .param("source", "DEL")
+                .param("destination", "BLR")
+                .param("travelDate", "2025-07-26")
+                .param("passengers", "2")
+                .param("sortBy", "price"))
+                .andExpect(status().isOk());
+
+        // When & Then
+        metricsMockMvc.perform(get("/api/v1/flights/metrics/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stages[0].stage").value("query"))
+                .andExpect(jsonPath("$.stages[3].stage").value("serialization"))
+                .andExpect(jsonPath("$.stages[3].count").value(1))
+                .andExpect(jsonPath("$.stages[3].recentCount").value(1))
+                .andExpect(jsonPath("$.stages[0].count").value(0));
+    }
+
     private SearchResult createMockSearchResult() {
         FlightSearchResponse flight = new FlightSearchResponse();
         flight.setFlightRoutineId(UUID.randomUUID());
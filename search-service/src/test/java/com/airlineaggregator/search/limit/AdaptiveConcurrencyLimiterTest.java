@@ -0,0 +1,105 @@
+package com.airlineaggregator.search.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void tryAcquire_AtLimit_RejectsUntilReleased() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(2);
+
+        // When
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+        limiter.release(FAST, false);
+        boolean afterRelease = limiter.tryAcquire();
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterRelease);
+        assertEquals(1, limiter.snapshot().getRejected());
+    }
+
+    @Test
+    void release_SteadyLatencyAtLimit_GrowsLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20);
+
+        // When
+        runSaturated(limiter, FAST, 200);
+
+        // Then
+        assertTrue(limiter.getLimit() > 20, "limit was " + limiter.getLimit());
+    }
+
+    @Test
+    void release_LatencyRisesUnderLoad_ShrinksLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20);
+        runSaturated(limiter, FAST, 300);
+        int healthyLimit = limiter.getLimit();
+
+        // When
+        runSaturated(limiter, SLOW, 300);
+
+        // Then
+        assertTrue(limiter.getLimit() < healthyLimit / 2,
+                "limit went from " + healthyLimit + " to " + limiter.getLimit());
+    }
+
+    @Test
+    void release_LightLoad_KeepsLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST, false);
+        }
+
+        // Then
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void release_FailedRequest_BacksOff() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20);
+
+        // When
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+
+        // Then
+        assertEquals(18, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter("search", ConcurrencyLimited.Priority.SHEDDABLE, initialLimit, 1, 200, 1.5);
+    }
+
+    /**
+     * Keeps every slot busy and completes one request at a time with the given latency.
+     */
+    private void runSaturated(AdaptiveConcurrencyLimiter limiter, long rttNanos, int samples) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire()) {
+                // fill up to the current limit
+            }
+            limiter.release(rttNanos, false);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.airlineaggregator.search.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledRequestLogFilterTest {
+
+    private final Logger filterLogger = (Logger) LoggerFactory.getLogger(SampledRequestLogFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        filterLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filterLogger.detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_SuccessNotSampled_LogsNothing() throws ServletException, IOException {
+        // Given
+        SampledRequestLogFilter filter = new SampledRequestLogFilter(0.0, 60_000);
+
+        // When
+        filter.doFilter(searchRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void doFilter_SampleRateOne_LogsEverySuccess() throws ServletException, IOException {
+        // Given
+        SampledRequestLogFilter filter = new SampledRequestLogFilter(1.0, 60_000);
+
+        // When
+        filter.doFilter(searchRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.INFO, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage()
+                .startsWith("GET /api/v1/flights/search?source=DEL&destination=BLR -> 200"));
+    }
+
+    @Test
+    void doFilter_ServerErrorNotSampled_AlwaysLogsWarning() throws ServletException, IOException {
+        // Given
+        SampledRequestLogFilter filter = new SampledRequestLogFilter(0.0, 60_000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(500);
+
+        // When
+        filter.doFilter(searchRequest(), response, new MockFilterChain());
+
+        // Then
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+    }
+
+    @Test
+    void doFilter_ShedRequestNotSampled_LogsNothing() throws ServletException, IOException {
+        // Given
+        SampledRequestLogFilter filter = new SampledRequestLogFilter(0.0, 60_000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(503);
+        response.setHeader("Retry-After", "1");
+
+        // When
+        filter.doFilter(searchRequest(), response, new MockFilterChain());
+
+        // Then
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void doFilter_SlowRequestNotSampled_AlwaysLogsWarning() throws ServletException, IOException {
+        // Given - a zero threshold makes every request slow
+        SampledRequestLogFilter filter = new SampledRequestLogFilter(0.0, 0);
+
+        // When
+        filter.doFilter(searchRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage().endsWith("(slow)"));
+    }
+
+    private MockHttpServletRequest searchRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/flights/search");
+        request.setQueryString("source=DEL&destination=BLR");
+        return request;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.airlineaggregator.search.service;
+
+import com.airlineaggregator.search.dto.FareChangePage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FareChangeFeedTest {
+
+    private static final LocalDateTime SINCE = LocalDateTime.of(2025, 7, 26, 9, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private FareChangeFeed fareChangeFeed;
+
+    @Test
+    void getChanges_Since_StartsBeforeEveryRoutineAtThatTime() {
+        // Given
+        givenChangedRoutines(0);
+
+        // When
+        FareChangePage page = fareChangeFeed.getChanges(SINCE, null, null);
+
+        // Then
+        ArgumentCaptor<Object> args = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), args.capture(), args.capture(), args.capture(), args.capture());
+        assertEquals(List.of(SINCE, new UUID(0L, 0L), 5000L, 501), args.getAllValues());
+        assertTrue(page.getChanges().isEmpty());
+        assertFalse(page.isHasMore());
+        // An empty page hands the same watermark back
+        assertEquals(SINCE, FareChangeFeed.decodeCursor(page.getNextCursor()).changedAt());
+    }
+
+    @Test
+    void getChanges_MoreThanOnePage_CursorPointsAtLastReturnedChange() {
+        // Given
+        List<UUID> routineIds = givenChangedRoutines(3);
+
+        // When
+        FareChangePage page = fareChangeFeed.getChanges(SINCE, null, 2);
+
+        // Then
+        assertEquals(2, page.getChanges().size());
+        assertTrue(page.isHasMore());
+        FareChangeFeed.Watermark next = FareChangeFeed.decodeCursor(page.getNextCursor());
+        assertEquals(SINCE.plusSeconds(2), next.changedAt());
+        assertEquals(routineIds.get(1), next.flightRoutineId());
+    }
+
+    @Test
+    void getChanges_Cursor_ResumesAfterIt() {
+        // Given
+        UUID routineId = UUID.randomUUID();
+        String cursor = FareChangeFeed.encodeCursor(new FareChangeFeed.Watermark(SINCE, routineId));
+        givenChangedRoutines(0);
+
+        // When
+        fareChangeFeed.getChanges(null, cursor, 10);
+
+        // Then
+        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(SINCE), eq(routineId), eq(5000L), eq(11));
+    }
+
+    @Test
+    void getChanges_NoWatermark_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> fareChangeFeed.getChanges(null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> fareChangeFeed.getChanges(null, "bogus", null));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Answers the change query with {@code count} routines changed one second apart after SINCE.
+     */
+    private List<UUID> givenChangedRoutines(int count) {
+        List<UUID> routineIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            routineIds.add(UUID.randomUUID());
+        }
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any(), any())).thenAnswer(invocation -> {
+            RowMapper<?> mapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ResultSet rs = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+                when(rs.getObject("id", UUID.class)).thenReturn(routineIds.get(i));
+                when(rs.getObject("changed_at", LocalDateTime.class)).thenReturn(SINCE.plusSeconds(i + 1));
+                rows.add(mapper.mapRow(rs, i));
+            }
+            return rows;
+        });
+        return routineIds;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.airlineaggregator.search.service;
+
+import com.airlineaggregator.search.dto.FareFeedRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FareFeedExporterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private FareFeedExporter fareFeedExporter;
+
+    @Test
+    void export_Ndjson_WritesOneObjectPerFare() throws Exception {
+        // Given
+        ResultSet rs = fareRow("6E", "6E-2031");
+        givenRows(rs, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = fareFeedExporter.export(request(), FareFeedExporter.Format.NDJSON, out);
+
+        // Then
+        assertEquals(2, rows);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode fare = objectMapper.readTree(lines[0]);
+        assertEquals("6E-2031", fare.get("flightNumber").asText());
+        assertEquals("2025-08-02", fare.get("travelDate").asText());
+        assertTrue(lines[0].contains("\"price\":5250.00"));
+        assertEquals(42, fare.get("availableSeats").asInt());
+    }
+
+    @Test
+    void export_Csv_WritesHeaderAndQuotesSpecialCharacters() throws Exception {
+        // Given
+        givenRows(fareRow("X,Y", "XY-\"1\""), 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        fareFeedExporter.export(request(), FareFeedExporter.Format.CSV, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(String.join(",", FareFeedExporter.COLUMNS), lines[0]);
+        assertTrue(lines[1].contains(",\"X,Y\",\"XY-\"\"1\"\"\",DEL,BLR,2025-08-02,"));
+        assertTrue(lines[1].endsWith(",5250.00,INR,42"));
+    }
+
+    @Test
+    void export_UsesForwardOnlyCursorWithFetchSize() throws Exception {
+        // Given
+        givenRows(fareRow("6E", "6E-2031"), 0);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+
+        // When
+        fareFeedExporter.export(request(), FareFeedExporter.Format.NDJSON, new ByteArrayOutputStream());
+
+        // Then
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        creator.getValue().createPreparedStatement(connection);
+        verify(statement).setFetchSize(1000);
+        verify(statement).setObject(1, LocalDate.of(2025, 8, 1));
+    }
+
+    @Test
+    void resolveDates_RangeLongerThanMaxDays_Rejected() {
+        // Given
+        FareFeedRequest request = new FareFeedRequest(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 10, 30));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> fareFeedExporter.resolveDates(request));
+    }
+
+    @Test
+    void resolveDates_NoRange_DefaultsToNextMaxDays() {
+        // Given
+        FareFeedRequest request = new FareFeedRequest();
+
+        // When
+        fareFeedExporter.resolveDates(request);
+
+        // Then
+        assertEquals(LocalDate.now(), request.getFromDate());
+        assertEquals(LocalDate.now().plusDays(89), request.getToDate());
+    }
+
+    private void givenRows(ResultSet rs, int count) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < count; i++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private ResultSet fareRow(String airline, String flightNumber) throws Exception {
+        ResultSet rs = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        when(rs.getString("id")).thenReturn("dbbe9277-ac15-46a0-8cca-554b00fe8c0e");
+        when(rs.getString("airline_code")).thenReturn(airline);
+        when(rs.getString("flight_number")).thenReturn(flightNumber);
+        when(rs.getString("source_airport")).thenReturn("DEL");
+        when(rs.getString("destination_airport")).thenReturn("BLR");
+        when(rs.getString("travel_date")).thenReturn("2025-08-02");
+        when(rs.getString("departure_time")).thenReturn("10:00:00");
+        when(rs.getString("arrival_time")).thenReturn("12:45:00");
+        when(rs.getInt("total_duration_minutes")).thenReturn(165);
+        when(rs.getString("total_duration_minutes")).thenReturn("165");
+        when(rs.getBigDecimal("current_price")).thenReturn(new BigDecimal("5250.00"));
+        when(rs.getString("currency")).thenReturn("INR");
+        when(rs.getInt("available_seats")).thenReturn(42);
+        when(rs.getString("available_seats")).thenReturn("42");
+        return rs;
+    }
+
+    private FareFeedRequest request() {
+        return new FareFeedRequest(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31));
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.airlineaggregator.search.service;
+
+import com.airlineaggregator.search.dto.FlightSearchResponse;
+import com.airlineaggregator.search.entity.Airline;
+import com.airlineaggregator.search.entity.Flight;
+import com.airlineaggregator.search.entity.FlightRoutine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightFragmentCacheTest {
+
+    private static final LocalDateTime STAMP = LocalDateTime.of(2025, 7, 1, 10, 0);
+
+    private final FlightFragmentCache cache = new FlightFragmentCache(new ObjectMapper().findAndRegisterModules());
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    private final Function<FlightRoutine, FlightSearchResponse> converter = routine -> {
+        renders.incrementAndGet();
+        return new FlightSearchResponse();
+    };
+
+    @Test
+    void render_UnchangedRoutine_ReusesFragment() {
+        // Given
+        FlightRoutine routine = createRoutine();
+
+        // When
+        cache.render(routine, converter);
+        cache.render(routine, converter);
+
+        // Then
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void render_FlightChanged_RendersAgain() {
+        // Given
+        FlightRoutine routine = createRoutine();
+        cache.render(routine, converter);
+
+        // When
+        routine.getFlight().setUpdatedAt(STAMP.plusMinutes(5));
+        cache.render(routine, converter);
+
+        // Then
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void render_AirlineChanged_RendersAgain() {
+        // Given
+        FlightRoutine routine = createRoutine();
+        cache.render(routine, converter);
+
+        // When
+        routine.getFlight().getAirline().setUpdatedAt(STAMP.plusMinutes(5));
+        cache.render(routine, converter);
+
+        // Then
+        assertEquals(2, renders.get());
+    }
+
+    private FlightRoutine createRoutine() {
+        Airline airline = new Airline();
+        airline.setId(UUID.randomUUID());
+        airline.setUpdatedAt(STAMP);
+
+        Flight flight = new Flight();
+        flight.setId(UUID.randomUUID());
+        flight.setAirline(airline);
+        flight.setUpdatedAt(STAMP);
+
+        FlightRoutine routine = new FlightRoutine();
+        routine.setId(UUID.randomUUID());
+        routine.setFlight(flight);
+        routine.setAvailableSeats(120);
+        routine.setCurrentPrice(BigDecimal.valueOf(5400));
+        routine.setPriceUpdatedAt(STAMP);
+        routine.setAvailabilityUpdatedAt(STAMP);
+        return routine;
+    }
+} 
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.airlineaggregator.search.service;
 
 import com.airlineaggregator.search.dto.FlightSearchRequest;
+import com.airlineaggregator.search.dto.SearchFacets;
 import com.airlineaggregator.search.dto.SearchResult;
 import com.airlineaggregator.search.entity.Airline;
 import com.airlineaggregator.search.entity.Flight;
 import com.airlineaggregator.search.entity.FlightRoutine;
+import com.airlineaggregator.search.metrics.LatencyMetrics;
 import com.airlineaggregator.search.repository.FlightRoutineRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +42,12 @@ class FlightSearchServiceTest {
     @Spy
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Spy
+    private FlightFragmentCache flightFragmentCache = new FlightFragmentCache(new ObjectMapper().findAndRegisterModules());
+
+    @Spy
+    private LatencyMetrics latencyMetrics = new LatencyMetrics();
+
     @InjectMocks
     private FlightSearchService flightSearchService;
 
@@ -57,7 +65,7 @@ class FlightSearchServiceTest {
         // Given
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(mockFlightRoutines));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(2L);
 
         // When
@@ -72,7 +80,10 @@ class FlightSearchServiceTest {
         assertTrue(result.getSearchMetadata().getSearchTimeMs() >= 0);
 
         verify(flightRoutineRepository).findAll(any(Specification.class), any(Pageable.class));
-        verify(flightRoutineRepository).countAvailableFlights("DEL", "BLR", LocalDate.of(2025, 7, 26), 2);
+        verify(flightRoutineRepository).countAvailableFlights("DEL", "BLR", LocalDate.of(2025, 7, 26), 2, null, null);
+        verify(latencyMetrics).record(eq(LatencyMetrics.Stage.QUERY), anyLong());
+        verify(latencyMetrics).record(eq(LatencyMetrics.Stage.CONVERSION), anyLong());
+        verify(latencyMetrics).record(eq(LatencyMetrics.Stage.COUNT), anyLong());
     }
 
     @Test
@@ -80,7 +91,7 @@ class FlightSearchServiceTest {
         // Given
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(Collections.emptyList()));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(0L);
 
         // When
@@ -93,7 +104,7 @@ class FlightSearchServiceTest {
         assertEquals(0, result.getSearchMetadata().getTotalResults());
 
         verify(flightRoutineRepository).findAll(any(Specification.class), any(Pageable.class));
-        verify(flightRoutineRepository).countAvailableFlights("DEL", "BLR", LocalDate.of(2025, 7, 26), 2);
+        verify(flightRoutineRepository).countAvailableFlights("DEL", "BLR", LocalDate.of(2025, 7, 26), 2, null, null);
     }
 
     @Test
@@ -102,7 +113,7 @@ class FlightSearchServiceTest {
         validRequest.setAirline("6E");
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(mockFlightRoutines.subList(0, 1)));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(1L);
 
         // When
@@ -122,7 +133,7 @@ class FlightSearchServiceTest {
         validRequest.setMaxDuration(120);
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(mockFlightRoutines));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(2L);
 
         // When
@@ -141,7 +152,7 @@ class FlightSearchServiceTest {
         validRequest.setSortBy("price");
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(mockFlightRoutines));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(2L);
 
         // When
@@ -160,7 +171,7 @@ class FlightSearchServiceTest {
         validRequest.setSortBy("duration");
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(mockFlightRoutines));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(2L);
 
         // When
@@ -188,7 +199,7 @@ class FlightSearchServiceTest {
         assertEquals("Database connection failed", exception.getCause().getMessage());
 
         verify(flightRoutineRepository).findAll(any(Specification.class), any(Pageable.class));
-        verify(flightRoutineRepository, never()).countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt());
+        verify(flightRoutineRepository, never()).countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any());
     }
 
     @Test
@@ -196,7 +207,7 @@ class FlightSearchServiceTest {
         // Given
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(mockFlightRoutines));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenThrow(new RuntimeException("Count query failed"));
 
         // When & Then
@@ -214,7 +225,7 @@ class FlightSearchServiceTest {
         List<FlightRoutine> largeDataset = createLargeFlightRoutineList(15); // More than MAX_RESULTS (10)
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(largeDataset.subList(0, 10))); // Repository should limit to 10
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(15L);
 
         // When
@@ -243,7 +254,7 @@ class FlightSearchServiceTest {
 
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(Collections.singletonList(mockFlightRoutines.get(0))));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(1L);
 
         // When
@@ -255,7 +266,7 @@ class FlightSearchServiceTest {
         assertEquals(1, result.getSearchMetadata().getTotalResults());
 
         verify(flightRoutineRepository).findAll(any(Specification.class), any(Pageable.class));
-        verify(flightRoutineRepository).countAvailableFlights("DEL", "BLR", LocalDate.of(2025, 7, 26), 3);
+        verify(flightRoutineRepository).countAvailableFlights("DEL", "BLR", LocalDate.of(2025, 7, 26), 3, "SG", 240);
     }
 
     @Test
@@ -263,7 +274,7 @@ class FlightSearchServiceTest {
         // Given
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(mockFlightRoutines));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(2L);
 
         // When
@@ -284,7 +295,7 @@ class FlightSearchServiceTest {
         // Given
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(Collections.singletonList(mockFlightRoutines.get(0))));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(1L);
 
         // When
@@ -310,7 +321,7 @@ class FlightSearchServiceTest {
         validRequest.setPassengers(0);
         when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
                 .thenReturn(new PageImpl<>(Collections.emptyList()));
-        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt()))
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
                 .thenReturn(0L);
 
         // When
@@ -321,7 +332,99 @@ class FlightSearchServiceTest {
         assertTrue(result.getFlights().isEmpty());
         assertEquals(0, result.getSearchMetadata().getTotalResults());
 
-        verify(flightRoutineRepository).countAvailableFlights("DEL", "BLR", LocalDate.of(2025, 7, 26), 0);
+        verify(flightRoutineRepository).countAvailableFlights("DEL", "BLR", LocalDate.of(2025, 7, 26), 0, null, null);
+    }
+
+    @Test
+    void searchFlights_WithFacets_ComputesFacetsInSingleScan() {
+        // Given
+        validRequest.setIncludeFacets(true);
+        validRequest.setAirline("6E");
+        when(flightRoutineRepository.findAll(any(Specification.class)))
+                .thenReturn(mockFlightRoutines);
+
+        // When
+        SearchResult result = flightSearchService.searchFlights(validRequest);
+
+        // Then
+        assertEquals(1, result.getFlights().size());
+        assertEquals("6E-112", result.getFlights().get(0).getFlightNumber());
+        assertEquals(1, result.getSearchMetadata().getTotalResults());
+
+        SearchFacets facets = result.getFacets();
+        assertNotNull(facets);
+        assertEquals(2, facets.getAirlines().size());
+        assertEquals(2, facets.getPriceHistogram().stream().mapToInt(SearchFacets.PriceBucket::getCount).sum());
+        assertEquals(2, facets.getDepartureTimes().getAfternoon());
+        assertEquals(2, facets.getStops().getNonStop());
+
+        verify(flightRoutineRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(flightRoutineRepository, never()).countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any());
+    }
+
+    @Test
+    void searchFlights_AirlineAndDurationFilters_SameTotalWithAndWithoutFacets() {
+        // Given
+        validRequest.setAirline("sg");
+        validRequest.setMaxDuration(240);
+        when(flightRoutineRepository.findAll(any(Specification.class)))
+                .thenReturn(mockFlightRoutines);
+        when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(mockFlightRoutines.get(1))));
+        // Evaluates the count query's filters against the same routines the facet scan sees
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
+                .thenAnswer(invocation -> mockFlightRoutines.stream()
+                        .filter(routine -> routine.getFlight().getAirline().getCode().equals(invocation.getArgument(4)))
+                        .filter(routine -> routine.getFlight().getTotalDurationMinutes() <= (Integer) invocation.getArgument(5))
+                        .count());
+
+        // When
+        validRequest.setIncludeFacets(true);
+        SearchResult withFacets = flightSearchService.searchFlights(validRequest);
+        validRequest.setIncludeFacets(false);
+        SearchResult withoutFacets = flightSearchService.searchFlights(validRequest);
+
+        // Then
+        assertEquals(1, withFacets.getSearchMetadata().getTotalResults());
+        assertEquals(withFacets.getSearchMetadata().getTotalResults(), withoutFacets.getSearchMetadata().getTotalResults());
+    }
+
+    @Test
+    void searchFlights_WithoutFacets_OmitsFacets() {
+        // Given
+        when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(mockFlightRoutines));
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
+                .thenReturn(2L);
+
+        // When
+        SearchResult result = flightSearchService.searchFlights(validRequest);
+
+        // Then
+        assertNull(result.getFacets());
+    }
+
+    @Test
+    void searchFlights_UnchangedRoutine_ReusesRenderedFragment() {
+        // Given
+        FlightRoutine routine = mockFlightRoutines.get(0);
+        when(flightRoutineRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(routine)));
+        when(flightRoutineRepository.countAvailableFlights(anyString(), anyString(), any(LocalDate.class), anyInt(), any(), any()))
+                .thenReturn(1L);
+
+        // When
+        SearchResult first = flightSearchService.searchFlights(validRequest);
+        SearchResult second = flightSearchService.searchFlights(validRequest);
+        routine.setAvailableSeats(routine.getAvailableSeats() - 1);
+        SearchResult third = flightSearchService.searchFlights(validRequest);
+
+        // Then
+        assertNotNull(first.getFlightFragments().get(0));
+        assertSame(first.getFlights().get(0), second.getFlights().get(0));
+        assertSame(first.getFlightFragments().get(0), second.getFlightFragments().get(0));
+        assertNotSame(first.getFlights().get(0), third.getFlights().get(0));
+        assertEquals(9, third.getFlights().get(0).getAvailability().getAvailableSeats());
     }
 
     private void setupValidRequest() {
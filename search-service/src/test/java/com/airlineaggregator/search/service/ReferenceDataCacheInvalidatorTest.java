@@ -0,0 +1,85 @@
+package com.airlineaggregator.search.service;
+
+import com.airlineaggregator.search.entity.Flight;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheInvalidatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private ReferenceDataCacheInvalidator invalidator;
+
+    private final LocalDateTime settled = LocalDateTime.of(2025, 7, 26, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(invalidator, "batchSize", 2);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(jdbcTemplate.queryForObject(anyString(), eq(LocalDateTime.class), anyLong())).thenReturn(settled);
+        when(jdbcTemplate.queryForList(contains("FROM airlines"), any(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        invalidator.evictChangedReferenceData();
+    }
+
+    @Test
+    void evictChangedReferenceData_RowsSharingTimestamp_EvictedOnceAndWatermarkAdvancesPastThem() {
+        // Given
+        LocalDateTime loadedAt = settled.plusSeconds(1);
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        UUID third = new UUID(0L, 3L);
+        when(jdbcTemplate.queryForList(contains("FROM flights"), eq(settled), any(), anyLong(), eq(2)))
+                .thenReturn(List.of(row(first, loadedAt), row(second, loadedAt)));
+        when(jdbcTemplate.queryForList(contains("FROM flights"), eq(loadedAt), eq(second), anyLong(), eq(2)))
+                .thenReturn(List.of(row(third, loadedAt)));
+        when(jdbcTemplate.queryForList(contains("FROM flights"), eq(loadedAt), eq(third), anyLong(), eq(2)))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        invalidator.evictChangedReferenceData();
+        invalidator.evictChangedReferenceData();
+
+        // Then
+        verify(cache).evict(Flight.class, first);
+        verify(cache).evict(Flight.class, second);
+        verify(cache).evict(Flight.class, third);
+        verify(cache, times(1)).evict(Flight.class);
+        verify(jdbcTemplate).queryForList(contains("FROM flights"), eq(loadedAt), eq(third), anyLong(), eq(2));
+    }
+
+    private static Map<String, Object> row(UUID id, LocalDateTime updatedAt) {
+        return Map.of("id", id, "updated_at", Timestamp.valueOf(updatedAt));
+    }
+} 
\ No newline at end of file
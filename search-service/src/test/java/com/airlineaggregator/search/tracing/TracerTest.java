@@ -0,0 +1,105 @@
+package com.airlineaggregator.search.tracing;
+
+import com.airlineaggregator.search.repository.FlightRoutineRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class TracerTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(100);
+
+    @Spy
+    private Tracer tracer = new Tracer(exporter, 0.0, 64, "search-service");
+
+    @InjectMocks
+    private RepositoryTracingAspect repositoryTracingAspect;
+
+    @Test
+    void startServerSpan_NoTraceparentAndSamplingOff_RecordsNothing() {
+        // When
+        try (Span root = tracer.startServerSpan("GET /api/v1/flights/search", null)) {
+            Span child = tracer.startSpan("FlightRoutineRepository.findAll");
+            child.close();
+
+            // Then
+            assertSame(Span.NOOP, root);
+            assertSame(Span.NOOP, child);
+            assertFalse(tracer.isRecording());
+        }
+        tracer.flush();
+        assertTrue(exporter.findByTraceId(TRACE_ID).isEmpty());
+    }
+
+    @Test
+    void startServerSpan_SampledTraceparent_ContinuesCallerTrace() {
+        // Given
+        String traceparent = "00-" + TRACE_ID + "-" + PARENT_ID + "-01";
+
+        // When
+        String propagated;
+        try (Span root = tracer.startServerSpan("GET /api/v1/flights/search", traceparent)) {
+            propagated = root.traceparent();
+            try (Span child = tracer.startSpan("FlightRoutineRepository.findAll")) {
+                assertTrue(tracer.isRecording());
+            }
+        }
+        tracer.flush();
+
+        // Then
+        assertFalse(tracer.isRecording());
+        List<Span> spans = exporter.findByTraceId(TRACE_ID);
+        assertEquals(2, spans.size());
+        Span child = spans.get(0);
+        Span root = spans.get(1);
+        assertEquals(PARENT_ID, root.getParentSpanId());
+        assertEquals(root.getSpanId(), child.getParentSpanId());
+        assertEquals("00-" + TRACE_ID + "-" + root.getSpanId() + "-01", propagated);
+    }
+
+    @Test
+    void startServerSpan_UnsampledTraceparent_RecordsNothing() {
+        // When
+        Span root = tracer.startServerSpan("GET /api/v1/flights/search", "00-" + TRACE_ID + "-" + PARENT_ID + "-00");
+
+        // Then
+        assertSame(Span.NOOP, root);
+    }
+
+    @Test
+    void traceQuery_InsideTracedRequest_RecordsRepositorySpan() {
+        // Given
+        FlightRoutineRepository target = (FlightRoutineRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{FlightRoutineRepository.class},
+                (proxy, method, args) -> "count".equals(method.getName()) ? 42L : null);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(repositoryTracingAspect);
+        FlightRoutineRepository repository = factory.getProxy();
+
+        // When
+        long count;
+        try (Span root = tracer.startServerSpan("GET /api/v1/flights/search", "00-" + TRACE_ID + "-" + PARENT_ID + "-01")) {
+            count = repository.count();
+        }
+        tracer.flush();
+
+        // Then
+        assertEquals(42L, count);
+        List<Span> spans = exporter.findByTraceId(TRACE_ID);
+        assertEquals(2, spans.size());
+        assertEquals("FlightRoutineRepository.count", spans.get(0).getName());
+        assertEquals("ok", spans.get(0).getStatus());
+    }
+} 
\ No newline at end of file